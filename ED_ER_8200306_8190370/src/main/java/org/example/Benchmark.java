@@ -0,0 +1,612 @@
+package org.example;
+
+import org.example.Structures.Implementations.AStarSearch;
+import org.example.Structures.Implementations.AdjacencyMatrixStorage;
+import org.example.Structures.Implementations.AllPairsShortestPaths;
+import org.example.Structures.Implementations.ArrayHeap;
+import org.example.Structures.Implementations.CapacityGrowth;
+import org.example.Structures.Implementations.CompressedSparseRowStorage;
+import org.example.Structures.Implementations.ContractionHierarchy;
+import org.example.Structures.Implementations.DoubleMinHeap;
+import org.example.Structures.Implementations.DynamicShortestPaths;
+import org.example.Structures.Implementations.Heap;
+import org.example.Structures.Implementations.LandmarkHeuristic;
+import org.example.Structures.Implementations.Network;
+import org.example.Structures.Implementations.PathCache;
+import org.example.Structures.Implementations.ShortestPathMode;
+import org.example.Structures.Interfaces.GraphStorage;
+import org.example.Structures.Interfaces.GraphVisitor;
+import org.example.Structures.Interfaces.HeapADT;
+import org.example.Structures.Interfaces.PathHeuristic;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Hand-run timings for the map data structures. Each benchmark prints its results to the console.
+ * Run every benchmark with no arguments, or name the ones to run, for example {@code growth}.
+ */
+public class Benchmark {
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        if (shouldRun(args, "growth")) {
+            benchmarkCapacityGrowth();
+        }
+        if (shouldRun(args, "heap")) {
+            benchmarkHeaps();
+        }
+        if (shouldRun(args, "bfs")) {
+            benchmarkHopDistances();
+        }
+        if (shouldRun(args, "path")) {
+            benchmarkShortestPaths();
+        }
+        if (shouldRun(args, "ch")) {
+            benchmarkContractionHierarchy();
+        }
+        if (shouldRun(args, "alt")) {
+            benchmarkLandmarks();
+        }
+        if (shouldRun(args, "apsp")) {
+            benchmarkAllPairs();
+        }
+        if (shouldRun(args, "cache")) {
+            benchmarkPathCache();
+        }
+        if (shouldRun(args, "dynamic")) {
+            benchmarkDynamicShortestPaths();
+        }
+    }
+
+    /**
+     * Checks if a benchmark was asked for on the command line
+     *
+     * @param args command line arguments
+     * @param name name of the benchmark
+     * @return true if there are no arguments or one of them is the name
+     */
+    private static boolean shouldRun(String[] args, String name) {
+        if (args.length == 0) {
+            return true;
+        }
+        for (String arg : args) {
+            if (arg.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Times building networks of 1k, 10k and 50k locations, with four random edges per location, when the network
+     * grows by a fixed step of ten slots (the old behaviour), by doubling, and when it is pre-sized.
+     * Only the 1k network is also built on an adjacency matrix, since larger matrices do not fit in memory.
+     */
+    private static void benchmarkCapacityGrowth() {
+        System.out.println("Network build time by capacity growth");
+        System.out.printf("%-10s %-8s %15s %15s %15s%n", "storage", "size", "FIXED_STEP(10)", "DOUBLING", "pre-sized");
+
+        buildNetwork(1000, CapacityGrowth.doubling(), false, true);   // warm up
+
+        int[] sizes = {1000, 10000, 50000};
+        for (int size : sizes) {
+            for (int dense = 0; dense <= 1; dense++) {
+                if (dense == 1 && size > 1000) {
+                    continue;
+                }
+                long fixedStep = buildNetwork(size, CapacityGrowth.fixedStep(10), false, dense == 1);
+                long doubling = buildNetwork(size, CapacityGrowth.doubling(), false, dense == 1);
+                long preSized = buildNetwork(size, CapacityGrowth.exact(), true, dense == 1);
+                System.out.printf("%-10s %-8d %13.1fms %13.1fms %13.1fms%n", dense == 1 ? "matrix" : "csr", size,
+                        fixedStep / 1e6, doubling / 1e6, preSized / 1e6);
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Builds a random network and returns the time it took
+     *
+     * @param size     number of locations
+     * @param growth   capacity growth of the network
+     * @param preSized true to create the network with room for every location
+     * @param dense    true for an adjacency matrix; false for compressed sparse rows
+     * @return build time in nanoseconds
+     */
+    private static long buildNetwork(int size, CapacityGrowth growth, boolean preSized, boolean dense) {
+        Random random = new Random(SEED);
+        long start = System.nanoTime();
+
+        GraphStorage storage = dense ? new AdjacencyMatrixStorage() : new CompressedSparseRowStorage();
+        Network<Location> network = new Network<>(preSized ? size : 0, storage);
+        network.setCapacityGrowth(growth);
+
+        for (int i = 0; i < size; i++) {
+            network.addVertex(new Location(i, random.nextInt(100), random.nextInt(100)));
+        }
+        for (int i = 0; i < size; i++) {
+            for (int k = 0; k < 4; k++) {
+                network.addEdge(i, random.nextInt(size), random.nextInt(15) + 1);
+            }
+        }
+        network.mergePendingEdges();
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Times the linked {@link Heap}, the {@link ArrayHeap} and the {@link DoubleMinHeap} on the same random weights,
+     * first adding every weight and removing them all, then on a Dijkstra-like mix where each removal is followed
+     * by two additions of larger weights.
+     */
+    private static void benchmarkHeaps() {
+        System.out.println("Heap time by implementation");
+        System.out.printf("%-10s %-8s %15s %15s %15s%n", "workload", "size", "Heap", "ArrayHeap", "DoubleMinHeap");
+
+        for (int i = 0; i < 3; i++) {   // warm up
+            fillAndDrain(new Heap<>(), 100000);
+            fillAndDrain(new ArrayHeap<>(), 100000);
+            fillAndDrain(new DoubleMinHeap(), 100000);
+        }
+
+        int[] sizes = {10000, 100000, 1000000};
+        for (int size : sizes) {
+            System.out.printf("%-10s %-8d %13.1fms %13.1fms %13.1fms%n", "fill", size,
+                    fillAndDrain(new Heap<>(), size) / 1e6, fillAndDrain(new ArrayHeap<>(), size) / 1e6,
+                    fillAndDrain(new DoubleMinHeap(), size) / 1e6);
+        }
+        for (int size : sizes) {
+            System.out.printf("%-10s %-8d %13.1fms %13.1fms %13.1fms%n", "mixed", size,
+                    mixed(new Heap<>(), size) / 1e6, mixed(new ArrayHeap<>(), size) / 1e6,
+                    mixed(new DoubleMinHeap(), size) / 1e6);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Adds random weights to a heap, then removes them all
+     *
+     * @param heap empty heap
+     * @param size number of weights
+     * @return time in nanoseconds
+     */
+    private static long fillAndDrain(HeapADT<Double> heap, int size) {
+        Random random = new Random(SEED);
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            heap.addElement(random.nextDouble());
+        }
+        while (!heap.isEmpty()) {
+            heap.removeMin();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long fillAndDrain(DoubleMinHeap heap, int size) {
+        Random random = new Random(SEED);
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            heap.addElement(random.nextDouble());
+        }
+        while (!heap.isEmpty()) {
+            heap.removeMin();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Removes the lowest weight and adds two larger ones until the given number of weights has been added
+     *
+     * @param heap empty heap
+     * @param size number of weights to add
+     * @return time in nanoseconds
+     */
+    private static long mixed(HeapADT<Double> heap, int size) {
+        Random random = new Random(SEED);
+        long start = System.nanoTime();
+        heap.addElement(0.0);
+        for (int added = 1; added < size; added += 2) {
+            double min = heap.removeMin();
+            heap.addElement(min + random.nextDouble());
+            heap.addElement(min + random.nextDouble());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long mixed(DoubleMinHeap heap, int size) {
+        Random random = new Random(SEED);
+        long start = System.nanoTime();
+        heap.addElement(0.0);
+        for (int added = 1; added < size; added += 2) {
+            double min = heap.removeMin();
+            heap.addElement(min + random.nextDouble());
+            heap.addElement(min + random.nextDouble());
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Times the hop distances from every tenth location of dense random maps, like the ones generateRandomMap builds,
+     * with a top-down breadth first traversal and with the direction-optimizing search of hopDistances.
+     */
+    private static void benchmarkHopDistances() {
+        System.out.println("Hop distance time by search direction");
+        System.out.printf("%-10s %-8s %15s %15s%n", "density", "size", "top-down", "optimizing");
+
+        Network<Location> warmUp = denseNetwork(500, 0.5);
+        timeTopDown(warmUp);
+        timeDirectionOptimizing(warmUp);
+
+        double[] densities = {0.3, 0.5, 0.8};
+        int[] sizes = {1000, 2000};
+        for (int size : sizes) {
+            for (double density : densities) {
+                Network<Location> network = denseNetwork(size, density);
+                System.out.printf("%-10.1f %-8d %13.1fms %13.1fms%n", density, size, timeTopDown(network) / 1e6,
+                        timeDirectionOptimizing(network) / 1e6);
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Builds a network on an adjacency matrix where each pair of locations has a two-way path with the given
+     * probability
+     *
+     * @param size    number of locations
+     * @param density probability of a path between two locations
+     * @return network
+     */
+    private static Network<Location> denseNetwork(int size, double density) {
+        Random random = new Random(SEED);
+        Network<Location> network = new Network<>(size, new AdjacencyMatrixStorage());
+        for (int i = 0; i < size; i++) {
+            network.addVertex(new Location(i, random.nextInt(100), random.nextInt(100)));
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                if (random.nextDouble() < density) {
+                    int distance = random.nextInt(15) + 1;
+                    network.addEdge(i, j, distance);
+                    network.addEdge(j, i, distance);
+                }
+            }
+        }
+        return network;
+    }
+
+    private static long timeTopDown(Network<Location> network) {
+        int[] hops = new int[network.size()];
+        long start = System.nanoTime();
+        for (int s = 0; s < network.size(); s += 10) {
+            network.traverseBFS(s, new GraphVisitor() {
+                @Override
+                public Action discover(int vertex, int parent, double distance) {
+                    hops[vertex] = (int) distance;
+                    return Action.CONTINUE;
+                }
+            });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long timeDirectionOptimizing(Network<Location> network) {
+        long start = System.nanoTime();
+        for (int s = 0; s < network.size(); s += 10) {
+            network.hopDistances(s);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Times random point-to-point queries on sparse maps laid out on a grid, where each location has paths to its
+     * neighbours, with each {@link ShortestPathMode}. About half the paths are longer on the way back, so the searches
+     * have to tell incoming from outgoing paths, as on the maps generateRandomMap builds when they are not
+     * bidirectional.
+     */
+    private static void benchmarkShortestPaths() {
+        System.out.println("Point-to-point query time by search mode");
+        System.out.printf("%-8s %-8s", "size", "queries");
+        for (ShortestPathMode mode : ShortestPathMode.values()) {
+            System.out.printf(" %15s", mode);
+        }
+        System.out.println();
+
+        Network<Location> warmUp = gridNetwork(100);
+        for (ShortestPathMode mode : ShortestPathMode.values()) {
+            timeQueries(warmUp, mode, 200);
+        }
+
+        int[] sides = {100, 300, 600};
+        int queries = 200;
+        for (int side : sides) {
+            Network<Location> network = gridNetwork(side);
+            System.out.printf("%-8d %-8d", side * side, queries);
+            for (ShortestPathMode mode : ShortestPathMode.values()) {
+                System.out.printf(" %13.1fms", timeQueries(network, mode, queries) / 1e6);
+            }
+            System.out.println();
+        }
+        System.out.println();
+    }
+
+    /**
+     * Builds a network on compressed sparse rows with side * side locations on a grid, each with a path to its right
+     * and lower neighbours of a random distance. The way back has the same distance or, for about half the paths,
+     * 15 more
+     *
+     * @param side number of locations on each side
+     * @return network
+     */
+    private static Network<Location> gridNetwork(int side) {
+        Random random = new Random(SEED);
+        int size = side * side;
+        Network<Location> network = new Network<>(size, new CompressedSparseRowStorage());
+        for (int i = 0; i < size; i++) {
+            network.addVertex(new Location(i, i % side, i / side));
+        }
+        for (int i = 0; i < size; i++) {
+            int[] neighbours = {i % side + 1 < side ? i + 1 : -1, i + side < size ? i + side : -1};
+            for (int neighbour : neighbours) {
+                if (neighbour == -1) {
+                    continue;
+                }
+                int distance = random.nextInt(15) + 1;
+                network.addEdge(i, neighbour, distance);
+                if (random.nextBoolean()) {
+                    network.addEdge(neighbour, i, distance);
+                } else {
+                    network.addEdge(neighbour, i, distance + 15);
+                }
+            }
+        }
+        network.mergePendingEdges();
+        return network;
+    }
+
+    private static long timeQueries(Network<Location> network, ShortestPathMode mode, int queries) {
+        Random random = new Random(SEED);
+        long start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            network.shortestPathWeight(random.nextInt(network.size()), random.nextInt(network.size()), mode);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Times building a {@link ContractionHierarchy} of grid maps, and random point-to-point queries answered by it
+     * against the searches of the network.
+     */
+    private static void benchmarkContractionHierarchy() {
+        System.out.println("Contraction hierarchy preprocessing and query time");
+        System.out.printf("%-8s %12s %12s %15s %15s %15s%n", "size", "preprocess", "shortcuts", "DIJKSTRA",
+                "BIDIRECTIONAL", "hierarchy");
+
+        int[] sides = {100, 316};
+        int queries = 1000;
+        for (int side : sides) {
+            Network<Location> network = gridNetwork(side);
+            long start = System.nanoTime();
+            ContractionHierarchy<Location> hierarchy = new ContractionHierarchy<>(network);
+            long preprocess = System.nanoTime() - start;
+
+            Random random = new Random(SEED);
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                hierarchy.findPath(random.nextInt(network.size()), random.nextInt(network.size()));
+            }
+            long hierarchyTime = System.nanoTime() - start;
+
+            System.out.printf("%-8d %10.1fms %12d %13.1fus %13.1fus %13.1fus%n", side * side, preprocess / 1e6,
+                    hierarchy.getShortcutCount(),
+                    timeQueries(network, ShortestPathMode.DIJKSTRA, queries / 10) / 1e3 / (queries / 10),
+                    timeQueries(network, ShortestPathMode.BIDIRECTIONAL, queries / 10) / 1e3 / (queries / 10),
+                    hierarchyTime / 1e3 / queries);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Times computing, saving and loading the {@link LandmarkHeuristic} of grid maps, and compares random A* queries
+     * guided by it with the same queries guided by the coordinates of the locations and with no heuristic at all.
+     */
+    private static void benchmarkLandmarks() {
+        System.out.println("Landmark preprocessing and A* query cost");
+        System.out.printf("%-8s %12s %10s %10s   %-10s %15s %15s%n", "size", "preprocess", "save", "load",
+                "heuristic", "expanded", "query");
+
+        int[] sides = {100, 300};
+        int queries = 200;
+        for (int side : sides) {
+            Network<Location> network = gridNetwork(side);
+            long start = System.nanoTime();
+            LandmarkHeuristic landmarks = new LandmarkHeuristic(network);
+            long preprocess = System.nanoTime() - start;
+
+            long save;
+            long load;
+            try {
+                File file = File.createTempFile("benchmark", ".landmarks");
+                file.deleteOnExit();
+                start = System.nanoTime();
+                landmarks.save(file.getPath());
+                save = System.nanoTime() - start;
+                start = System.nanoTime();
+                LandmarkHeuristic.load(network, file.getPath());
+                load = System.nanoTime() - start;
+                file.delete();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+            System.out.printf("%-8d %10.1fms %8.1fms %8.1fms%n", side * side, preprocess / 1e6, save / 1e6,
+                    load / 1e6);
+
+            PathHeuristic[] heuristics = {(vertex, target) -> 0,
+                    LocationHeuristic.admissible(network, LocationHeuristic.Metric.MANHATTAN), landmarks};
+            String[] names = {"none", "location", "landmarks"};
+            for (int h = 0; h < heuristics.length; h++) {
+                AStarSearch<Location> search = new AStarSearch<>(network, heuristics[h]);
+                Random random = new Random(SEED);
+                long expanded = 0;
+                start = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    search.findPath(random.nextInt(network.size()), random.nextInt(network.size()));
+                    expanded += search.getExpandedNodes();
+                }
+                long time = System.nanoTime() - start;
+                System.out.printf("%-8s %12s %10s %10s   %-10s %15d %13.1fus%n", "", "", "", "", names[h],
+                        expanded / queries, time / 1e3 / queries);
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Times computing the shortest paths between every pair of locations of dense random maps, like the ones
+     * generateRandomMap builds, with the blocked Floyd-Warshall of {@link AllPairsShortestPaths}, on one thread and on
+     * the common pool, against one Dijkstra search per location, and then random shortest path weight queries with
+     * and without the table.
+     */
+    private static void benchmarkAllPairs() {
+        System.out.println("All-pairs table time and query time (" + ForkJoinPool.getCommonPoolParallelism()
+                + " threads in the common pool)");
+        System.out.printf("%-8s %15s %15s %15s %15s %15s%n", "size", "dijkstra each", "table 1 thread",
+                "table pool", "query search", "query table");
+
+        int[] sizes = {1000, 2000};
+        int queries = 200;
+        for (int size : sizes) {
+            Network<Location> network = denseNetwork(size, 0.3);
+            long start = System.nanoTime();
+            for (int s = 0; s < network.size(); s++) {
+                network.computeFrom(s);
+            }
+            long dijkstraTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            new AllPairsShortestPaths<>(network, 1);
+            long sequentialTime = System.nanoTime() - start;
+
+            long searchQueries = timeQueries(network, ShortestPathMode.DIJKSTRA, queries);
+            start = System.nanoTime();
+            network.computeAllPairs();
+            long parallelTime = System.nanoTime() - start;
+            long tableQueries = timeQueries(network, ShortestPathMode.DIJKSTRA, queries);
+
+            System.out.printf("%-8d %13.1fms %13.1fms %13.1fms %13.2fus %13.2fus%n", size,
+                    dijkstraTime / 1e6, sequentialTime / 1e6, parallelTime / 1e6, searchQueries / 1e3 / queries,
+                    tableQueries / 1e3 / queries);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Times bots asking for the same few paths again and again on a grid map, as when every bot heads for the enemy
+     * base, with one search per query and through a {@link PathCache}. The searches are timed on a tenth of the
+     * queries and scaled up.
+     */
+    private static void benchmarkPathCache() {
+        System.out.println("Repeated path queries with and without a path cache");
+        System.out.printf("%-8s %-8s %-8s %15s %15s %10s %10s%n", "size", "pairs", "queries", "search", "cache",
+                "hits", "misses");
+
+        int[] sides = {100, 300};
+        int pairs = 20;
+        int queries = 2000;
+        for (int side : sides) {
+            Network<Location> network = gridNetwork(side);
+            Random random = new Random(SEED);
+            int[] starts = new int[pairs];
+            int[] targets = new int[pairs];
+            for (int p = 0; p < pairs; p++) {
+                starts[p] = random.nextInt(network.size());
+                targets[p] = random.nextInt(network.size());
+            }
+
+            long start = System.nanoTime();
+            for (int q = 0; q < queries / 10; q++) {
+                network.iteratorShortestPath(starts[q % pairs], targets[q % pairs]);
+            }
+            long searchTime = (System.nanoTime() - start) * 10;
+
+            PathCache<Location> cache = new PathCache<>(network, 1024);
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                cache.findPath(starts[q % pairs], targets[q % pairs]);
+            }
+            long cacheTime = System.nanoTime() - start;
+
+            System.out.printf("%-8d %-8d %-8d %13.1fms %13.1fms %10d %10d%n", side * side, pairs, queries,
+                    searchTime / 1e6, cacheTime / 1e6, cache.getHits(), cache.getMisses());
+        }
+        System.out.println();
+    }
+
+    /**
+     * Times closing and reopening random paths of grid maps while the shortest paths to the centre are kept, by
+     * repairing a {@link DynamicShortestPaths} against one full Dijkstra search from the centre per change. The full
+     * searches are timed on a tenth of the changes and scaled up.
+     */
+    private static void benchmarkDynamicShortestPaths() {
+        System.out.println("Shortest paths to one target after each path change");
+        System.out.printf("%-8s %-8s %15s %15s %15s%n", "size", "changes", "recompute", "repair", "avg repaired");
+
+        int[] sides = {100, 300};
+        int changes = 2000;
+        for (int side : sides) {
+            Network<Location> network = gridNetwork(side);
+            int target = side / 2 * side + side / 2;
+            int[] from = new int[changes];
+            int[] to = new int[changes];
+            double[] weights = new double[changes];
+            Random random = new Random(SEED);
+            for (int c = 0; c < changes; c++) {
+                from[c] = random.nextInt(network.size());
+                to[c] = random.nextBoolean() ? from[c] + 1 : from[c] + side;
+                if (to[c] >= network.size() || (to[c] == from[c] + 1 && to[c] % side == 0)) {
+                    to[c] = from[c] - side >= 0 ? from[c] - side : from[c] + side;
+                }
+                weights[c] = network.getEdgeWeight(from[c], to[c]);
+            }
+
+            long start = System.nanoTime();
+            for (int c = 0; c < changes / 10; c++) {
+                toggle(network, from[c], to[c], weights[c]);
+                network.computeFrom(target);
+            }
+            long recompute = (System.nanoTime() - start) * 10;
+            for (int c = changes / 10 - 1; c >= 0; c--) {
+                toggle(network, from[c], to[c], weights[c]);
+            }
+
+            DynamicShortestPaths<Location> paths = DynamicShortestPaths.to(network, target);
+            long repaired = 0;
+            start = System.nanoTime();
+            for (int c = 0; c < changes; c++) {
+                toggle(network, from[c], to[c], weights[c]);
+                repaired += paths.getLastRepairSize();
+            }
+            long repair = System.nanoTime() - start;
+            paths.detach();
+
+            System.out.printf("%-8d %-8d %13.1fms %13.1fms %15.1f%n", side * side, changes, recompute / 1e6,
+                    repair / 1e6, (double) repaired / changes);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Closes a path that is open, or reopens it with its original weight
+     */
+    private static void toggle(Network<Location> network, int from, int to, double weight) {
+        if (network.getEdgeWeight(from, to) == Double.POSITIVE_INFINITY) {
+            network.addEdge(from, to, weight);
+        } else {
+            network.removeEdge(from, to);
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package org.example;
 
+import org.example.Structures.Implementations.AStarSearch;
+import org.example.Structures.Implementations.AllPairsShortestPaths;
+import org.example.Structures.Implementations.Network;
+
+import java.util.Iterator;
+
 public class Bot {
     private final StrategiesType strategy;
     private final String playerName;
@@ -33,6 +39,34 @@ public class Bot {
         }
     }
 
+    /**
+     * Computes the path from the bot's location to the target according to the bot's strategy.
+     * {@link StrategiesType#A_STAR} bots run an A* search guided by {@link GameMap#getAStarHeuristic()};
+     * {@link StrategiesType#SHORTEST_PATH} bots read the all-pairs table of the map when
+     * {@link GameMap#precomputeShortestPaths()} computed one for it, and query its contraction hierarchy otherwise; the
+     * other strategies use the shortest path of the network, through the path cache of the map.
+     *
+     * @param gameMap the map the bot is moving on
+     * @param target  the location to reach
+     * @return iterator over the locations of the path, starting at the bot's location
+     */
+    public Iterator<Location> computePath(GameMap gameMap, Location target) {
+        Network<Location> network = gameMap.getLocations();
+
+        if (strategy == StrategiesType.A_STAR) {
+            AStarSearch<Location> search = new AStarSearch<>(network, gameMap.getAStarHeuristic());
+            return search.iteratorPath(botLocation, target);
+        }
+        if (strategy == StrategiesType.SHORTEST_PATH) {
+            AllPairsShortestPaths<Location> table = network.getAllPairs();
+            if (table != null) {
+                return table.iteratorPath(botLocation, target);
+            }
+            return gameMap.getContractionHierarchy().iteratorPath(botLocation, target);
+        }
+        return gameMap.getPathCache().iteratorPath(botLocation, target);
+    }
+
     @Override
     public String toString() {
         return "Bot: " +
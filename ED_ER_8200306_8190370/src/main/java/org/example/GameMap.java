@@ -1,7 +1,11 @@
 package org.example;
 
 import org.example.Interfaces.IGameMap;
+import org.example.Structures.Implementations.ContractionHierarchy;
+import org.example.Structures.Implementations.LandmarkHeuristic;
 import org.example.Structures.Implementations.Network;
+import org.example.Structures.Implementations.PathCache;
+import org.example.Structures.Interfaces.PathHeuristic;
 
 import java.io.*;
 import java.util.Random;
@@ -11,16 +15,120 @@ import java.util.Random;
  * The map is composed of locations and paths between them, represented by a network.
  */
 class GameMap implements IGameMap {
-    private final Network<Location> locations;
+    private static final int EXPORT_BUFFER_SIZE = 1 << 16;
+    private static final String LANDMARKS_EXTENSION = ".landmarks";
+    private static final int ALL_PAIRS_LIMIT = 4096;
+    private static final int PATH_CACHE_CAPACITY = 1024;
+    private Network<Location> locations;
+    private LocationHeuristic locationHeuristic;
+    private int locationHeuristicVersion;   // version of the locations the heuristic was scaled for
+    private ContractionHierarchy<Location> contractionHierarchy;
+    private LandmarkHeuristic landmarkHeuristic;
+    private int landmarkVersion;            // version of the locations the landmark tables describe
+    private PathCache<Location> pathCache;
 
     public GameMap() {
         this.locations = new Network<>();
+        this.locationHeuristic = null;
+        this.contractionHierarchy = null;
+        this.landmarkHeuristic = null;
+        this.pathCache = null;
     }
 
     public Network<Location> getLocations() {
         return locations;
     }
 
+    /**
+     * Returns an admissible A* heuristic for the current map, based on the Euclidean distance between locations.
+     * It is computed on first use, computed again once the map has changed since, since its scale depends on the
+     * weights of the paths, and discarded whenever the map is generated or imported again.
+     *
+     * @return heuristic for the locations of this map
+     */
+    public LocationHeuristic getLocationHeuristic() {
+        if (locationHeuristic == null || locationHeuristicVersion != locations.getVersion()) {
+            locationHeuristic = LocationHeuristic.admissible(locations, LocationHeuristic.Metric.EUCLIDEAN);
+            locationHeuristicVersion = locations.getVersion();
+        }
+        return locationHeuristic;
+    }
+
+    /**
+     * Returns an admissible A* heuristic for the current map, based on the path weights to and from a few landmark
+     * locations, which bounds the remaining path weight far more tightly than the coordinates on random weights.
+     * It is loaded with the map when the map was exported with it, computed on first use otherwise, computed again
+     * once the map has changed since, so that it never overestimates, and discarded whenever the map is generated or
+     * imported again.
+     *
+     * @return heuristic for the locations of this map
+     */
+    public LandmarkHeuristic getLandmarkHeuristic() {
+        if (landmarkHeuristic == null || landmarkVersion != locations.getVersion()) {
+            landmarkHeuristic = new LandmarkHeuristic(locations);
+            landmarkVersion = locations.getVersion();
+        }
+        return landmarkHeuristic;
+    }
+
+    /**
+     * Returns the heuristic that A* searches on the current map use: the landmark tables while they describe the
+     * map, built on first use, and the location heuristic once the map has changed since they were built, since it is
+     * rebuilt with one pass over the paths instead of a Dijkstra search per landmark.
+     *
+     * @return admissible heuristic for the locations of this map
+     */
+    public PathHeuristic getAStarHeuristic() {
+        if (landmarkHeuristic != null && landmarkVersion != locations.getVersion()) {
+            return getLocationHeuristic();
+        }
+        return getLandmarkHeuristic();
+    }
+
+    /**
+     * Returns the cache of the shortest paths asked for on the current map, shared by every bot so that a path asked
+     * for again, such as from a base to the enemy base, is not searched again until the map changes. It is created on
+     * first use and discarded whenever the map is generated or imported again.
+     *
+     * @return path cache of the locations of this map
+     */
+    public PathCache<Location> getPathCache() {
+        if (pathCache == null) {
+            pathCache = new PathCache<>(locations, PATH_CACHE_CAPACITY);
+        }
+        return pathCache;
+    }
+
+    /**
+     * Computes the shortest paths between every pair of locations when the map has at most 4096 of them, so that
+     * shortest path queries on the map become table lookups until the map changes. Larger maps keep searching.
+     * The table takes O(V^3) time and 12 bytes per pair of locations, about 200 MB at the limit, so it is only
+     * computed when asked for, for maps queried far more often than they change.
+     *
+     * @return true if the table was computed
+     */
+    public boolean precomputeShortestPaths() {
+        if (locations.size() > ALL_PAIRS_LIMIT) {
+            return false;
+        }
+        locations.computeAllPairs();
+        return true;
+    }
+
+    /**
+     * Returns the contraction hierarchy of the current map, which answers shortest path queries without searching
+     * the whole map. It is built on first use, built again once the map has changed since, and discarded whenever
+     * the map is generated or imported again.
+     *
+     * @return contraction hierarchy of the locations of this map
+     */
+    public ContractionHierarchy<Location> getContractionHierarchy() {
+        if (contractionHierarchy == null || !contractionHierarchy.isCurrent()) {
+            contractionHierarchy = new ContractionHierarchy<>(locations);
+        }
+        return contractionHierarchy;
+    }
+
     /**
      * Generates a random map based on the provided parameters.
      *
@@ -35,10 +143,17 @@ class GameMap implements IGameMap {
         }
 
         Random random = new Random();
+        locationHeuristic = null;
+        contractionHierarchy = null;
+        landmarkHeuristic = null;
+        pathCache = null;
 
         // Temporary array to store the locations
         Location[] tempArray = new Location[quantityLocations];
 
+        // Allocate room for every location at once instead of growing the network while adding them
+        locations.ensureCapacity(locations.size() + quantityLocations);
+
         // Create random locations and add them to the network and the temporary array
         for (int i = 0; i < quantityLocations; i++) {
             int randomX = random.nextInt(100);
@@ -79,87 +194,121 @@ class GameMap implements IGameMap {
                 }
             }
         }
+        // Merge the buffered paths now, so that every search on the new map only reads it
+        locations.mergePendingEdges();
 
         return this;
     }
 
     /**
      * Exports the current map to a file.
+     * The network is streamed to the file row by row, in the same layout as its toString, so large maps are never
+     * held in memory as a single string. The landmark tables of the map are saved next to it if they were built.
      *
      * @param pathFile The file path for export.
      */
     public void exportMap(String pathFile) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(pathFile))) {
-            // Use the toString method to get the network's string representation
-            String networkData = locations.toString();
-            // Write this string to the file
-            writer.write(networkData);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(pathFile), EXPORT_BUFFER_SIZE)) {
+            locations.writeTo(writer);
         } catch (IOException e) {
             e.printStackTrace();
+            return;
         }
+        saveLandmarks(pathFile);
     }
 
     /**
-     * Imports a map from a file.
+     * Imports a map from a file, along with the landmark tables saved next to it.
      *
      * @param filePath The file path to import from.
      */
     public void importMap(String filePath) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            boolean parsingVertices = false, parsingEdges = false;
-
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-
-                // Check for section headers or separator lines and skip them
-                if (line.isEmpty() || line.startsWith("----") || line.startsWith("index")) {
-                    continue;
-                }
-
-                // Determine which section of the file we are currently parsing
-                if (line.startsWith("Vertices values")) {
-                    parsingVertices = true;
-                    parsingEdges = false;
-                    continue;
-                } else if (line.startsWith("Weights")) {
-                    parsingEdges = true;
-                    parsingVertices = false;
-                    continue;
-                }
+        locationHeuristic = null;
+        contractionHierarchy = null;
+        landmarkHeuristic = null;
+        pathCache = null;
+        try {
+            new MapFileReader(locations, System.out).read(filePath);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        } catch (NumberFormatException e) {
+            System.err.println("Error parsing number: " + e.getMessage());
+            return;
+        }
+        loadLandmarks(filePath);
+    }
 
-                if (parsingVertices) {
+    /**
+     * Exports the current map to a file in the binary map format of {@link MapBinaryFormat}.
+     * The landmark tables of the map are saved next to it if they were built.
+     *
+     * @param pathFile The file path for export.
+     */
+    public void exportBinary(String pathFile) {
+        try {
+            MapBinaryFormat.write(locations, pathFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        saveLandmarks(pathFile);
+    }
 
-                    String[] parts = line.split("\t");
-                    if (parts.length > 1) {
-                        String[] locationParts = parts[1].split(" - ")[1].replaceAll("[()]", "").split(", ");
-                        // Adjust for 0-based indexing
-                        int id = Integer.parseInt(parts[0]) - 1;
-                        int x = Integer.parseInt(locationParts[0]);
-                        int y = Integer.parseInt(locationParts[1]);
+    /**
+     * Imports a map from a file in the binary map format of {@link MapBinaryFormat}.
+     * The imported map replaces the current one and keeps its paths in compressed sparse rows. The landmark tables
+     * saved next to it are imported too.
+     *
+     * @param filePath The file path to import from.
+     */
+    public void importBinary(String filePath) {
+        try {
+            locations = MapBinaryFormat.read(filePath);
+            locationHeuristic = null;
+            contractionHierarchy = null;
+            landmarkHeuristic = null;
+            pathCache = null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        loadLandmarks(filePath);
+    }
 
-                        locations.addVertex(new Location(id, x, y));
-                    }
-                } else if (parsingEdges) {
-
-                    String[] parts = line.split("\t");
-                    if (parts.length > 1) {
-                        String[] edgeParts = parts[0].split(" to ");
-                        double weight = Double.parseDouble(parts[1].replace(",", ".").replace("km", ""));
-                        // Adjust for 0-based indexing
-                        int vertex1 = Integer.parseInt(edgeParts[0]) - 1;
-                        // Adjust for 0-based indexing
-                        int vertex2 = Integer.parseInt(edgeParts[1]) - 1;
-                        locations.addEdge(vertex1, vertex2, weight);
-                        // Add the reverse edge if needed
-                        locations.addEdge(vertex2, vertex1, weight);
-                    }
-                }
-            }
+    /**
+     * Saves the landmark tables of the current map next to an exported map. Nothing is saved when the tables were
+     * never built or the map has changed since, so exporting does not run the landmark searches.
+     *
+     * @param mapPath The file path of the exported map.
+     */
+    private void saveLandmarks(String mapPath) {
+        if (landmarkHeuristic == null || landmarkVersion != locations.getVersion()) {
+            return;
+        }
+        try {
+            landmarkHeuristic.save(mapPath + LANDMARKS_EXTENSION);
         } catch (IOException e) {
             e.printStackTrace();
-        } catch (NumberFormatException e) {
-            System.err.println("Error parsing number: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the landmark tables saved next to an imported map. Without tables, or with tables made for another map,
+     * they are computed again on first use.
+     *
+     * @param mapPath The file path of the imported map.
+     */
+    private void loadLandmarks(String mapPath) {
+        File landmarksFile = new File(mapPath + LANDMARKS_EXTENSION);
+        if (!landmarksFile.isFile()) {
+            return;
+        }
+        try {
+            landmarkHeuristic = LandmarkHeuristic.load(locations, landmarksFile.getPath());
+            landmarkVersion = locations.getVersion();
+        } catch (IOException e) {
+            System.err.println("Ignoring landmarks: " + e.getMessage());
         }
     }
 
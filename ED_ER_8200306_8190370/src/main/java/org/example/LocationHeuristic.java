@@ -0,0 +1,130 @@
+package org.example;
+
+import org.example.Structures.Implementations.Network;
+import org.example.Structures.Interfaces.GraphStorage;
+import org.example.Structures.Interfaces.PathHeuristic;
+
+/**
+ * A* heuristic that estimates the remaining path weight from the coordinates of the locations.
+ * Edge weights on generated maps are random, not distances, so the coordinate distance is multiplied by a scale.
+ * A scale no greater than the smallest weight-to-distance ratio of any edge keeps the heuristic admissible.
+ */
+public class LocationHeuristic implements PathHeuristic {
+
+    /**
+     * Distance used between the coordinates of two locations.
+     */
+    public enum Metric {
+        EUCLIDEAN,
+        MANHATTAN,
+        CHEBYSHEV
+    }
+
+    private final int[] coordinatesX;
+    private final int[] coordinatesY;
+    private final Metric metric;
+    private final double scale;
+
+    /**
+     * Creates a heuristic from the coordinates of the locations currently in the network.
+     * Locations added afterwards are not seen by the heuristic, which estimates 0 for them.
+     *
+     * @param network network of locations
+     * @param metric  distance between coordinates
+     * @param scale   factor applied to the distance
+     */
+    public LocationHeuristic(Network<Location> network, Metric metric, double scale) {
+        int size = network.size();
+        this.coordinatesX = new int[size];
+        this.coordinatesY = new int[size];
+        this.metric = metric;
+        this.scale = scale;
+
+        for (int i = 0; i < size; i++) {
+            Location location = network.getVertex(i);
+            coordinatesX[i] = location.getCoordinateX();
+            coordinatesY[i] = location.getCoordinateY();
+        }
+    }
+
+    /**
+     * Creates a heuristic scaled to the largest factor that is still admissible for the given network, that is, the
+     * smallest ratio between the weight of an edge and the distance between its locations.
+     *
+     * @param network network of locations
+     * @param metric  distance between coordinates
+     * @return admissible heuristic
+     */
+    public static LocationHeuristic admissible(Network<Location> network, Metric metric) {
+        LocationHeuristic unscaled = new LocationHeuristic(network, metric, 1);
+        return new LocationHeuristic(network, metric, unscaled.admissibleScale(network));
+    }
+
+    /**
+     * Returns the smallest ratio between the weight of an edge and the distance between its locations
+     *
+     * @param network network of locations
+     * @return admissible scale; 0 if no edge joins two locations at different coordinates
+     */
+    private double admissibleScale(Network<Location> network) {
+        double result = Double.POSITIVE_INFINITY;
+        GraphStorage storage = network.getStorage();
+        int size = coordinatesX.length;
+
+        for (int i = 0; i < size; i++) {
+            for (int edge = storage.firstEdge(i); edge != -1; edge = storage.nextEdge(i, edge)) {
+                double distance = distance(i, storage.edgeTarget(i, edge));
+                if (distance > 0)
+                    result = Math.min(result, storage.edgeWeight(i, edge) / distance);
+            }
+        }
+        return result == Double.POSITIVE_INFINITY ? 0 : result;
+    }
+
+    /**
+     * Getter for the scale applied to the distance
+     *
+     * @return scale
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Getter for the distance used between coordinates
+     *
+     * @return metric
+     */
+    public Metric getMetric() {
+        return metric;
+    }
+
+    @Override
+    public double estimate(int vertexIndex, int targetIndex) {
+        int size = coordinatesX.length;
+        if (vertexIndex < 0 || vertexIndex >= size || targetIndex < 0 || targetIndex >= size)
+            return 0;
+        return scale * distance(vertexIndex, targetIndex);
+    }
+
+    /**
+     * Returns the unscaled distance between the coordinates of two locations
+     *
+     * @param index1 first index
+     * @param index2 second index
+     * @return distance
+     */
+    private double distance(int index1, int index2) {
+        int dx = Math.abs(coordinatesX[index1] - coordinatesX[index2]);
+        int dy = Math.abs(coordinatesY[index1] - coordinatesY[index2]);
+
+        switch (metric) {
+            case MANHATTAN:
+                return dx + dy;
+            case CHEBYSHEV:
+                return Math.max(dx, dy);
+            default:
+                return Math.sqrt((double) dx * dx + (double) dy * dy);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.example;
+
+import org.example.Structures.Implementations.CompressedSparseRowStorage;
+import org.example.Structures.Implementations.Network;
+import org.example.Structures.Interfaces.GraphStorage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary map file format. Unlike the text format it keeps every edge once, in the compressed sparse row layout of
+ * {@link CompressedSparseRowStorage}, so a map loads with a few bulk copies out of a memory-mapped file.
+ *
+ * All values are little-endian:
+ * <pre>
+ * header     magic "CTFM", version, flags, vertex count, edge count      (5 ints)
+ * locations  id, x, y for each vertex                                   (3 ints per vertex)
+ * offsets    first edge of each vertex, then the edge count            (vertex count + 1 ints)
+ * targets    target vertex of each edge, increasing within each vertex  (1 int per edge)
+ * weights    weight of each edge                    (1 double per edge, or 1 float with FLAG_FLOAT_WEIGHTS)
+ * </pre>
+ * Edges are stored in the direction they have in the network, so directed maps keep their one-way paths.
+ *
+ * Run the main method with a text map and a binary path to convert a map exported by {@link GameMap}.
+ */
+public class MapBinaryFormat {
+    static final int MAGIC = 0x4D465443;   // "CTFM" in little-endian order
+    static final int VERSION = 1;
+    static final int FLAG_FLOAT_WEIGHTS = 1;
+
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_MAPPING = 1 << 30;
+
+    private MapBinaryFormat() {
+    }
+
+    /**
+     * Converts a text map into a binary map
+     *
+     * @param args path of the text map and path of the binary map to write
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: MapBinaryFormat <text map> <binary map>");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            Network<Location> network = convert(args[0], args[1]);
+            System.out.printf("Converted %d locations and %d paths in %.1f ms%n", network.size(),
+                    network.getStorage().edgeCount(), (System.nanoTime() - start) / 1e6);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (NumberFormatException e) {
+            System.err.println("Error parsing number: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a text map and writes it as a binary map
+     *
+     * @param textPath   path of the text map
+     * @param binaryPath path of the binary map to write
+     * @return network read from the text map
+     * @throws IOException if a file can not be read or written
+     */
+    static Network<Location> convert(String textPath, String binaryPath) throws IOException {
+        Network<Location> network = new Network<>(new CompressedSparseRowStorage());
+        new MapFileReader(network, System.out).read(textPath);
+        write(network, binaryPath);
+        return network;
+    }
+
+    /**
+     * Writes a network of locations as a binary map
+     *
+     * @param network  network to write
+     * @param filePath path of the binary map
+     * @throws IOException              if the file can not be written
+     * @throws IllegalArgumentException if a vertex of the network has no location
+     */
+    static void write(Network<Location> network, String filePath) throws IOException {
+        /** The sections list the edges of each location in order of target */
+        network.mergePendingEdges();
+        GraphStorage storage = network.getStorage();
+        int numVertices = network.size();
+        boolean floatWeights = storage instanceof CompressedSparseRowStorage
+                && ((CompressedSparseRowStorage) storage).isSinglePrecision();
+        int numEdges = storage.edgeCount();
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(floatWeights ? FLAG_FLOAT_WEIGHTS : 0)
+                    .putInt(numVertices).putInt(numEdges);
+
+            for (int v = 0; v < numVertices; v++) {
+                Location location = network.getVertex(v);
+                if (location == null) {
+                    throw new IllegalArgumentException("Vertex " + v + " has no location.");
+                }
+                flushIfFull(channel, buffer, 3 * Integer.BYTES);
+                buffer.putInt(location.getId()).putInt(location.getCoordinateX()).putInt(location.getCoordinateY());
+            }
+
+            /** Each section is one pass over the edges, so nothing but the buffer is allocated */
+            int offset = 0;
+            for (int v = 0; v < numVertices; v++) {
+                flushIfFull(channel, buffer, Integer.BYTES);
+                buffer.putInt(offset);
+                for (int e = storage.firstEdge(v); e != -1; e = storage.nextEdge(v, e)) {
+                    offset++;
+                }
+            }
+            flushIfFull(channel, buffer, Integer.BYTES);
+            buffer.putInt(offset);
+
+            for (int v = 0; v < numVertices; v++) {
+                for (int e = storage.firstEdge(v); e != -1; e = storage.nextEdge(v, e)) {
+                    flushIfFull(channel, buffer, Integer.BYTES);
+                    buffer.putInt(storage.edgeTarget(v, e));
+                }
+            }
+
+            for (int v = 0; v < numVertices; v++) {
+                for (int e = storage.firstEdge(v); e != -1; e = storage.nextEdge(v, e)) {
+                    flushIfFull(channel, buffer, Double.BYTES);
+                    if (floatWeights) {
+                        buffer.putFloat((float) storage.edgeWeight(v, e));
+                    } else {
+                        buffer.putDouble(storage.edgeWeight(v, e));
+                    }
+                }
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads a binary map into a new network backed by a {@link CompressedSparseRowStorage}
+     *
+     * @param filePath path of the binary map
+     * @return network of the map
+     * @throws IOException if the file can not be read or is not a valid binary map
+     */
+    static Network<Location> read(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("Not a binary map: " + filePath);
+            }
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a binary map: " + filePath);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary map version " + version + ": " + filePath);
+            }
+            boolean floatWeights = (header.getInt() & FLAG_FLOAT_WEIGHTS) != 0;
+            int numVertices = header.getInt();
+            int numEdges = header.getInt();
+
+            long locationsStart = HEADER_BYTES;
+            long offsetsStart = locationsStart + 3L * Integer.BYTES * numVertices;
+            long targetsStart = offsetsStart + (long) Integer.BYTES * (numVertices + 1);
+            long weightsStart = targetsStart + (long) Integer.BYTES * numEdges;
+            long end = weightsStart + (long) (floatWeights ? Float.BYTES : Double.BYTES) * numEdges;
+            if (numVertices < 0 || numEdges < 0 || end != fileSize) {
+                throw new IOException("Corrupt binary map: " + filePath);
+            }
+
+            int[] locationValues = new int[3 * numVertices];
+            int[] offsets = new int[numVertices + 1];
+            int[] targets = new int[numEdges];
+            readInts(channel, locationsStart, locationValues);
+            readInts(channel, offsetsStart, offsets);
+            readInts(channel, targetsStart, targets);
+
+            Location[] vertices = new Location[numVertices];
+            for (int v = 0; v < numVertices; v++) {
+                vertices[v] = new Location(locationValues[3 * v], locationValues[3 * v + 1],
+                        locationValues[3 * v + 2]);
+            }
+
+            CompressedSparseRowStorage storage;
+            try {
+                if (floatWeights) {
+                    float[] weights = new float[numEdges];
+                    readFloats(channel, weightsStart, weights);
+                    storage = new CompressedSparseRowStorage(offsets, targets, weights);
+                } else {
+                    double[] weights = new double[numEdges];
+                    readDoubles(channel, weightsStart, weights);
+                    storage = new CompressedSparseRowStorage(offsets, targets, weights);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt binary map: " + filePath, e);
+            }
+            return new Network<>(vertices, storage);
+        }
+    }
+
+    /**
+     * Writes the buffer out if it does not have room for the given number of bytes
+     */
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes out everything in the buffer and empties it
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Maps a section of the file, one mapping of at most MAX_MAPPING bytes at a time, and copies it into an array
+     */
+    private static void readInts(FileChannel channel, long start, int[] values) throws IOException {
+        int perMapping = MAX_MAPPING / Integer.BYTES;
+        for (int from = 0; from < values.length; from += perMapping) {
+            int count = Math.min(perMapping, values.length - from);
+            map(channel, start + (long) from * Integer.BYTES, (long) count * Integer.BYTES)
+                    .asIntBuffer().get(values, from, count);
+        }
+    }
+
+    private static void readFloats(FileChannel channel, long start, float[] values) throws IOException {
+        int perMapping = MAX_MAPPING / Float.BYTES;
+        for (int from = 0; from < values.length; from += perMapping) {
+            int count = Math.min(perMapping, values.length - from);
+            map(channel, start + (long) from * Float.BYTES, (long) count * Float.BYTES)
+                    .asFloatBuffer().get(values, from, count);
+        }
+    }
+
+    private static void readDoubles(FileChannel channel, long start, double[] values) throws IOException {
+        int perMapping = MAX_MAPPING / Double.BYTES;
+        for (int from = 0; from < values.length; from += perMapping) {
+            int count = Math.min(perMapping, values.length - from);
+            map(channel, start + (long) from * Double.BYTES, (long) count * Double.BYTES)
+                    .asDoubleBuffer().get(values, from, count);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,410 @@
+package org.example;
+
+import org.example.Structures.Implementations.Network;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a map file written by {@link GameMap#exportMap(String)} into a network in a single pass.
+ * The file is memory-mapped and scanned byte by byte, so no line strings, regular expressions or split arrays are
+ * created; numbers are parsed in place and edges are inserted by index. Files larger than one mapping are read
+ * through a sliding window.
+ */
+class MapFileReader {
+    private static final int WINDOW_SIZE = 1 << 28;
+    private static final long PROGRESS_MIN_BYTES = 1L << 24;
+    private static final int PROGRESS_STEPS = 10;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+            1e19, 1e20, 1e21, 1e22
+    };
+
+    private enum Section {
+        MATRIX,
+        VERTICES,
+        WEIGHTS
+    }
+
+    private final Network<Location> network;
+    private final PrintStream progress;
+
+    private FileChannel channel;
+    private long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLength;
+
+    /** Positions inside the current line, relative to the window */
+    private int position;
+    private int lineEnd;
+    private int lineStartAfterTrim;
+    private int trimmedEnd;
+    private long lineNumber;
+
+    private int matrixRows;
+    private int locationCount;
+    private long edgeCount;
+    private long elapsedNanos;
+
+    /**
+     * Creates a {@link MapFileReader} that adds what it reads to a network
+     *
+     * @param network  network to fill
+     * @param progress stream for progress and timing reports on large files; null for none
+     */
+    MapFileReader(Network<Location> network, PrintStream progress) {
+        this.network = network;
+        this.progress = progress;
+    }
+
+    /**
+     * Reads a map file. Each location is added after the ones already in the network, and each path is added in both
+     * directions between the locations with the indices written in the file.
+     *
+     * @param filePath path of the map file
+     * @throws IOException           if the file can not be read
+     * @throws NumberFormatException if a location or path line is malformed
+     */
+    void read(String filePath) throws IOException {
+        long start = System.nanoTime();
+        matrixRows = 0;
+        locationCount = 0;
+        edgeCount = 0;
+        lineNumber = 0;
+        lineEnd = -1;
+
+        try (FileChannel fileChannel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            channel = fileChannel;
+            fileSize = fileChannel.size();
+            boolean reportProgress = progress != null && fileSize >= PROGRESS_MIN_BYTES;
+            long nextReport = fileSize / PROGRESS_STEPS;
+
+            map(0);
+            Section section = Section.MATRIX;
+
+            while (nextLine()) {
+                trimLine();
+                if (position == trimmedEnd || startsWith("----") || startsWith("index")) {
+                    continue;
+                }
+
+                if (startsWith("Vertices values")) {
+                    /** The adjacency matrix has one row per location, so the network can be sized once */
+                    network.ensureCapacity(network.size() + matrixRows);
+                    section = Section.VERTICES;
+                } else if (startsWith("Weights")) {
+                    section = Section.WEIGHTS;
+                } else if (section == Section.MATRIX) {
+                    if (!startsWith("Adjacency matrix")) {
+                        matrixRows++;
+                    }
+                } else if (section == Section.VERTICES) {
+                    readLocation();
+                } else {
+                    readPath();
+                }
+
+                if (reportProgress && windowStart + lineEnd >= nextReport) {
+                    progress.printf("Importing map: %d%% (%d locations, %d paths)%n",
+                            (windowStart + lineEnd) * 100 / fileSize, locationCount, edgeCount);
+                    while (nextReport <= windowStart + lineEnd) {
+                        nextReport += fileSize / PROGRESS_STEPS;
+                    }
+                }
+            }
+        } finally {
+            channel = null;
+            window = null;
+        }
+        network.mergePendingEdges();
+
+        elapsedNanos = System.nanoTime() - start;
+        if (progress != null && fileSize >= PROGRESS_MIN_BYTES) {
+            progress.printf("Imported %d locations and %d paths in %.1f ms%n", locationCount, edgeCount,
+                    elapsedNanos / 1e6);
+        }
+    }
+
+    /**
+     * Getter for the number of locations read by the last call to read
+     *
+     * @return number of locations
+     */
+    int getLocationCount() {
+        return locationCount;
+    }
+
+    /**
+     * Getter for the number of paths read by the last call to read
+     *
+     * @return number of paths
+     */
+    long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Getter for the time taken by the last call to read
+     *
+     * @return time in nanoseconds
+     */
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Reads a line of the form "N\tLocation k - (x, y)"
+     */
+    private void readLocation() {
+        if (!skipTo((byte) '\t')) {
+            return;
+        }
+        position = lineStartAfterTrim;
+        int id = readInt() - 1;
+        skipTo((byte) '(');
+        position++;
+        int x = readInt();
+        expect((byte) ',');
+        int y = readInt();
+
+        network.addVertex(new Location(id, x, y));
+        locationCount++;
+    }
+
+    /**
+     * Reads a line of the form "a to b\tw,ddkm", accepting either a comma or a dot as the decimal separator
+     */
+    private void readPath() {
+        if (!skipTo((byte) '\t')) {
+            return;
+        }
+        position = lineStartAfterTrim;
+        int vertex1 = readInt() - 1;
+        expect((byte) 'o');
+        int vertex2 = readInt() - 1;
+        expect((byte) '\t');
+        double weight = readDecimal();
+
+        network.addEdge(vertex1, vertex2, weight);
+        network.addEdge(vertex2, vertex1, weight);
+        edgeCount++;
+    }
+
+    /**
+     * Moves the scanner to the next line, remapping the window when the line does not fit in it
+     *
+     * @return false at the end of the file
+     */
+    private boolean nextLine() throws IOException {
+        int start = lineEnd + 1;
+        if (windowStart + start >= fileSize) {
+            return false;
+        }
+
+        int end = findNewline(start);
+        if (end == windowLength && windowStart + windowLength < fileSize) {
+            map(windowStart + start);
+            start = 0;
+            end = findNewline(0);
+            if (end == windowLength && windowStart + windowLength < fileSize) {
+                throw new NumberFormatException("Line " + (lineNumber + 1) + " is too long");
+            }
+        }
+
+        position = start;
+        lineEnd = end;
+        lineNumber++;
+        return true;
+    }
+
+    /**
+     * Returns the position of the first newline at or after the given position, or the window length if there is none
+     */
+    private int findNewline(int from) {
+        MappedByteBuffer buffer = window;
+        int i = from;
+        while (i < windowLength && buffer.get(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Maps the window of the file that starts at the given offset
+     */
+    private void map(long offset) throws IOException {
+        windowStart = offset;
+        windowLength = (int) Math.min(WINDOW_SIZE, fileSize - offset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, windowLength);
+    }
+
+    /**
+     * Drops leading and trailing whitespace, including carriage returns, from the current line
+     */
+    private void trimLine() {
+        while (position < lineEnd && window.get(position) <= ' ') {
+            position++;
+        }
+        int end = lineEnd;
+        while (end > position && window.get(end - 1) <= ' ') {
+            end--;
+        }
+        lineStartAfterTrim = position;
+        trimmedEnd = end;
+    }
+
+    /**
+     * Checks if the trimmed line starts with the given ASCII text
+     */
+    private boolean startsWith(String prefix) {
+        if (trimmedEnd - position < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (window.get(position + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the scanner onto the next occurrence of a byte in the line
+     *
+     * @return true if it was found
+     */
+    private boolean skipTo(byte value) {
+        while (position < trimmedEnd && window.get(position) != value) {
+            position++;
+        }
+        return position < trimmedEnd;
+    }
+
+    /**
+     * Moves the scanner past the next occurrence of a byte in the line
+     */
+    private void expect(byte value) {
+        if (!skipTo(value)) {
+            throw malformed();
+        }
+        position++;
+    }
+
+    /**
+     * Reads an optionally signed integer, skipping any spaces before it
+     */
+    private int readInt() {
+        while (position < trimmedEnd && window.get(position) == ' ') {
+            position++;
+        }
+        boolean negative = position < trimmedEnd && window.get(position) == '-';
+        if (negative) {
+            position++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        while (position < trimmedEnd) {
+            int digit = window.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw malformed();
+            }
+            digits++;
+            position++;
+        }
+        if (digits == 0) {
+            throw malformed();
+        }
+
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw malformed();
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a decimal number with a comma or a dot as separator. When the digits form an integer of at most 2^53
+     * and there are at most 22 decimal places, both the integer and the power of ten are exact doubles, so one
+     * division rounds the same as Double.parseDouble; anything longer or unusual is handed to Double.parseDouble.
+     */
+    private double readDecimal() {
+        int start = position;
+        boolean negative = position < trimmedEnd && window.get(position) == '-';
+        if (negative) {
+            position++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        while (position < trimmedEnd) {
+            byte b = window.get(position);
+            if (b >= '0' && b <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    if (fraction && ++fractionDigits == POWERS_OF_TEN.length) {
+                        return parseSlow(start);
+                    }
+                } else {
+                    return parseSlow(start);
+                }
+            } else if ((b == ',' || b == '.') && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+            position++;
+        }
+        if (position == start + (negative ? 1 : 0)) {
+            throw malformed();
+        }
+        if (position < trimmedEnd && window.get(position) != 'k' || mantissa > MAX_EXACT_MANTISSA) {
+            return parseSlow(start);
+        }
+
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses the number that starts at the given position with Double.parseDouble
+     */
+    private double parseSlow(int start) {
+        StringBuilder text = new StringBuilder();
+        for (int i = start; i < trimmedEnd; i++) {
+            char c = (char) window.get(i);
+            if (c == 'k') {
+                break;
+            }
+            text.append(c == ',' ? '.' : c);
+        }
+        position = trimmedEnd;
+        try {
+            return Double.parseDouble(text.toString());
+        } catch (NumberFormatException e) {
+            throw malformed();
+        }
+    }
+
+    /**
+     * Creates the exception for a malformed current line
+     */
+    private NumberFormatException malformed() {
+        return new NumberFormatException("Malformed line " + lineNumber + " of the map file");
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+import org.example.Structures.Interfaces.PathHeuristic;
+
+import java.util.Iterator;
+
+/**
+ * A* search over a {@link Network}. Vertices are expanded in order of path weight plus the estimate given by a
+ * {@link PathHeuristic}, so a good heuristic settles far fewer vertices than Dijkstra. With a heuristic that never
+ * overestimates, the paths returned are shortest paths.
+ *
+ * @param <T> type of the vertices of the network
+ */
+public class AStarSearch<T> {
+    private final Network<T> network;
+    private final PathHeuristic heuristic;
+    private int expandedNodes;
+    private double pathWeight;
+
+    /**
+     * Creates an A* search over the given network
+     *
+     * @param network   network to search
+     * @param heuristic estimate of the remaining path weight
+     */
+    public AStarSearch(Network<T> network, PathHeuristic heuristic) {
+        this.network = network;
+        this.heuristic = heuristic;
+        this.expandedNodes = 0;
+        this.pathWeight = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the indices of the vertices in the least weight path between two vertices
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return path indices, starting with startIndex; empty if there is no path
+     */
+    public int[] findPath(int startIndex, int targetIndex) {
+        int numVertices = network.size();
+        GraphStorage storage = network.getStorage();
+        expandedNodes = 0;
+        pathWeight = Double.POSITIVE_INFINITY;
+
+        if (startIndex < 0 || startIndex >= numVertices || targetIndex < 0 || targetIndex >= numVertices)
+            return new int[0];
+
+        double[] pathWeights = new double[numVertices];
+        int[] predecessor = new int[numVertices];
+        IndexedMinHeap openSet = new IndexedMinHeap(numVertices);
+
+        for (int i = 0; i < numVertices; i++) {
+            pathWeights[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+
+        pathWeights[startIndex] = 0;
+        openSet.insert(startIndex, heuristic.estimate(startIndex, targetIndex));
+
+        while (!openSet.isEmpty()) {
+            int index = openSet.removeMin();
+            expandedNodes++;
+
+            if (index == targetIndex) {
+                pathWeight = pathWeights[targetIndex];
+                return buildPath(predecessor, startIndex, targetIndex);
+            }
+
+            for (int edge = storage.firstEdge(index); edge != -1; edge = storage.nextEdge(index, edge)) {
+                int i = storage.edgeTarget(index, edge);
+                double weight = storage.edgeWeight(index, edge);
+                if (pathWeights[index] + weight < pathWeights[i]) {
+                    pathWeights[i] = pathWeights[index] + weight;
+                    predecessor[i] = index;
+
+                    /** A heuristic that is admissible but not consistent can
+                     find a better path to an expanded vertex, which is then
+                     added back to the open set */
+                    openSet.insertOrDecrease(i, pathWeights[i] + heuristic.estimate(i, targetIndex));
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Returns an iterator that contains the least weight path between two vertices
+     *
+     * @param startVertex  starting vertex
+     * @param targetVertex target vertex
+     * @return {@link Iterator}
+     */
+    public Iterator<T> iteratorPath(T startVertex, T targetVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        int[] path = findPath(network.getIndex(startVertex), network.getIndex(targetVertex));
+
+        for (int index : path)
+            resultList.addToRear(network.getVertex(index));
+        return resultList.iterator();
+    }
+
+    /**
+     * Getter for the number of vertices expanded by the last search
+     *
+     * @return number of expanded vertices
+     */
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Getter for the weight of the path found by the last search
+     *
+     * @return path weight; {@link Double}.POSITIVE_INFINITY if no path was found
+     */
+    public double getPathWeight() {
+        return pathWeight;
+    }
+
+    /**
+     * Follows the predecessors from the target back to the start
+     *
+     * @param predecessor predecessor of each vertex
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return path indices, starting with startIndex
+     */
+    private int[] buildPath(int[] predecessor, int startIndex, int targetIndex) {
+        int length = 1;
+        for (int index = targetIndex; index != startIndex; index = predecessor[index])
+            length++;
+
+        int[] path = new int[length];
+        for (int i = length - 1, index = targetIndex; i >= 0; i--, index = predecessor[index])
+            path[i] = index;
+        return path;
+    }
+}
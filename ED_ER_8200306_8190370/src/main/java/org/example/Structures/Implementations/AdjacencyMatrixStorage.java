@@ -0,0 +1,135 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+
+/**
+ * {@link GraphStorage} backed by a dense adjacency matrix. Edge lookups are constant time, but the matrix takes
+ * memory proportional to the square of the capacity and visiting the edges of a vertex scans its whole row.
+ */
+public class AdjacencyMatrixStorage implements GraphStorage {
+    protected final int DEFAULT_CAPACITY = 10;
+    private double[][] adjMatrix;   // adjacency matrix
+    private int numVertices;
+    private int numEdges;
+
+    /**
+     * Creates an empty {@link AdjacencyMatrixStorage}
+     */
+    public AdjacencyMatrixStorage() {
+        this.adjMatrix = new double[DEFAULT_CAPACITY][DEFAULT_CAPACITY];
+        this.numVertices = 0;
+        this.numEdges = 0;
+    }
+
+    @Override
+    public int size() {
+        return numVertices;
+    }
+
+    @Override
+    public int edgeCount() {
+        return numEdges;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity <= adjMatrix.length)
+            return;
+
+        double[][] largerAdjMatrix = new double[capacity][capacity];
+        for (int i = 0; i < numVertices; i++)
+            System.arraycopy(adjMatrix[i], 0, largerAdjMatrix[i], 0, numVertices);
+
+        adjMatrix = largerAdjMatrix;
+    }
+
+    @Override
+    public void addVertex() {
+        if (numVertices == adjMatrix.length)
+            ensureCapacity(adjMatrix.length * 2);
+
+        for (int i = 0; i <= numVertices; i++) {
+            adjMatrix[numVertices][i] = Double.POSITIVE_INFINITY;
+            adjMatrix[i][numVertices] = Double.POSITIVE_INFINITY;
+        }
+        numVertices++;
+    }
+
+    @Override
+    public void removeVertex(int index) {
+        if (index < 0 || index >= numVertices)
+            return;
+
+        for (int i = 0; i < numVertices; i++) {
+            if (adjMatrix[index][i] < Double.POSITIVE_INFINITY)
+                numEdges--;
+            if (i != index && adjMatrix[i][index] < Double.POSITIVE_INFINITY)
+                numEdges--;
+        }
+
+        numVertices--;
+
+        for (int i = index; i < numVertices; i++)
+            System.arraycopy(adjMatrix[i + 1], 0, adjMatrix[i], 0, numVertices + 1);
+
+        for (int j = 0; j < numVertices; j++)
+            System.arraycopy(adjMatrix[j], index + 1, adjMatrix[j], index, numVertices - index);
+    }
+
+    @Override
+    public double getWeight(int from, int to) {
+        return adjMatrix[from][to];
+    }
+
+    @Override
+    public void setWeight(int from, int to, double weight) {
+        if (weight == Double.POSITIVE_INFINITY) {
+            removeEdge(from, to);
+            return;
+        }
+        if (adjMatrix[from][to] == Double.POSITIVE_INFINITY)
+            numEdges++;
+        adjMatrix[from][to] = weight;
+    }
+
+    @Override
+    public void removeEdge(int from, int to) {
+        if (adjMatrix[from][to] < Double.POSITIVE_INFINITY)
+            numEdges--;
+        adjMatrix[from][to] = Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public int firstEdge(int vertex) {
+        return nextEdge(vertex, -1);
+    }
+
+    @Override
+    public int nextEdge(int vertex, int cursor) {
+        double[] row = adjMatrix[vertex];
+        for (int i = cursor + 1; i < numVertices; i++)
+            if (row[i] < Double.POSITIVE_INFINITY)
+                return i;
+        return -1;
+    }
+
+    @Override
+    public int edgeTarget(int vertex, int cursor) {
+        return cursor;
+    }
+
+    @Override
+    public double edgeWeight(int vertex, int cursor) {
+        return adjMatrix[vertex][cursor];
+    }
+
+    @Override
+    public void mergePending() {
+        /** Edges are written straight into the matrix */
+    }
+
+    @Override
+    public GraphStorage emptyCopy() {
+        return new AdjacencyMatrixStorage();
+    }
+}
@@ -0,0 +1,271 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Path weights and next hops between every pair of vertices of a {@link Network}, computed with a blocked
+ * Floyd-Warshall on a {@link ForkJoinPool}. Once built, the weight of a shortest path is an array lookup and the
+ * path itself is read one next hop at a time, so it suits small and medium maps that are queried far more often
+ * than they change.
+ *
+ * The matrices are flat arrays of size * size entries, row by row, split into BLOCK_SIZE square tiles that fit in
+ * the L1 cache. For each block of intermediate vertices, the diagonal tile is relaxed first, then the tiles of its
+ * row and column in parallel, then every other tile in parallel, since each of those only reads tiles that are
+ * already final for that block. A map of 4096 vertices takes 128 MB of path weights and 64 MB of next hops.
+ *
+ * The table describes the network as it was when it was computed; {@link #isCurrent()} compares the version of
+ * the network with the one it was computed for.
+ *
+ * @param <T> type of the vertices of the network
+ */
+public class AllPairsShortestPaths<T> {
+    public static final int MAX_VERTICES = 46340;   // largest size whose matrices fit in an array
+    private static final int BLOCK_SIZE = 64;
+
+    private final Network<T> network;
+    private final int numVertices;
+    private final int version;
+    private final int numBlocks;
+    private final double[] distances;   // i * size + j -> path weight from i to j
+    private final int[] next;           // i * size + j -> vertex after i on the path to j; -1 if there is none
+
+    /**
+     * Computes the table of a network, using as many threads as the common pool
+     *
+     * @param network network to compute the table for
+     */
+    public AllPairsShortestPaths(Network<T> network) {
+        this(network, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Computes the table of a network
+     *
+     * @param network     network to compute the table for
+     * @param parallelism number of threads
+     * @throws IllegalArgumentException if parallelism is not positive or the network has more than
+     *                                  {@link #MAX_VERTICES} vertices
+     */
+    public AllPairsShortestPaths(Network<T> network, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        if (network.size() > MAX_VERTICES)
+            throw new IllegalArgumentException("Too many vertices for an all-pairs table.");
+
+        this.network = network;
+        this.numVertices = network.size();
+        this.version = network.getVersion();
+        this.numBlocks = (numVertices + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.distances = new double[numVertices * numVertices];
+        this.next = new int[numVertices * numVertices];
+
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(next, -1);
+        GraphStorage storage = network.getStorage();
+        for (int i = 0; i < numVertices; i++) {
+            int row = i * numVertices;
+            distances[row + i] = 0;
+            next[row + i] = i;
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                int j = storage.edgeTarget(i, e);
+                double weight = storage.edgeWeight(i, e);
+                if (weight < distances[row + j]) {
+                    distances[row + j] = weight;
+                    next[row + j] = j;
+                }
+            }
+        }
+
+        if (numBlocks <= 1) {
+            for (int k = 0; k < numBlocks; k++)
+                relaxTile(k, k, k);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int k = 0; k < numBlocks; k++) {
+                relaxTile(k, k, k);
+                pool.invoke(new TileTask(k, false, 0, 2 * numBlocks));
+                pool.invoke(new TileTask(k, true, 0, numBlocks * numBlocks));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Getter for the version of the network the table was computed for
+     *
+     * @return version of the network
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks if the network has not changed since the table was computed
+     *
+     * @return true if the table still describes the network
+     */
+    public boolean isCurrent() {
+        return network.getVersion() == version;
+    }
+
+    /**
+     * Returns the weight of the least weight path between two vertices
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return path weight; 0 from a vertex to itself; {@link Double}.POSITIVE_INFINITY if there is no path
+     */
+    public double distance(int startIndex, int targetIndex) {
+        if (!isValid(startIndex) || !isValid(targetIndex))
+            return Double.POSITIVE_INFINITY;
+        return distances[startIndex * numVertices + targetIndex];
+    }
+
+    /**
+     * Returns the weight of the least weight path between two vertices
+     *
+     * @param startVertex  starting vertex
+     * @param targetVertex target vertex
+     * @return path weight; 0 from a vertex to itself; {@link Double}.POSITIVE_INFINITY if there is no path
+     */
+    public double distance(T startVertex, T targetVertex) {
+        return distance(network.getIndex(startVertex), network.getIndex(targetVertex));
+    }
+
+    /**
+     * Returns the vertex that follows a vertex on the least weight path to a target
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return index of the next vertex; the target itself when the start is the target; -1 if there is no path
+     */
+    public int nextHop(int startIndex, int targetIndex) {
+        if (!isValid(startIndex) || !isValid(targetIndex))
+            return -1;
+        return next[startIndex * numVertices + targetIndex];
+    }
+
+    /**
+     * Returns the indices of the vertices in the least weight path between two vertices
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return path indices, starting with startIndex and ending with targetIndex; empty if there is no path
+     */
+    public int[] findPath(int startIndex, int targetIndex) {
+        if (nextHop(startIndex, targetIndex) == -1)
+            return new int[0];
+
+        int length = 1;
+        for (int index = startIndex; index != targetIndex; index = next[index * numVertices + targetIndex])
+            length++;
+
+        int[] path = new int[length];
+        for (int i = 0, index = startIndex; i < length; i++, index = next[index * numVertices + targetIndex])
+            path[i] = index;
+        return path;
+    }
+
+    /**
+     * Returns an iterator that contains the least weight path between two vertices
+     *
+     * @param startVertex  starting vertex
+     * @param targetVertex target vertex
+     * @return {@link Iterator}, starting with the start; empty if there is no path
+     */
+    public Iterator<T> iteratorPath(T startVertex, T targetVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        for (int index : findPath(network.getIndex(startVertex), network.getIndex(targetVertex)))
+            resultList.addToRear(network.getVertex(index));
+        return resultList.iterator();
+    }
+
+    private boolean isValid(int index) {
+        return index >= 0 && index < numVertices;
+    }
+
+    /**
+     * Relaxes the paths of one tile through the intermediate vertices of a block. Only the tile is written; the
+     * tiles of its row and column in the block are read
+     *
+     * @param kBlock block of intermediate vertices
+     * @param iBlock block of starting vertices
+     * @param jBlock block of target vertices
+     */
+    private void relaxTile(int kBlock, int iBlock, int jBlock) {
+        int kEnd = Math.min(numVertices, (kBlock + 1) * BLOCK_SIZE);
+        int iEnd = Math.min(numVertices, (iBlock + 1) * BLOCK_SIZE);
+        int jStart = jBlock * BLOCK_SIZE;
+        int jEnd = Math.min(numVertices, jStart + BLOCK_SIZE);
+
+        for (int k = kBlock * BLOCK_SIZE; k < kEnd; k++) {
+            int kRow = k * numVertices;
+            for (int i = iBlock * BLOCK_SIZE; i < iEnd; i++) {
+                int iRow = i * numVertices;
+                double throughK = distances[iRow + k];
+                if (throughK == Double.POSITIVE_INFINITY)
+                    continue;
+                int hop = next[iRow + k];
+                for (int j = jStart; j < jEnd; j++) {
+                    double weight = throughK + distances[kRow + j];
+                    if (weight < distances[iRow + j]) {
+                        distances[iRow + j] = weight;
+                        next[iRow + j] = hop;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Relaxes a range of tiles for one block of intermediate vertices. The row and column phase numbers its tiles
+     * with the row tiles first, then the column tiles; the remaining phase numbers every tile row by row. Tiles of
+     * the block's own row or column are skipped where another phase handles them
+     */
+    private class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int kBlock;
+        private final boolean remaining;
+        private final int firstTile;
+        private final int lastTile;
+
+        TileTask(int kBlock, boolean remaining, int firstTile, int lastTile) {
+            this.kBlock = kBlock;
+            this.remaining = remaining;
+            this.firstTile = firstTile;
+            this.lastTile = lastTile;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastTile - firstTile > 1) {
+                int middle = (firstTile + lastTile) >>> 1;
+                invokeAll(new TileTask(kBlock, remaining, firstTile, middle),
+                        new TileTask(kBlock, remaining, middle, lastTile));
+                return;
+            }
+
+            if (remaining) {
+                int iBlock = firstTile / numBlocks;
+                int jBlock = firstTile % numBlocks;
+                if (iBlock != kBlock && jBlock != kBlock)
+                    relaxTile(kBlock, iBlock, jBlock);
+            } else if (firstTile < numBlocks) {
+                if (firstTile != kBlock)
+                    relaxTile(kBlock, kBlock, firstTile);
+            } else if (firstTile - numBlocks != kBlock) {
+                relaxTile(kBlock, firstTile - numBlocks, kBlock);
+            }
+        }
+    }
+}
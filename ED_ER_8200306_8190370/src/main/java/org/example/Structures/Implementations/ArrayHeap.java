@@ -0,0 +1,364 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Exceptions.ElementNotFoundException;
+import org.example.Structures.Exceptions.EmptyCollectionException;
+import org.example.Structures.Interfaces.HeapADT;
+
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * Binary min heap kept in a contiguous array, where the children of slot i are the slots 2i + 1 and 2i + 2.
+ * It behaves like {@link Heap} without allocating a node per element or walking parent pointers to find the next
+ * free position. Elements are ordered by a {@link Comparator}, or by their natural order when none is given.
+ *
+ * @param <T> type of the elements
+ */
+public class ArrayHeap<T> implements HeapADT<T> {
+    protected final int DEFAULT_CAPACITY = 10;
+    private T[] tree;
+    private int count;
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Creates an empty {@link ArrayHeap} ordered by the natural order of its elements
+     */
+    public ArrayHeap() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty {@link ArrayHeap} ordered by a {@link Comparator}
+     *
+     * @param comparator order of the elements; null for their natural order
+     */
+    public ArrayHeap(Comparator<? super T> comparator) {
+        /** The array is never exposed and only ever holds elements of type T */
+        @SuppressWarnings("unchecked")
+        T[] tree = (T[]) (new Object[DEFAULT_CAPACITY]);
+        this.tree = tree;
+        this.count = 0;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Adds a given element to the {@link ArrayHeap} in the appropriate position, according to its key value
+     *
+     * @param obj element to be added
+     */
+    public void addElement(T obj) {
+        if (count == tree.length)
+            expandCapacity();
+
+        siftUp(count, obj);
+        count++;
+    }
+
+    /**
+     * Removes the element with the lowest value in the heap and returns a reference to it.
+     *
+     * @return reference of removed element
+     * @throws EmptyCollectionException thrown if the heap is empty
+     */
+    public T removeMin() throws EmptyCollectionException {
+        if (isEmpty())
+            throw new EmptyCollectionException("Empty Heap");
+
+        T minElement = tree[0];
+        count--;
+        T last = tree[count];
+        tree[count] = null;
+        if (count > 0)
+            siftDown(0, last);
+
+        return minElement;
+    }
+
+    /**
+     * Finds the element with the lowest value in the heap
+     *
+     * @return lowest element
+     * @throws EmptyCollectionException thrown if the heap is empty
+     */
+    public T findMin() throws EmptyCollectionException {
+        if (isEmpty())
+            throw new EmptyCollectionException("Empty Heap");
+
+        return tree[0];
+    }
+
+    /**
+     * Removes the left subtree of the root, and restores the heap order of the remaining elements
+     */
+    public void removeLeftSubtree() {
+        removeSubtree(1);
+    }
+
+    /**
+     * Removes the right subtree of the root, and restores the heap order of the remaining elements
+     */
+    public void removeRightSubtree() {
+        removeSubtree(2);
+    }
+
+    /**
+     * Removes all elements from the heap
+     */
+    public void removeAllElements() {
+        for (int i = 0; i < count; i++)
+            tree[i] = null;
+        count = 0;
+    }
+
+    /**
+     * Checks if the heap is empty
+     *
+     * @return true if empty; false if not empty
+     */
+    public boolean isEmpty() {
+        return (count == 0);
+    }
+
+    /**
+     * Gets heap size
+     *
+     * @return size
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Checks if the heap contains a given element
+     *
+     * @param targetElement target element
+     * @return true if it contains; false if it doesn't contain
+     */
+    public boolean contains(T targetElement) {
+        return indexOf(targetElement) != -1;
+    }
+
+    /**
+     * Finds a given element in the heap
+     *
+     * @param targetElement target element to be searched
+     * @return element to be found
+     * @throws ElementNotFoundException thrown if element not found
+     */
+    public T find(T targetElement) throws ElementNotFoundException {
+        int index = indexOf(targetElement);
+
+        if (index == -1)
+            throw new ElementNotFoundException("binary tree");
+
+        return tree[index];
+    }
+
+    /**
+     * Returns a string representation of the heap, in preorder
+     *
+     * @return {@link String}
+     */
+    public String toString() {
+        ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
+        preorder(0, tempList);
+
+        return tempList.toString();
+    }
+
+    /**
+     * Performs an inorder traversal on the heap
+     *
+     * @return {@link Iterator}
+     */
+    public Iterator<T> iteratorInOrder() {
+        ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
+        inorder(0, tempList);
+
+        return tempList.iterator();
+    }
+
+    /**
+     * Performs a preorder traversal on the heap
+     *
+     * @return {@link Iterator}
+     */
+    public Iterator<T> iteratorPreOrder() {
+        ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
+        preorder(0, tempList);
+
+        return tempList.iterator();
+    }
+
+    /**
+     * Performs a postorder traversal on the heap
+     *
+     * @return {@link Iterator}
+     */
+    public Iterator<T> iteratorPostOrder() {
+        ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
+        postorder(0, tempList);
+
+        return tempList.iterator();
+    }
+
+    /**
+     * Performs a levelorder traversal on the heap, which is the order of the array
+     *
+     * @return {@link Iterator}
+     */
+    public Iterator<T> iteratorLevelOrder() {
+        ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
+        for (int i = 0; i < count; i++)
+            tempList.addToRear(tree[i]);
+
+        return tempList.iterator();
+    }
+
+    /**
+     * Performs a recursive inorder traversal
+     *
+     * @param index    starting slot
+     * @param tempList {@link Iterator} list
+     */
+    protected void inorder(int index, ArrayUnorderedList<T> tempList) {
+        if (index < count) {
+            inorder(2 * index + 1, tempList);
+            tempList.addToRear(tree[index]);
+            inorder(2 * index + 2, tempList);
+        }
+    }
+
+    /**
+     * Performs a recursive preorder traversal
+     *
+     * @param index    starting slot
+     * @param tempList {@link Iterator} list
+     */
+    protected void preorder(int index, ArrayUnorderedList<T> tempList) {
+        if (index < count) {
+            tempList.addToRear(tree[index]);
+            preorder(2 * index + 1, tempList);
+            preorder(2 * index + 2, tempList);
+        }
+    }
+
+    /**
+     * Performs a recursive postorder traversal
+     *
+     * @param index    starting slot
+     * @param tempList {@link Iterator} list
+     */
+    protected void postorder(int index, ArrayUnorderedList<T> tempList) {
+        if (index < count) {
+            postorder(2 * index + 1, tempList);
+            postorder(2 * index + 2, tempList);
+            tempList.addToRear(tree[index]);
+        }
+    }
+
+    /**
+     * Moves an element up from a free slot until its parent is not greater, and places it there
+     *
+     * @param index   free slot
+     * @param element element to place
+     */
+    private void siftUp(int index, T element) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(element, tree[parent]) >= 0)
+                break;
+            tree[index] = tree[parent];
+            index = parent;
+        }
+        tree[index] = element;
+    }
+
+    /**
+     * Moves an element down from a free slot until no child is smaller, and places it there
+     *
+     * @param index   free slot
+     * @param element element to place
+     */
+    private void siftDown(int index, T element) {
+        int half = count >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < count && compare(tree[child + 1], tree[child]) < 0)
+                child++;
+            if (compare(element, tree[child]) <= 0)
+                break;
+            tree[index] = tree[child];
+            index = child;
+        }
+        tree[index] = element;
+    }
+
+    /**
+     * Removes the elements of the subtree rooted at a slot, then rebuilds the heap from the remaining ones
+     *
+     * @param root root slot of the subtree
+     */
+    private void removeSubtree(int root) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (!inSubtree(i, root))
+                tree[kept++] = tree[i];
+        }
+        for (int i = kept; i < count; i++)
+            tree[i] = null;
+        count = kept;
+
+        for (int i = (count >>> 1) - 1; i >= 0; i--)
+            siftDown(i, tree[i]);
+    }
+
+    /**
+     * Checks if a slot is in the subtree rooted at another slot
+     *
+     * @param index slot
+     * @param root  root slot of the subtree
+     * @return true if it is in the subtree
+     */
+    private static boolean inSubtree(int index, int root) {
+        while (index > root)
+            index = (index - 1) >>> 1;
+        return index == root;
+    }
+
+    /**
+     * Finds the slot of an element
+     *
+     * @param targetElement target element
+     * @return slot; -1 if not found
+     */
+    private int indexOf(T targetElement) {
+        for (int i = 0; i < count; i++)
+            if (tree[i].equals(targetElement))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Compares two elements with the comparator, or by their natural order
+     */
+    private int compare(T first, T second) {
+        if (comparator != null)
+            return comparator.compare(first, second);
+        /** Without a comparator the elements must be Comparable, as in Heap; one that is not throws a
+         ClassCastException here */
+        @SuppressWarnings("unchecked")
+        Comparable<? super T> comparable = (Comparable<? super T>) first;
+        return comparable.compareTo(second);
+    }
+
+    /**
+     * Doubles the capacity of the array
+     */
+    private void expandCapacity() {
+        @SuppressWarnings("unchecked")   // same element type as the array it replaces
+        T[] larger = (T[]) (new Object[tree.length * 2 + 1]);
+        System.arraycopy(tree, 0, larger, 0, count);
+        tree = larger;
+    }
+}
@@ -69,11 +69,9 @@ public abstract class ArrayList<T> implements ListADT<T> {
         this.array = newArray;
     }
     protected void expandCapacity() {
-        T[] newArray = (T[]) new Object[this.array.length + 5];
+        T[] newArray = (T[]) new Object[this.array.length * 2 + 1];
 
-        for(int x = 0; x < this.modCount; ++x) {
-            newArray[x] = this.array[x];
-        }
+        System.arraycopy(this.array, 0, newArray, 0, this.rear);
 
         this.array = newArray;
     }
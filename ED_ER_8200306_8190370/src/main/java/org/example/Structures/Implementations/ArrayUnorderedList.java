@@ -13,6 +13,9 @@ public class ArrayUnorderedList<T> extends ArrayList<T>
      */
     @Override
     public void addToFront(T element) {
+        if (rear == array.length)
+            expandCapacity();
+
         System.arraycopy(array, 0, array, 1, rear);
         array[0] = (T) element;
         rear++;
@@ -26,6 +29,9 @@ public class ArrayUnorderedList<T> extends ArrayList<T>
      */
     @Override
     public void addToRear(T element) {
+        if (rear == array.length)
+            expandCapacity();
+
         array[rear] = (T) (element);
         rear++;
         modCount++;
@@ -43,6 +49,9 @@ public class ArrayUnorderedList<T> extends ArrayList<T>
             return;
         }
 
+        if (rear == array.length)
+            expandCapacity();
+
         int previousIndex = super.returnElementIndex(previous);
 
         System.arraycopy(array, previousIndex + 1, array, previousIndex + 2,
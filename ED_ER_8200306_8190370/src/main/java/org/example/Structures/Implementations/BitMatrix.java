@@ -0,0 +1,193 @@
+package org.example.Structures.Implementations;
+
+/**
+ * Square boolean matrix that stores each row as a bitset of longs, one bit per column. It takes an eighth of the
+ * memory of a boolean[][] and lets whole rows be combined 64 columns at a time.
+ */
+public class BitMatrix {
+    private long[][] rows;
+    private int capacity;
+
+    /**
+     * Creates a {@link BitMatrix} with every bit cleared
+     *
+     * @param capacity number of rows and columns
+     */
+    public BitMatrix(int capacity) {
+        this.capacity = capacity;
+        this.rows = new long[capacity][wordsFor(capacity)];
+    }
+
+    /**
+     * Returns the number of longs needed to hold the given number of bits
+     *
+     * @param bits number of bits
+     * @return number of longs
+     */
+    public static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Getter for the number of rows and columns
+     *
+     * @return capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the bitset of a row. Changes to the array change the matrix
+     *
+     * @param row row index
+     * @return row bitset
+     */
+    public long[] row(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Checks if a bit is set
+     *
+     * @param row    row index
+     * @param column column index
+     * @return true if set; false if clear
+     */
+    public boolean get(int row, int column) {
+        return (rows[row][column >>> 6] & (1L << column)) != 0;
+    }
+
+    /**
+     * Sets a bit
+     *
+     * @param row    row index
+     * @param column column index
+     */
+    public void set(int row, int column) {
+        rows[row][column >>> 6] |= 1L << column;
+    }
+
+    /**
+     * Clears a bit
+     *
+     * @param row    row index
+     * @param column column index
+     */
+    public void clear(int row, int column) {
+        rows[row][column >>> 6] &= ~(1L << column);
+    }
+
+    /**
+     * Returns the first set column of a row at or after the given column
+     *
+     * @param row  row index
+     * @param from first column to check
+     * @return column; -1 if there is none
+     */
+    public int nextSetBit(int row, int from) {
+        return nextSetBit(rows[row], from);
+    }
+
+    /**
+     * Returns the first set bit of a bitset at or after the given bit, skipping 64 clear bits at a time
+     *
+     * @param bits bitset
+     * @param from first bit to check
+     * @return bit index; -1 if there is none
+     */
+    public static int nextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= bits.length)
+            return -1;
+
+        long current = bits[word] & (-1L << from);
+        while (current == 0) {
+            if (++word == bits.length)
+                return -1;
+            current = bits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(current);
+    }
+
+    /**
+     * Returns the first column set in a row and clear in the given bitset, that is, the first bit of row AND-NOT
+     * mask, at or after the given column. Only the columns covered by the mask are checked
+     *
+     * @param row  row index
+     * @param mask bitset of columns to skip
+     * @param from first column to check
+     * @return column; -1 if there is none
+     */
+    public int nextSetBitNotIn(int row, long[] mask, int from) {
+        long[] bits = rows[row];
+        int words = Math.min(bits.length, mask.length);
+        int word = from >>> 6;
+        if (word >= words)
+            return -1;
+
+        long current = bits[word] & ~mask[word] & (-1L << from);
+        while (current == 0) {
+            if (++word == words)
+                return -1;
+            current = bits[word] & ~mask[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(current);
+    }
+
+    /**
+     * Clears the row and the column with the given index
+     *
+     * @param index row and column index
+     * @param size  number of rows in use
+     */
+    public void clearRowAndColumn(int index, int size) {
+        long[] row = rows[index];
+        for (int w = 0; w < row.length; w++)
+            row[w] = 0;
+        for (int i = 0; i < size; i++)
+            clear(i, index);
+    }
+
+    /**
+     * Removes the row and the column with the given index, shifting the later rows up and the later columns left
+     *
+     * @param index row and column index
+     * @param size  number of rows and columns in use before the removal
+     */
+    public void removeIndex(int index, int size) {
+        long[] removed = rows[index];
+        System.arraycopy(rows, index + 1, rows, index, size - index - 1);
+        rows[size - 1] = removed;
+        for (int w = 0; w < removed.length; w++)
+            removed[w] = 0;
+
+        int firstWord = index >>> 6;
+        long lowMask = (1L << index) - 1;   // bits below index in its word
+        for (int i = 0; i < size - 1; i++) {
+            long[] bits = rows[i];
+            long word = bits[firstWord];
+            long shifted = (word & lowMask) | ((word >>> 1) & ~lowMask);
+            for (int w = firstWord; w < bits.length; w++) {
+                long next = w + 1 < bits.length ? bits[w + 1] : 0;
+                if (w > firstWord)
+                    shifted = bits[w] >>> 1;
+                bits[w] = shifted | (next << 63);
+            }
+        }
+    }
+
+    /**
+     * Creates new rows with the given capacity, keeping the bits of the rows and columns in use
+     *
+     * @param newCapacity new number of rows and columns
+     * @param size        number of rows in use
+     */
+    public void resize(int newCapacity, int size) {
+        long[][] newRows = new long[newCapacity][wordsFor(newCapacity)];
+        for (int i = 0; i < size; i++)
+            System.arraycopy(rows[i], 0, newRows[i], 0, Math.min(rows[i].length, newRows[i].length));
+        rows = newRows;
+        capacity = newCapacity;
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Minimum spanning forest of a {@link Network} built with Boruvka's algorithm on a {@link ForkJoinPool}.
+ * Each round scans the remaining edges in parallel to find the lightest edge leaving every component, adds those
+ * edges, and contracts the components they join; edges inside a component are dropped from later rounds, so the
+ * number of components at least halves per round and the work shrinks with it.
+ *
+ * Edges are treated as undirected and ordered by weight and then by their position in the storage, so the forest
+ * does not depend on the number of threads, and on graphs with distinct weights it is the same tree that
+ * {@link Network#minimumSpanningTreeNetwork()} builds.
+ *
+ * @param <T> type of the vertices
+ */
+public class BoruvkaSpanningForest<T> {
+    private static final int CHUNK_SIZE = 1 << 13;   // edges scanned by one task
+
+    private final Network<T> network;
+    private final int parallelism;
+    private int rounds;
+
+    private int[] from;
+    private int[] to;
+    private double[] weights;
+    private int[] active;       // positions of the edges that may still join two components
+    private int[] liveCount;    // chunk -> edges of the chunk kept for the next round
+    private int[] label;        // vertex -> root of its component
+    private AtomicIntegerArray best;   // root -> 1 + lightest edge leaving the component; 0 if none
+
+    /**
+     * Creates a {@link BoruvkaSpanningForest} that uses as many threads as the common pool
+     *
+     * @param network network to span
+     */
+    public BoruvkaSpanningForest(Network<T> network) {
+        this(network, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Creates a {@link BoruvkaSpanningForest}
+     *
+     * @param network     network to span
+     * @param parallelism number of threads
+     */
+    public BoruvkaSpanningForest(Network<T> network, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        this.network = network;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Getter for the number of rounds taken by the last call to compute
+     *
+     * @return number of rounds
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Builds the minimum spanning forest
+     *
+     * @return minimum spanning forest {@link Network}, with every vertex of the network
+     */
+    public Network<T> compute() {
+        GraphStorage storage = network.getStorage();
+        int numVertices = network.size();
+        Network<T> resultGraph = new Network<T>(numVertices, storage.emptyCopy());
+
+        for (int i = 0; i < numVertices; i++)
+            resultGraph.addVertex(network.getVertex(i));
+
+        int numEdges = storage.edgeCount();
+        from = new int[numEdges];
+        to = new int[numEdges];
+        weights = new double[numEdges];
+        active = new int[numEdges];
+        int edge = 0;
+        for (int i = 0; i < numVertices; i++)
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                from[edge] = i;
+                to[edge] = storage.edgeTarget(i, e);
+                weights[edge] = storage.edgeWeight(i, e);
+                active[edge] = edge;
+                edge++;
+            }
+
+        label = new int[numVertices];
+        for (int i = 0; i < numVertices; i++)
+            label[i] = i;
+
+        DisjointSet forest = new DisjointSet(numVertices);
+        int numActive = numEdges;
+        rounds = 0;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            while (numActive > 0 && forest.count() > 1) {
+                rounds++;
+                int numChunks = (numActive + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                liveCount = new int[numChunks];
+                best = new AtomicIntegerArray(numVertices);
+
+                pool.invoke(new ScanTask(0, numChunks, numActive));
+                numActive = compact(numChunks, numActive);
+
+                /** Add the lightest edge of every component. Two components
+                 may pick the same edge, which is only added once */
+                boolean merged = false;
+                for (int root = 0; root < numVertices; root++) {
+                    int chosen = best.get(root) - 1;
+                    if (chosen >= 0 && forest.union(from[chosen], to[chosen])) {
+                        resultGraph.addEdge(from[chosen], to[chosen], weights[chosen]);
+                        resultGraph.addEdge(to[chosen], from[chosen], storage.getWeight(to[chosen], from[chosen]));
+                        merged = true;
+                    }
+                }
+                if (!merged)
+                    break;
+
+                for (int i = 0; i < numVertices; i++)
+                    label[i] = forest.find(i);
+            }
+        } finally {
+            pool.shutdown();
+            from = to = active = liveCount = label = null;
+            weights = null;
+            best = null;
+        }
+        return resultGraph;
+    }
+
+    /**
+     * Moves the edges kept by each chunk to the front of the active array
+     *
+     * @param numChunks number of chunks
+     * @param numActive number of active edges before the scan
+     * @return number of active edges after the scan
+     */
+    private int compact(int numChunks, int numActive) {
+        int kept = 0;
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            System.arraycopy(active, chunk * CHUNK_SIZE, active, kept, liveCount[chunk]);
+            kept += liveCount[chunk];
+        }
+        return kept;
+    }
+
+    /**
+     * Checks if an edge comes before another in the order of weight and then position
+     */
+    private boolean lighter(int edge, int other) {
+        int comparison = Double.compare(weights[edge], weights[other]);
+        return comparison < 0 || (comparison == 0 && edge < other);
+    }
+
+    /**
+     * Offers an edge as the lightest edge leaving a component
+     *
+     * @param root root of the component
+     * @param edge position of the edge
+     */
+    private void offer(int root, int edge) {
+        while (true) {
+            int current = best.get(root) - 1;
+            if (current >= 0 && !lighter(edge, current))
+                return;
+            if (best.compareAndSet(root, current + 1, edge + 1))
+                return;
+        }
+    }
+
+    /**
+     * Scans a range of chunks of the active edges. Each chunk keeps, at its start, the edges that still join two
+     * components, and offers them to both components
+     */
+    private class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstChunk;
+        private final int lastChunk;
+        private final int numActive;
+
+        ScanTask(int firstChunk, int lastChunk, int numActive) {
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+            this.numActive = numActive;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastChunk - firstChunk > 1) {
+                int middle = (firstChunk + lastChunk) >>> 1;
+                invokeAll(new ScanTask(firstChunk, middle, numActive), new ScanTask(middle, lastChunk, numActive));
+                return;
+            }
+
+            int start = firstChunk * CHUNK_SIZE;
+            int end = Math.min(start + CHUNK_SIZE, numActive);
+            int kept = start;
+            for (int i = start; i < end; i++) {
+                int edge = active[i];
+                int fromRoot = label[from[edge]];
+                int toRoot = label[to[edge]];
+                if (fromRoot == toRoot)
+                    continue;
+
+                active[kept++] = edge;
+                offer(fromRoot, edge);
+                offer(toRoot, edge);
+            }
+            liveCount[firstChunk] = kept - start;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.Structures.Implementations;
+
+/**
+ * Decides how much a {@link Graph} or {@link Network} grows when it runs out of vertex slots.
+ * Doubling keeps the total copy cost linear in the final size; a fixed step copies everything every few vertices;
+ * exact growth only allocates what is asked for, which suits graphs that were pre-sized with the expected size.
+ */
+public class CapacityGrowth {
+
+    /**
+     * Kinds of growth.
+     */
+    public enum Kind {
+        DOUBLING,
+        FIXED_STEP,
+        EXACT
+    }
+
+    private final Kind kind;
+    private final int step;
+
+    private CapacityGrowth(Kind kind, int step) {
+        this.kind = kind;
+        this.step = step;
+    }
+
+    /**
+     * Growth that doubles the capacity
+     *
+     * @return {@link CapacityGrowth}
+     */
+    public static CapacityGrowth doubling() {
+        return new CapacityGrowth(Kind.DOUBLING, 0);
+    }
+
+    /**
+     * Growth that adds the same number of slots each time
+     *
+     * @param step number of slots to add
+     * @return {@link CapacityGrowth}
+     */
+    public static CapacityGrowth fixedStep(int step) {
+        if (step < 1)
+            throw new IllegalArgumentException("Growth step must be positive.");
+        return new CapacityGrowth(Kind.FIXED_STEP, step);
+    }
+
+    /**
+     * Growth to exactly the capacity that is needed
+     *
+     * @return {@link CapacityGrowth}
+     */
+    public static CapacityGrowth exact() {
+        return new CapacityGrowth(Kind.EXACT, 0);
+    }
+
+    /**
+     * Getter for the kind of growth
+     *
+     * @return kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the capacity to grow to
+     *
+     * @param currentCapacity  current capacity
+     * @param requiredCapacity smallest capacity that is needed
+     * @return new capacity, never smaller than requiredCapacity
+     */
+    public int nextCapacity(int currentCapacity, int requiredCapacity) {
+        long capacity;
+
+        switch (kind) {
+            case DOUBLING:
+                capacity = Math.max(1, (long) currentCapacity * 2);
+                break;
+            case FIXED_STEP:
+                capacity = (long) currentCapacity + step;
+                break;
+            default:
+                capacity = requiredCapacity;
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, requiredCapacity));
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.FIXED_STEP ? kind + "(" + step + ")" : kind.toString();
+    }
+}
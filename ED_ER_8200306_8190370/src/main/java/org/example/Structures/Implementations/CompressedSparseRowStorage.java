@@ -0,0 +1,558 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+
+import java.util.Arrays;
+
+/**
+ * {@link GraphStorage} in compressed sparse row form. The outgoing edges of vertex v are the positions
+ * offsets[v] to offsets[v + 1] - 1 of the targets and weights arrays, sorted by target, so memory is proportional
+ * to the number of edges and visiting the edges of a vertex only touches its real neighbours.
+ *
+ * The layout is meant for maps that are built once and then only read. New edges are buffered, with a hash table so
+ * that single weights can still be looked up and a list per vertex so that they are still visited after the edges in
+ * the arrays. They are merged into the arrays by {@link #mergePending()}, which setWeight also calls once the buffer
+ * outgrows an eighth of the arrays, so reads never change the storage and threads can read it together.
+ * Removed edges are left as gaps until there are more gaps than edges.
+ * Weights can be kept as floats to halve their memory, at the cost of float precision.
+ */
+public class CompressedSparseRowStorage implements GraphStorage {
+    protected final int DEFAULT_CAPACITY = 10;
+    private int numVertices;
+    private int numEdges;         // live edges in the arrays
+    private int numRemoved;       // removed edges still taking a position
+    private int[] offsets;        // vertex -> first position; offsets[numVertices] is the end of the arrays
+    private int[] targets;        // position -> target vertex
+    private double[] weights;     // position -> weight, when using double precision
+    private float[] floatWeights; // position -> weight, when using single precision
+    private final boolean singlePrecision;
+
+    private int numPending;       // edges added since the last merge
+    private int[] pendingFrom;
+    private int[] pendingTo;
+    private double[] pendingWeights;
+    private long[] pendingKeys;   // open addressing table of (source, target) keys, -1 if free
+    private int[] pendingSlots;   // table slot -> pending edge number
+    private int[] pendingFirst;   // vertex -> last pending edge added from it, -1 if none
+    private int[] pendingNext;    // pending edge number -> previous pending edge from the same vertex, -1 if none
+
+    /**
+     * Creates an empty {@link CompressedSparseRowStorage} with double precision weights
+     */
+    public CompressedSparseRowStorage() {
+        this(false);
+    }
+
+    /**
+     * Creates an empty {@link CompressedSparseRowStorage}
+     *
+     * @param singlePrecision true to keep the weights as floats; false to keep them as doubles
+     */
+    public CompressedSparseRowStorage(boolean singlePrecision) {
+        this.singlePrecision = singlePrecision;
+        this.numVertices = 0;
+        this.numEdges = 0;
+        this.numRemoved = 0;
+        this.offsets = new int[DEFAULT_CAPACITY + 1];
+        this.targets = new int[0];
+        if (singlePrecision)
+            this.floatWeights = new float[0];
+        else
+            this.weights = new double[0];
+
+        resetPending();
+    }
+
+    /**
+     * Creates a {@link CompressedSparseRowStorage} with double precision weights that takes over ready-made arrays,
+     * without copying them. The edges of vertex v are the positions offsets[v] to offsets[v + 1] - 1, with their
+     * targets in increasing order
+     *
+     * @param offsets one entry per vertex plus the end of the arrays
+     * @param targets target of each edge
+     * @param weights weight of each edge
+     * @throws IllegalArgumentException if the arrays do not describe a valid storage
+     */
+    public CompressedSparseRowStorage(int[] offsets, int[] targets, double[] weights) {
+        this(offsets, targets, weights, null);
+    }
+
+    /**
+     * Creates a {@link CompressedSparseRowStorage} with single precision weights that takes over ready-made arrays,
+     * without copying them. The edges of vertex v are the positions offsets[v] to offsets[v + 1] - 1, with their
+     * targets in increasing order
+     *
+     * @param offsets one entry per vertex plus the end of the arrays
+     * @param targets target of each edge
+     * @param weights weight of each edge
+     * @throws IllegalArgumentException if the arrays do not describe a valid storage
+     */
+    public CompressedSparseRowStorage(int[] offsets, int[] targets, float[] weights) {
+        this(offsets, targets, null, weights);
+    }
+
+    private CompressedSparseRowStorage(int[] offsets, int[] targets, double[] weights, float[] floatWeights) {
+        this.singlePrecision = floatWeights != null;
+        this.numVertices = offsets.length - 1;
+        this.numRemoved = 0;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.floatWeights = floatWeights;
+
+        int weightCount = singlePrecision ? floatWeights.length : weights.length;
+        if (numVertices < 0 || offsets[0] != 0 || offsets[numVertices] != targets.length
+                || weightCount != targets.length)
+            throw new IllegalArgumentException("Offsets, targets and weights do not match.");
+        for (int v = 0; v < numVertices; v++) {
+            if (offsets[v] > offsets[v + 1])
+                throw new IllegalArgumentException("Offsets must not decrease.");
+            for (int position = offsets[v]; position < offsets[v + 1]; position++) {
+                int target = targets[position];
+                if (target < 0 || target >= numVertices
+                        || (position > offsets[v] && target <= targets[position - 1]))
+                    throw new IllegalArgumentException("Targets must be valid and increasing within each vertex.");
+            }
+        }
+        this.numEdges = targets.length;
+
+        resetPending();
+    }
+
+    /**
+     * Checks if the weights are kept as floats
+     *
+     * @return true if single precision; false if double precision
+     */
+    public boolean isSinglePrecision() {
+        return singlePrecision;
+    }
+
+    @Override
+    public int size() {
+        return numVertices;
+    }
+
+    @Override
+    public int edgeCount() {
+        /** A pending edge is never also live in the arrays, since setWeight updates those in place */
+        return numEdges + numPending;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity + 1 <= offsets.length)
+            return;
+
+        int[] largerOffsets = new int[capacity + 1];
+        System.arraycopy(offsets, 0, largerOffsets, 0, numVertices + 1);
+        offsets = largerOffsets;
+
+        int[] largerPendingFirst = new int[capacity];
+        Arrays.fill(largerPendingFirst, -1);
+        System.arraycopy(pendingFirst, 0, largerPendingFirst, 0, numVertices);
+        pendingFirst = largerPendingFirst;
+    }
+
+    @Override
+    public void addVertex() {
+        if (numVertices + 1 == offsets.length)
+            ensureCapacity(numVertices * 2 + 1);
+
+        offsets[numVertices + 1] = offsets[numVertices];
+        numVertices++;
+    }
+
+    @Override
+    public void removeVertex(int index) {
+        if (index < 0 || index >= numVertices)
+            return;
+
+        mergePending();
+
+        int[] newTargets = new int[numEdges];
+        double[] newWeights = singlePrecision ? null : new double[numEdges];
+        float[] newFloatWeights = singlePrecision ? new float[numEdges] : null;
+        int position = 0;
+
+        for (int v = 0; v < numVertices; v++) {
+            int start = offsets[v];
+            int end = offsets[v + 1];
+            int newVertex = v < index ? v : v - 1;
+
+            if (v != index)
+                offsets[newVertex] = position;
+
+            for (int e = start; e < end; e++) {
+                int target = targets[e];
+                if (v == index || target == index || weightAt(e) == Double.POSITIVE_INFINITY)
+                    continue;
+                newTargets[position] = target < index ? target : target - 1;
+                if (singlePrecision)
+                    newFloatWeights[position] = floatWeights[e];
+                else
+                    newWeights[position] = weights[e];
+                position++;
+            }
+        }
+
+        numVertices--;
+        offsets[numVertices] = position;
+        targets = newTargets;
+        weights = newWeights;
+        floatWeights = newFloatWeights;
+        numEdges = position;
+        numRemoved = 0;
+    }
+
+    @Override
+    public double getWeight(int from, int to) {
+        int pending = findPending(from, to);
+        if (pending != -1)
+            return singlePrecision ? (float) pendingWeights[pending] : pendingWeights[pending];
+
+        int position = findPosition(from, to);
+        return position == -1 ? Double.POSITIVE_INFINITY : weightAt(position);
+    }
+
+    @Override
+    public void setWeight(int from, int to, double weight) {
+        if (weight == Double.POSITIVE_INFINITY) {
+            removeEdge(from, to);
+            return;
+        }
+
+        /** Edges already in the arrays are updated in place */
+        int position = findPosition(from, to);
+        if (position != -1) {
+            if (weightAt(position) == Double.POSITIVE_INFINITY) {
+                numRemoved--;
+                numEdges++;
+            }
+            setWeightAt(position, weight);
+            return;
+        }
+
+        /** An edge that is already pending only has its weight replaced */
+        int pending = findPending(from, to);
+        if (pending != -1) {
+            pendingWeights[pending] = weight;
+            return;
+        }
+
+        if (numPending == pendingFrom.length)
+            expandPending();
+
+        pendingFrom[numPending] = from;
+        pendingTo[numPending] = to;
+        pendingWeights[numPending] = weight;
+        pendingNext[numPending] = pendingFirst[from];
+        pendingFirst[from] = numPending;
+        insertPendingKey(numPending);
+        numPending++;
+
+        if (numPending > Math.max(DEFAULT_CAPACITY, (numVertices + numEdges) >> 3))
+            mergePending();
+    }
+
+    @Override
+    public void removeEdge(int from, int to) {
+        mergePending();
+
+        int position = findPosition(from, to);
+        if (position == -1 || weightAt(position) == Double.POSITIVE_INFINITY)
+            return;
+
+        setWeightAt(position, Double.POSITIVE_INFINITY);
+        numEdges--;
+        numRemoved++;
+
+        if (numRemoved > numEdges)
+            rebuild(0, null, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Cursors past the end of the arrays stand for pending edges, which are visited after the edges in the arrays
+     * and not in order of target
+     */
+    @Override
+    public int firstEdge(int vertex) {
+        int cursor = skipRemoved(vertex, offsets[vertex]);
+        return cursor != -1 ? cursor : firstPending(vertex);
+    }
+
+    @Override
+    public int nextEdge(int vertex, int cursor) {
+        if (cursor >= targets.length) {
+            int pending = pendingNext[cursor - targets.length];
+            return pending == -1 ? -1 : targets.length + pending;
+        }
+        int next = skipRemoved(vertex, cursor + 1);
+        return next != -1 ? next : firstPending(vertex);
+    }
+
+    @Override
+    public int edgeTarget(int vertex, int cursor) {
+        return cursor < targets.length ? targets[cursor] : pendingTo[cursor - targets.length];
+    }
+
+    @Override
+    public double edgeWeight(int vertex, int cursor) {
+        if (cursor < targets.length)
+            return weightAt(cursor);
+        double weight = pendingWeights[cursor - targets.length];
+        return singlePrecision ? (float) weight : weight;
+    }
+
+    @Override
+    public GraphStorage emptyCopy() {
+        return new CompressedSparseRowStorage(singlePrecision);
+    }
+
+    /**
+     * Returns the cursor of the last pending edge added from the vertex
+     *
+     * @param vertex vertex index
+     * @return cursor; -1 if the vertex has no pending edges
+     */
+    private int firstPending(int vertex) {
+        int pending = pendingFirst[vertex];
+        return pending == -1 ? -1 : targets.length + pending;
+    }
+
+    /**
+     * Returns the first position from the given one that holds a live edge of the vertex
+     *
+     * @param vertex   vertex index
+     * @param position first position to check
+     * @return position; -1 if there are no more edges
+     */
+    private int skipRemoved(int vertex, int position) {
+        int end = offsets[vertex + 1];
+        while (position < end && weightAt(position) == Double.POSITIVE_INFINITY)
+            position++;
+        return position < end ? position : -1;
+    }
+
+    /**
+     * Finds the position of an edge in the arrays with a binary search over the targets of its row
+     *
+     * @param from source vertex
+     * @param to   target vertex
+     * @return position, which may hold a removed edge; -1 if not found
+     */
+    private int findPosition(int from, int to) {
+        int low = offsets[from];
+        int high = offsets[from + 1] - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = targets[middle];
+            if (target < to)
+                low = middle + 1;
+            else if (target > to)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    private double weightAt(int position) {
+        return singlePrecision ? floatWeights[position] : weights[position];
+    }
+
+    private void setWeightAt(int position, double weight) {
+        if (singlePrecision)
+            floatWeights[position] = (float) weight;
+        else
+            weights[position] = weight;
+    }
+
+    /**
+     * Doubles the capacity of the pending edge buffer
+     */
+    private void expandPending() {
+        int capacity = pendingFrom.length * 2;
+        int[] largerFrom = new int[capacity];
+        int[] largerTo = new int[capacity];
+        double[] largerWeights = new double[capacity];
+        int[] largerNext = new int[capacity];
+
+        System.arraycopy(pendingFrom, 0, largerFrom, 0, numPending);
+        System.arraycopy(pendingTo, 0, largerTo, 0, numPending);
+        System.arraycopy(pendingWeights, 0, largerWeights, 0, numPending);
+        System.arraycopy(pendingNext, 0, largerNext, 0, numPending);
+
+        pendingFrom = largerFrom;
+        pendingTo = largerTo;
+        pendingWeights = largerWeights;
+        pendingNext = largerNext;
+
+        pendingKeys = new long[tableSizeFor(capacity)];
+        pendingSlots = new int[pendingKeys.length];
+        Arrays.fill(pendingKeys, -1);
+        for (int i = 0; i < numPending; i++)
+            insertPendingKey(i);
+    }
+
+    /**
+     * Empties the pending edge buffer and shrinks it back to its default capacity
+     */
+    private void resetPending() {
+        numPending = 0;
+        pendingFrom = new int[DEFAULT_CAPACITY];
+        pendingTo = new int[DEFAULT_CAPACITY];
+        pendingWeights = new double[DEFAULT_CAPACITY];
+        pendingNext = new int[DEFAULT_CAPACITY];
+        pendingKeys = new long[tableSizeFor(DEFAULT_CAPACITY)];
+        pendingSlots = new int[pendingKeys.length];
+        Arrays.fill(pendingKeys, -1);
+        pendingFirst = new int[offsets.length - 1];
+        Arrays.fill(pendingFirst, -1);
+    }
+
+    /**
+     * Finds the pending edge between two vertices
+     *
+     * @param from source vertex
+     * @param to   target vertex
+     * @return pending edge number; -1 if the edge is not pending
+     */
+    private int findPending(int from, int to) {
+        if (numPending == 0)
+            return -1;
+
+        long key = ((long) from << 32) | to;
+        int mask = pendingKeys.length - 1;
+        for (int slot = hashKey(key) & mask; pendingKeys[slot] != -1; slot = (slot + 1) & mask)
+            if (pendingKeys[slot] == key)
+                return pendingSlots[slot];
+        return -1;
+    }
+
+    /**
+     * Adds a pending edge to the hash table. The table is kept at most half full by expandPending
+     *
+     * @param pending pending edge number
+     */
+    private void insertPendingKey(int pending) {
+        long key = ((long) pendingFrom[pending] << 32) | pendingTo[pending];
+        int mask = pendingKeys.length - 1;
+        int slot = hashKey(key) & mask;
+        while (pendingKeys[slot] != -1)
+            slot = (slot + 1) & mask;
+        pendingKeys[slot] = key;
+        pendingSlots[slot] = pending;
+    }
+
+    /**
+     * Returns a power of two at least twice the given pending capacity
+     */
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity) << 2;
+    }
+
+    private static int hashKey(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    /**
+     * Merges the buffered edges into the arrays, if there are any, so that every edge is visited in order of target.
+     * Call it once a map has been built, before it is read
+     */
+    @Override
+    public void mergePending() {
+        if (numPending == 0)
+            return;
+
+        /** Stable counting sorts by target and then by source leave the
+         pending edges ordered by (source, target), with repeated edges
+         in the order they were added */
+        int[] order = new int[numPending];
+        int[] byTarget = new int[numPending];
+        int[] count = new int[numVertices + 1];
+
+        for (int i = 0; i < numPending; i++)
+            count[pendingTo[i] + 1]++;
+        for (int v = 0; v < numVertices; v++)
+            count[v + 1] += count[v];
+        for (int i = 0; i < numPending; i++)
+            byTarget[count[pendingTo[i]]++] = i;
+
+        for (int v = 0; v <= numVertices; v++)
+            count[v] = 0;
+        for (int i = 0; i < numPending; i++)
+            count[pendingFrom[i] + 1]++;
+        for (int v = 0; v < numVertices; v++)
+            count[v + 1] += count[v];
+        for (int i = 0; i < numPending; i++)
+            order[count[pendingFrom[byTarget[i]]]++] = byTarget[i];
+
+        rebuild(numPending, order, pendingFrom, pendingTo);
+        resetPending();
+    }
+
+    /**
+     * Rebuilds the arrays without removed edges, merging in the given pending edges
+     *
+     * @param numMerged number of pending edges to merge
+     * @param order     pending edge numbers sorted by (source, target)
+     * @param from      source of each pending edge
+     * @param to        target of each pending edge
+     */
+    private void rebuild(int numMerged, int[] order, int[] from, int[] to) {
+        int capacity = numEdges + numMerged;
+        int[] newTargets = new int[capacity];
+        double[] newWeights = singlePrecision ? null : new double[capacity];
+        float[] newFloatWeights = singlePrecision ? new float[capacity] : null;
+        int position = 0;
+        int next = 0;   // next pending edge in order
+
+        for (int v = 0; v < numVertices; v++) {
+            int e = offsets[v];
+            int end = offsets[v + 1];
+            offsets[v] = position;
+
+            while (e < end || (next < numMerged && from[order[next]] == v)) {
+                int target;
+                double weight;
+
+                boolean takePending = next < numMerged && from[order[next]] == v &&
+                        (e >= end || to[order[next]] <= targets[e]);
+                if (takePending) {
+                    target = to[order[next]];
+                    weight = pendingWeights[order[next]];
+                    next++;
+                    if (e < end && targets[e] == target)
+                        e++;    // the pending edge replaces the stored one
+                } else {
+                    target = targets[e];
+                    weight = weightAt(e);
+                    e++;
+                    if (weight == Double.POSITIVE_INFINITY)
+                        continue;
+                }
+
+                /** A later edge to the same target replaces an earlier one */
+                if (position > offsets[v] && newTargets[position - 1] == target)
+                    position--;
+
+                newTargets[position] = target;
+                if (singlePrecision)
+                    newFloatWeights[position] = (float) weight;
+                else
+                    newWeights[position] = weight;
+                position++;
+            }
+        }
+
+        offsets[numVertices] = position;
+        targets = newTargets;
+        weights = newWeights;
+        floatWeights = newFloatWeights;
+        numEdges = position;
+        numRemoved = 0;
+    }
+}
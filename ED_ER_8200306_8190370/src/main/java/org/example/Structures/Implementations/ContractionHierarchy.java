@@ -0,0 +1,584 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Contraction hierarchy of a {@link Network}, for fast shortest path queries on a map that no longer changes.
+ *
+ * Preprocessing contracts the vertices one at a time, least important first, where importance is twice the
+ * edge difference (shortcuts the contraction would add minus the edges it removes) plus the number of neighbours
+ * already contracted. Contracting a vertex v adds a shortcut u -> w for each pair of edges u -> v -> w unless a
+ * bounded witness search finds a path from u to w that avoids v and is no longer. Every vertex then gets a rank,
+ * and a shortest path always climbs to its highest ranked vertex and comes back down, so a query only runs a
+ * forward search over edges to higher ranks from the start and a backward search over edges from higher ranks into
+ * the target. Shortcuts remember the two edges they replace, so paths are unpacked into edges of the network.
+ *
+ * The hierarchy describes the network as it was when the hierarchy was built; {@link #isCurrent()} compares the
+ * version of the network with the one it was built for. Queries share search arrays, so they are synchronized.
+ *
+ * @param <T> type of the vertices of the network
+ */
+public class ContractionHierarchy<T> {
+    private static final int WITNESS_SETTLE_LIMIT = 250;   // vertices a witness search settles before giving up
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Network<T> network;
+    private final int numVertices;
+    private final int version;
+    private final int[] rank;   // vertex -> contraction order
+    private int numShortcuts;
+
+    /** Every edge and shortcut ever created. A shortcut keeps the
+     two edges it replaces; an edge of the network has -1 */
+    private int numEdges;
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private double[] edgeWeight;
+    private int[] edgeFirst;
+    private int[] edgeSecond;
+    private boolean[] edgeReplaced;   // true when a shorter edge between the same vertices was added
+
+    /** Search graph: upEdges holds, for each vertex, the edges to higher
+     ranked vertices; downEdges the edges into it from higher ranked ones */
+    private int[] upOffsets;
+    private int[] upEdges;
+    private int[] downOffsets;
+    private int[] downEdges;
+
+    /** Query state, reset in constant time by moving to a new stamp */
+    private final double[] forwardWeight;
+    private final double[] backwardWeight;
+    private final int[] forwardEdge;
+    private final int[] backwardEdge;
+    private final int[] forwardStamp;
+    private final int[] backwardStamp;
+    private int stamp;
+    private final IndexedMinHeap forwardHeap;
+    private final IndexedMinHeap backwardHeap;
+
+    /** Preprocessing state */
+    private int[][] outEdges;
+    private int[][] inEdges;
+    private int[] outCount;
+    private int[] inCount;
+    private double[] witnessWeight;
+    private int[] witnessStamp;
+    private IndexedMinHeap witnessHeap;
+
+    /**
+     * Builds the contraction hierarchy of a network
+     *
+     * @param network network to preprocess
+     */
+    public ContractionHierarchy(Network<T> network) {
+        this.network = network;
+        this.numVertices = network.size();
+        this.version = network.getVersion();
+        this.rank = new int[numVertices];
+
+        contract();
+
+        this.forwardWeight = new double[numVertices];
+        this.backwardWeight = new double[numVertices];
+        this.forwardEdge = new int[numVertices];
+        this.backwardEdge = new int[numVertices];
+        this.forwardStamp = new int[numVertices];
+        this.backwardStamp = new int[numVertices];
+        this.stamp = 0;
+        this.forwardHeap = new IndexedMinHeap(numVertices);
+        this.backwardHeap = new IndexedMinHeap(numVertices);
+    }
+
+    /**
+     * Getter for the version of the network the hierarchy was built for
+     *
+     * @return version of the network
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks if the network has not changed since the hierarchy was built
+     *
+     * @return true if the hierarchy still describes the network
+     */
+    public boolean isCurrent() {
+        return network.getVersion() == version;
+    }
+
+    /**
+     * Getter for the number of shortcuts added by the preprocessing
+     *
+     * @return number of shortcuts
+     */
+    public int getShortcutCount() {
+        return numShortcuts;
+    }
+
+    /**
+     * Returns the weight of the least weight path between two vertices
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return path weight; 0 if they are the same vertex; {@link Double}.POSITIVE_INFINITY if there is no path
+     */
+    public synchronized double distance(int startIndex, int targetIndex) {
+        if (!isValid(startIndex) || !isValid(targetIndex))
+            return Double.POSITIVE_INFINITY;
+
+        int meeting = search(startIndex, targetIndex);
+        return meeting == -1 ? Double.POSITIVE_INFINITY : forwardWeight[meeting] + backwardWeight[meeting];
+    }
+
+    /**
+     * Returns the weight of the least weight path between two vertices
+     *
+     * @param startVertex  starting vertex
+     * @param targetVertex target vertex
+     * @return path weight; 0 if they are the same vertex; {@link Double}.POSITIVE_INFINITY if there is no path
+     */
+    public double distance(T startVertex, T targetVertex) {
+        return distance(network.getIndex(startVertex), network.getIndex(targetVertex));
+    }
+
+    /**
+     * Returns the indices of the vertices in the least weight path between two vertices, with every shortcut
+     * unpacked into edges of the network
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return path indices, starting with startIndex; empty if there is no path
+     */
+    public synchronized int[] findPath(int startIndex, int targetIndex) {
+        if (!isValid(startIndex) || !isValid(targetIndex))
+            return new int[0];
+
+        int meeting = search(startIndex, targetIndex);
+        if (meeting == -1)
+            return new int[0];
+
+        /** Collect the edges of the upward path to the meeting vertex,
+         in order, then those of the downward path to the target */
+        int[] route = new int[DEFAULT_CAPACITY];
+        int routeLength = 0;
+        for (int index = meeting; index != startIndex; index = edgeFrom[forwardEdge[index]]) {
+            if (routeLength == route.length)
+                route = Arrays.copyOf(route, route.length * 2);
+            route[routeLength++] = forwardEdge[index];
+        }
+        reverse(route, routeLength);
+        for (int index = meeting; index != targetIndex; index = edgeTo[backwardEdge[index]]) {
+            if (routeLength == route.length)
+                route = Arrays.copyOf(route, route.length * 2);
+            route[routeLength++] = backwardEdge[index];
+        }
+
+        int[] path = new int[DEFAULT_CAPACITY];
+        int pathLength = 0;
+        path[pathLength++] = startIndex;
+        int[] stack = new int[DEFAULT_CAPACITY];
+        for (int r = 0; r < routeLength; r++) {
+            int depth = 0;
+            stack[depth++] = route[r];
+            while (depth > 0) {
+                int edge = stack[--depth];
+                if (edgeFirst[edge] == -1) {
+                    if (pathLength == path.length)
+                        path = Arrays.copyOf(path, path.length * 2);
+                    path[pathLength++] = edgeTo[edge];
+                } else {
+                    if (depth + 2 > stack.length)
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    stack[depth++] = edgeSecond[edge];
+                    stack[depth++] = edgeFirst[edge];
+                }
+            }
+        }
+        return Arrays.copyOf(path, pathLength);
+    }
+
+    /**
+     * Returns an iterator that contains the least weight path between two vertices
+     *
+     * @param startVertex  starting vertex
+     * @param targetVertex target vertex
+     * @return {@link Iterator}
+     */
+    public Iterator<T> iteratorPath(T startVertex, T targetVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        int[] path = findPath(network.getIndex(startVertex), network.getIndex(targetVertex));
+
+        for (int index : path)
+            resultList.addToRear(network.getVertex(index));
+        return resultList.iterator();
+    }
+
+    /**
+     * Runs the forward search from the start and the backward search from the target over the search graph, each
+     * step settling the vertex with the lower key, until neither search can find a path lighter than the best one
+     * through a vertex both have reached
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return vertex where the least weight path turns from upward to downward; -1 if there is no path
+     */
+    private int search(int startIndex, int targetIndex) {
+        nextStamp();
+        forwardHeap.clear();
+        backwardHeap.clear();
+        reach(forwardWeight, forwardEdge, forwardStamp, forwardHeap, startIndex, 0, -1);
+        reach(backwardWeight, backwardEdge, backwardStamp, backwardHeap, targetIndex, 0, -1);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (true) {
+            boolean forward = !forwardHeap.isEmpty() && forwardHeap.minKey() < best;
+            boolean backward = !backwardHeap.isEmpty() && backwardHeap.minKey() < best;
+            if (!forward && !backward)
+                break;
+            if (forward && backward)
+                forward = forwardHeap.minKey() <= backwardHeap.minKey();
+
+            if (forward) {
+                int index = forwardHeap.removeMin();
+                if (backwardStamp[index] == stamp && forwardWeight[index] + backwardWeight[index] < best) {
+                    best = forwardWeight[index] + backwardWeight[index];
+                    meeting = index;
+                }
+                for (int k = upOffsets[index]; k < upOffsets[index + 1]; k++) {
+                    int edge = upEdges[k];
+                    reach(forwardWeight, forwardEdge, forwardStamp, forwardHeap, edgeTo[edge],
+                            forwardWeight[index] + edgeWeight[edge], edge);
+                }
+            } else {
+                int index = backwardHeap.removeMin();
+                if (forwardStamp[index] == stamp && forwardWeight[index] + backwardWeight[index] < best) {
+                    best = forwardWeight[index] + backwardWeight[index];
+                    meeting = index;
+                }
+                for (int k = downOffsets[index]; k < downOffsets[index + 1]; k++) {
+                    int edge = downEdges[k];
+                    reach(backwardWeight, backwardEdge, backwardStamp, backwardHeap, edgeFrom[edge],
+                            backwardWeight[index] + edgeWeight[edge], edge);
+                }
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * Records a path to a vertex in one of the searches if it is the first or a lighter one
+     */
+    private void reach(double[] weights, int[] edges, int[] stamps, IndexedMinHeap heap, int index, double weight,
+                       int edge) {
+        if (stamps[index] == stamp && weights[index] <= weight)
+            return;
+        stamps[index] = stamp;
+        weights[index] = weight;
+        edges[index] = edge;
+        heap.insertOrDecrease(index, weight);
+    }
+
+    /**
+     * Moves the query state to a new stamp, clearing the stamps when they wrap around
+     */
+    private void nextStamp() {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(forwardStamp, 0);
+            Arrays.fill(backwardStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    private boolean isValid(int index) {
+        return index >= 0 && index < numVertices;
+    }
+
+    /**
+     * Contracts every vertex, in order of importance, and builds the search graph
+     */
+    private void contract() {
+        GraphStorage storage = network.getStorage();
+        int capacity = Math.max(DEFAULT_CAPACITY, storage.edgeCount() * 2);
+        edgeFrom = new int[capacity];
+        edgeTo = new int[capacity];
+        edgeWeight = new double[capacity];
+        edgeFirst = new int[capacity];
+        edgeSecond = new int[capacity];
+        edgeReplaced = new boolean[capacity];
+        numEdges = 0;
+        numShortcuts = 0;
+
+        outEdges = new int[numVertices][];
+        inEdges = new int[numVertices][];
+        outCount = new int[numVertices];
+        inCount = new int[numVertices];
+        witnessWeight = new double[numVertices];
+        witnessStamp = new int[numVertices];
+        witnessHeap = new IndexedMinHeap(numVertices);
+        stamp = 0;
+        for (int v = 0; v < numVertices; v++) {
+            outEdges[v] = new int[4];
+            inEdges[v] = new int[4];
+        }
+
+        for (int v = 0; v < numVertices; v++)
+            for (int e = storage.firstEdge(v); e != -1; e = storage.nextEdge(v, e)) {
+                int w = storage.edgeTarget(v, e);
+                if (w != v)
+                    addEdge(v, w, storage.edgeWeight(v, e), -1, -1);
+            }
+
+        int[] contractedNeighbours = new int[numVertices];
+        IndexedMinHeap order = new IndexedMinHeap(numVertices);
+        for (int v = 0; v < numVertices; v++)
+            order.insert(v, importance(v, contractedNeighbours));
+
+        /** Importance only changes around contracted vertices, so a vertex
+         whose importance went up since it was queued is queued again */
+        int[] lastUpdate = new int[numVertices];   // vertex -> 1 + last contracted neighbour it was updated for
+        int nextRank = 0;
+        while (!order.isEmpty()) {
+            int v = order.removeMin();
+            double importance = importance(v, contractedNeighbours);
+            if (!order.isEmpty() && importance > order.minKey()) {
+                order.insert(v, importance);
+                continue;
+            }
+
+            addShortcuts(v, false);
+            rank[v] = nextRank++;
+
+            /** Take v out of the graph that is left, so that the edges of
+             every vertex still to be contracted lead to vertices still to
+             be contracted */
+            for (int k = 0; k < outCount[v]; k++) {
+                int edge = outEdges[v][k];
+                removeEdge(inEdges, inCount, edgeTo[edge], edge);
+            }
+            for (int k = 0; k < inCount[v]; k++) {
+                int edge = inEdges[v][k];
+                removeEdge(outEdges, outCount, edgeFrom[edge], edge);
+            }
+            for (int k = 0; k < outCount[v]; k++)
+                updateNeighbour(edgeTo[outEdges[v][k]], v, lastUpdate, contractedNeighbours, order);
+            for (int k = 0; k < inCount[v]; k++)
+                updateNeighbour(edgeFrom[inEdges[v][k]], v, lastUpdate, contractedNeighbours, order);
+            outEdges[v] = null;
+            inEdges[v] = null;
+        }
+
+        buildSearchGraph();
+        outEdges = inEdges = null;
+        outCount = inCount = witnessStamp = null;
+        witnessWeight = null;
+        witnessHeap = null;
+        edgeReplaced = null;
+    }
+
+    /**
+     * Counts a newly contracted neighbour of a vertex and updates its importance, once per contracted vertex
+     */
+    private void updateNeighbour(int u, int v, int[] lastUpdate, int[] contractedNeighbours, IndexedMinHeap order) {
+        if (lastUpdate[u] == v + 1)
+            return;
+        lastUpdate[u] = v + 1;
+        contractedNeighbours[u]++;
+        order.changeKey(u, importance(u, contractedNeighbours));
+    }
+
+    /**
+     * Returns the importance of a vertex: twice the shortcuts its contraction would add minus the edges it would
+     * remove, plus its contracted neighbours, which spreads contractions evenly over the map
+     */
+    private double importance(int v, int[] contractedNeighbours) {
+        return 2 * (addShortcuts(v, true) - outCount[v] - inCount[v]) + contractedNeighbours[v];
+    }
+
+    /**
+     * Finds the shortcuts needed to contract a vertex, and adds them unless only counting
+     *
+     * @param v        vertex to contract
+     * @param simulate true to only count the shortcuts
+     * @return number of shortcuts
+     */
+    private int addShortcuts(int v, boolean simulate) {
+        int shortcuts = 0;
+        for (int i = 0; i < inCount[v]; i++) {
+            int in = inEdges[v][i];
+            int u = edgeFrom[in];
+
+            double maxWeight = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < outCount[v]; k++) {
+                int out = outEdges[v][k];
+                if (edgeTo[out] != u)
+                    maxWeight = Math.max(maxWeight, edgeWeight[in] + edgeWeight[out]);
+            }
+            if (maxWeight == Double.NEGATIVE_INFINITY)
+                continue;
+
+            witnessSearch(u, v, maxWeight);
+            for (int k = 0; k < outCount[v]; k++) {
+                int out = outEdges[v][k];
+                int w = edgeTo[out];
+                double weight = edgeWeight[in] + edgeWeight[out];
+                if (w == u || (witnessStamp[w] == stamp && witnessWeight[w] <= weight))
+                    continue;
+
+                shortcuts++;
+                if (!simulate)
+                    addShortcut(u, w, weight, in, out);
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * Runs Dijkstra from a vertex over the vertices not yet contracted, without going through the vertex being
+     * contracted, until paths get heavier than the given weight or enough vertices have been settled. The weights it
+     * leaves are those of real paths, so they may only prove that a shortcut is not needed
+     *
+     * @param source    source vertex
+     * @param excluded  vertex being contracted
+     * @param maxWeight heaviest path that matters
+     */
+    private void witnessSearch(int source, int excluded, double maxWeight) {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(witnessStamp, 0);
+            stamp = 1;
+        }
+        witnessHeap.clear();
+        witnessStamp[source] = stamp;
+        witnessWeight[source] = 0;
+        witnessHeap.insert(source, 0);
+
+        int settled = 0;
+        while (!witnessHeap.isEmpty() && witnessHeap.minKey() <= maxWeight && settled < WITNESS_SETTLE_LIMIT) {
+            int x = witnessHeap.removeMin();
+            settled++;
+            for (int k = 0; k < outCount[x]; k++) {
+                int edge = outEdges[x][k];
+                int y = edgeTo[edge];
+                if (y == excluded)
+                    continue;
+                double weight = witnessWeight[x] + edgeWeight[edge];
+                if (witnessStamp[y] != stamp || weight < witnessWeight[y]) {
+                    witnessStamp[y] = stamp;
+                    witnessWeight[y] = weight;
+                    witnessHeap.insertOrDecrease(y, weight);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a shortcut between two vertices, unless they already have an edge that is not heavier, in which case
+     * that one is kept; a heavier one is replaced
+     */
+    private void addShortcut(int u, int w, double weight, int first, int second) {
+        for (int k = 0; k < outCount[u]; k++) {
+            int edge = outEdges[u][k];
+            if (edgeTo[edge] == w) {
+                if (edgeWeight[edge] <= weight)
+                    return;
+                edgeReplaced[edge] = true;
+                removeEdge(outEdges, outCount, u, edge);
+                removeEdge(inEdges, inCount, w, edge);
+                break;
+            }
+        }
+        addEdge(u, w, weight, first, second);
+        numShortcuts++;
+    }
+
+    /**
+     * Removes an edge from the adjacency list of a vertex, moving the last edge of the list into its place
+     */
+    private static void removeEdge(int[][] lists, int[] counts, int vertex, int edge) {
+        int[] list = lists[vertex];
+        for (int k = 0; k < counts[vertex]; k++)
+            if (list[k] == edge) {
+                list[k] = list[--counts[vertex]];
+                return;
+            }
+    }
+
+    /**
+     * Adds an edge or shortcut to the edge table and to the adjacency of its ends
+     */
+    private void addEdge(int from, int to, double weight, int first, int second) {
+        if (numEdges == edgeFrom.length) {
+            int capacity = edgeFrom.length * 2;
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+            edgeFirst = Arrays.copyOf(edgeFirst, capacity);
+            edgeSecond = Arrays.copyOf(edgeSecond, capacity);
+            edgeReplaced = Arrays.copyOf(edgeReplaced, capacity);
+        }
+        int edge = numEdges++;
+        edgeFrom[edge] = from;
+        edgeTo[edge] = to;
+        edgeWeight[edge] = weight;
+        edgeFirst[edge] = first;
+        edgeSecond[edge] = second;
+
+        if (outCount[from] == outEdges[from].length)
+            outEdges[from] = Arrays.copyOf(outEdges[from], outCount[from] * 2);
+        outEdges[from][outCount[from]++] = edge;
+        if (inCount[to] == inEdges[to].length)
+            inEdges[to] = Arrays.copyOf(inEdges[to], inCount[to] * 2);
+        inEdges[to][inCount[to]++] = edge;
+    }
+
+    /**
+     * Splits the edges that were not replaced into the upward edges of their lower ranked end, when they go up, and
+     * the downward edges of their lower ranked end, when they come down into it
+     */
+    private void buildSearchGraph() {
+        upOffsets = new int[numVertices + 1];
+        downOffsets = new int[numVertices + 1];
+        for (int e = 0; e < numEdges; e++) {
+            if (edgeReplaced[e])
+                continue;
+            if (rank[edgeTo[e]] > rank[edgeFrom[e]])
+                upOffsets[edgeFrom[e] + 1]++;
+            else
+                downOffsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < numVertices; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+
+        upEdges = new int[upOffsets[numVertices]];
+        downEdges = new int[downOffsets[numVertices]];
+        int[] upFill = Arrays.copyOf(upOffsets, numVertices);
+        int[] downFill = Arrays.copyOf(downOffsets, numVertices);
+        for (int e = 0; e < numEdges; e++) {
+            if (edgeReplaced[e])
+                continue;
+            if (rank[edgeTo[e]] > rank[edgeFrom[e]])
+                upEdges[upFill[edgeFrom[e]]++] = e;
+            else
+                downEdges[downFill[edgeTo[e]]++] = e;
+        }
+    }
+
+    /**
+     * Reverses the first elements of an array
+     */
+    private static void reverse(int[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.Structures.Implementations;
+
+/**
+ * Disjoint sets of the indices 0 to size - 1, also known as union-find. Each set is a tree of parent links whose
+ * root names the set; find compresses the path it walks and union hangs the shallower tree under the deeper one,
+ * so any sequence of operations runs in nearly constant amortized time per operation.
+ */
+public class DisjointSet {
+    private int[] parent;   // index -> parent index; a root is its own parent
+    private byte[] rank;    // root -> upper bound of the height of its tree
+    private int numElements;
+    private int numSets;
+
+    /**
+     * Creates a {@link DisjointSet} where every index is alone in its set
+     *
+     * @param size number of indices
+     */
+    public DisjointSet(int size) {
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        this.numElements = size;
+        this.numSets = size;
+
+        for (int i = 0; i < size; i++)
+            parent[i] = i;
+    }
+
+    /**
+     * Returns the number of indices
+     *
+     * @return number of indices
+     */
+    public int size() {
+        return numElements;
+    }
+
+    /**
+     * Adds a new index in a set of its own
+     *
+     * @return the new index
+     */
+    public int add() {
+        if (numElements == parent.length) {
+            int capacity = Math.max(1, parent.length * 2);
+            int[] largerParent = new int[capacity];
+            byte[] largerRank = new byte[capacity];
+            System.arraycopy(parent, 0, largerParent, 0, numElements);
+            System.arraycopy(rank, 0, largerRank, 0, numElements);
+            parent = largerParent;
+            rank = largerRank;
+        }
+
+        parent[numElements] = numElements;
+        rank[numElements] = 0;
+        numSets++;
+        return numElements++;
+    }
+
+    /**
+     * Returns the number of disjoint sets
+     *
+     * @return number of sets
+     */
+    public int count() {
+        return numSets;
+    }
+
+    /**
+     * Returns the root of the set of an index, pointing every index on the way straight at the root
+     *
+     * @param index index
+     * @return root of its set
+     */
+    public int find(int index) {
+        int root = index;
+        while (parent[root] != root)
+            root = parent[root];
+
+        while (parent[index] != root) {
+            int next = parent[index];
+            parent[index] = root;
+            index = next;
+        }
+        return root;
+    }
+
+    /**
+     * Joins the sets of two indices
+     *
+     * @param first  first index
+     * @param second second index
+     * @return true if they were in different sets; false if they were already in the same set
+     */
+    public boolean union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if (firstRoot == secondRoot)
+            return false;
+
+        if (rank[firstRoot] < rank[secondRoot]) {
+            parent[firstRoot] = secondRoot;
+        } else if (rank[firstRoot] > rank[secondRoot]) {
+            parent[secondRoot] = firstRoot;
+        } else {
+            parent[secondRoot] = firstRoot;
+            rank[firstRoot]++;
+        }
+        numSets--;
+        return true;
+    }
+
+    /**
+     * Checks if two indices are in the same set
+     *
+     * @param first  first index
+     * @param second second index
+     * @return true if they are in the same set
+     */
+    public boolean connected(int first, int second) {
+        return find(first) == find(second);
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Exceptions.EmptyCollectionException;
+
+/**
+ * Binary min heap of primitive doubles kept in a contiguous array. It has the heap operations of
+ * {@link ArrayHeap}{@code <Double>} without boxing each value, for code such as Prim's algorithm that only orders
+ * weights.
+ */
+public class DoubleMinHeap {
+    protected final int DEFAULT_CAPACITY = 10;
+    private double[] tree;
+    private int count;
+
+    /**
+     * Creates an empty {@link DoubleMinHeap}
+     */
+    public DoubleMinHeap() {
+        this.tree = new double[DEFAULT_CAPACITY];
+        this.count = 0;
+    }
+
+    /**
+     * Adds a value to the heap
+     *
+     * @param value value to be added
+     */
+    public void addElement(double value) {
+        if (count == tree.length) {
+            double[] larger = new double[tree.length * 2 + 1];
+            System.arraycopy(tree, 0, larger, 0, count);
+            tree = larger;
+        }
+
+        int index = count++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (Double.compare(value, tree[parent]) >= 0)
+                break;
+            tree[index] = tree[parent];
+            index = parent;
+        }
+        tree[index] = value;
+    }
+
+    /**
+     * Removes the lowest value in the heap and returns it
+     *
+     * @return lowest value
+     * @throws EmptyCollectionException thrown if the heap is empty
+     */
+    public double removeMin() throws EmptyCollectionException {
+        if (isEmpty())
+            throw new EmptyCollectionException("Empty Heap");
+
+        double minValue = tree[0];
+        double last = tree[--count];
+
+        int index = 0;
+        int half = count >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < count && Double.compare(tree[child + 1], tree[child]) < 0)
+                child++;
+            if (Double.compare(last, tree[child]) <= 0)
+                break;
+            tree[index] = tree[child];
+            index = child;
+        }
+        tree[index] = last;
+
+        return minValue;
+    }
+
+    /**
+     * Finds the lowest value in the heap
+     *
+     * @return lowest value
+     * @throws EmptyCollectionException thrown if the heap is empty
+     */
+    public double findMin() throws EmptyCollectionException {
+        if (isEmpty())
+            throw new EmptyCollectionException("Empty Heap");
+
+        return tree[0];
+    }
+
+    /**
+     * Removes all values from the heap
+     */
+    public void removeAllElements() {
+        count = 0;
+    }
+
+    /**
+     * Checks if the heap is empty
+     *
+     * @return true if empty; false if not empty
+     */
+    public boolean isEmpty() {
+        return (count == 0);
+    }
+
+    /**
+     * Gets heap size
+     *
+     * @return size
+     */
+    public int size() {
+        return count;
+    }
+}
@@ -0,0 +1,397 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.EdgeChangeListener;
+import org.example.Structures.Interfaces.GraphStorage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Shortest paths between one root vertex and every vertex of a {@link Network}, kept up to date as the network
+ * changes. Built with {@link #from(Network, int)} it holds the paths from the root to every vertex; built with
+ * {@link #to(Network, int)} the paths from every vertex to the root, so all the bots heading for the same target
+ * share one structure.
+ *
+ * It listens to the edge changes of the network and repairs only the part of the shortest path tree that a change
+ * reaches, in the manner of Ramalingam and Reps. A cheaper or new edge u -> v that shortens the path to v runs
+ * Dijkstra's algorithm from v, over the vertices it gets closer to. A dearer or removed edge only matters if it is
+ * the tree edge into v: the subtree under v is then cut off, each of its vertices takes the best path through an
+ * incoming edge from outside the subtree, and Dijkstra's algorithm settles the subtree from there. Removing a vertex
+ * moves the indices, so it computes every path again.
+ *
+ * Paths are searched over adjacency lists of both directions kept by the structure, so it never rescans the whole
+ * network after a change. Call {@link #detach()} to stop following the network.
+ *
+ * @param <T> type of the vertices of the network
+ */
+public class DynamicShortestPaths<T> implements EdgeChangeListener {
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private final Network<T> network;
+    private final boolean reversed;   // true when paths lead to the root, searched over reversed edges
+    private int root;
+    private int numVertices;
+    private double[] distances;   // path weight between the root and each vertex
+    private int[] parent;         // neighbour of each vertex on its path towards the root; -1 for none
+    private int lastRepairSize;
+
+    /** Edges of the searched direction: searchTargets[v] holds the
+     vertices the search can reach from v; backTargets[v] the vertices
+     it can reach v from. Weights are kept alongside */
+    private int[][] searchTargets;
+    private double[][] searchWeights;
+    private int[] searchCount;
+    private int[][] backTargets;
+    private double[][] backWeights;
+    private int[] backCount;
+
+    private IndexedMinHeap heap;
+    private int[] stamps;   // vertex -> stamp of the last repair that cut it off
+    private int stamp;
+    private int[] queue;
+
+    /**
+     * Creates the structure and subscribes it to the changes of the network
+     *
+     * @param network  network to follow
+     * @param root     root index
+     * @param reversed true for the paths to the root; false for the paths from it
+     */
+    private DynamicShortestPaths(Network<T> network, int root, boolean reversed) {
+        this.network = network;
+        this.reversed = reversed;
+        this.root = root >= 0 && root < network.size() ? root : -1;
+        rebuild();
+        network.addEdgeChangeListener(this);
+    }
+
+    /**
+     * Follows the shortest paths from a source to every vertex of a network
+     *
+     * @param network     network to follow
+     * @param sourceIndex source index
+     * @param <T>         type of the vertices of the network
+     * @return {@link DynamicShortestPaths}; with no reachable vertex if the index is not valid
+     */
+    public static <T> DynamicShortestPaths<T> from(Network<T> network, int sourceIndex) {
+        return new DynamicShortestPaths<>(network, sourceIndex, false);
+    }
+
+    /**
+     * Follows the shortest paths from every vertex of a network to a target
+     *
+     * @param network     network to follow
+     * @param targetIndex target index
+     * @param <T>         type of the vertices of the network
+     * @return {@link DynamicShortestPaths}; with no reachable vertex if the index is not valid
+     */
+    public static <T> DynamicShortestPaths<T> to(Network<T> network, int targetIndex) {
+        return new DynamicShortestPaths<>(network, targetIndex, true);
+    }
+
+    /**
+     * Stops following the changes of the network. The paths stay as they were
+     */
+    public void detach() {
+        network.removeEdgeChangeListener(this);
+    }
+
+    /**
+     * Getter for the root index, which follows the root when earlier vertices are removed
+     *
+     * @return root index; -1 if the root was removed or was never valid
+     */
+    public int getRoot() {
+        return root;
+    }
+
+    /**
+     * Checks if the paths lead to the root rather than away from it
+     *
+     * @return true for paths to the root
+     */
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * Getter for the number of vertices whose path was searched again by the last change to the network
+     *
+     * @return number of vertices repaired; the number of vertices after a full rebuild
+     */
+    public int getLastRepairSize() {
+        return lastRepairSize;
+    }
+
+    /**
+     * Returns the weight of the least weight path between the root and a vertex
+     *
+     * @param index vertex index
+     * @return path weight; 0 for the root; {@link Double}.POSITIVE_INFINITY if there is no path
+     */
+    public double distance(int index) {
+        if (index < 0 || index >= numVertices)
+            return Double.POSITIVE_INFINITY;
+        return distances[index];
+    }
+
+    /**
+     * Returns the weight of the least weight path between the root and a vertex
+     *
+     * @param vertex vertex
+     * @return path weight; 0 for the root; {@link Double}.POSITIVE_INFINITY if there is no path
+     */
+    public double distance(T vertex) {
+        return distance(network.getIndex(vertex));
+    }
+
+    /**
+     * Returns the indices of the vertices in the least weight path between the root and a vertex, in the order they
+     * are travelled
+     *
+     * @param index vertex index
+     * @return path indices, from the root to the vertex, or from the vertex to the root when reversed; empty if
+     * there is no path
+     */
+    public int[] path(int index) {
+        if (distance(index) == Double.POSITIVE_INFINITY)
+            return new int[0];
+
+        int length = 1;
+        for (int i = index; i != root; i = parent[i])
+            length++;
+
+        int[] result = new int[length];
+        for (int k = 0, i = index; k < length; k++, i = parent[i])
+            result[reversed ? k : length - 1 - k] = i;
+        return result;
+    }
+
+    /**
+     * Returns an iterator that contains the least weight path between the root and a vertex, in the order it is
+     * travelled
+     *
+     * @param vertex vertex
+     * @return {@link Iterator}; empty if there is no path
+     */
+    public Iterator<T> iteratorPath(T vertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        for (int index : path(network.getIndex(vertex)))
+            resultList.addToRear(network.getVertex(index));
+        return resultList.iterator();
+    }
+
+    @Override
+    public void edgeChanged(int fromIndex, int toIndex, double oldWeight, double newWeight) {
+        /** In the searched direction, paths to the root run along
+         reversed edges */
+        int u = reversed ? toIndex : fromIndex;
+        int v = reversed ? fromIndex : toIndex;
+        setEdge(searchTargets, searchWeights, searchCount, u, v, newWeight);
+        setEdge(backTargets, backWeights, backCount, v, u, newWeight);
+        lastRepairSize = 0;
+        if (root == -1)
+            return;
+
+        if (newWeight < oldWeight) {
+            if (distances[u] + newWeight < distances[v]) {
+                distances[v] = distances[u] + newWeight;
+                parent[v] = u;
+                heap.insert(v, distances[v]);
+                settle();
+            }
+        } else if (parent[v] == u) {
+            repairSubtree(v);
+        }
+    }
+
+    @Override
+    public void vertexAdded(int index) {
+        if (numVertices == distances.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, 2 * distances.length);
+            distances = Arrays.copyOf(distances, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            searchTargets = Arrays.copyOf(searchTargets, capacity);
+            searchWeights = Arrays.copyOf(searchWeights, capacity);
+            searchCount = Arrays.copyOf(searchCount, capacity);
+            backTargets = Arrays.copyOf(backTargets, capacity);
+            backWeights = Arrays.copyOf(backWeights, capacity);
+            backCount = Arrays.copyOf(backCount, capacity);
+            stamps = Arrays.copyOf(stamps, capacity);
+            queue = new int[capacity];
+            heap = new IndexedMinHeap(capacity);
+        }
+
+        distances[index] = Double.POSITIVE_INFINITY;
+        parent[index] = -1;
+        searchTargets[index] = new int[DEFAULT_CAPACITY];
+        searchWeights[index] = new double[DEFAULT_CAPACITY];
+        searchCount[index] = 0;
+        backTargets[index] = new int[DEFAULT_CAPACITY];
+        backWeights[index] = new double[DEFAULT_CAPACITY];
+        backCount[index] = 0;
+        stamps[index] = 0;
+        numVertices++;
+        lastRepairSize = 0;
+    }
+
+    @Override
+    public void vertexRemoved(int index) {
+        if (index == root)
+            root = -1;
+        else if (index < root)
+            root--;
+        rebuild();
+    }
+
+    /**
+     * Copies the edges of the network into the adjacency lists and searches every path from scratch
+     */
+    private void rebuild() {
+        numVertices = network.size();
+        int capacity = Math.max(DEFAULT_CAPACITY, numVertices);
+        distances = new double[capacity];
+        parent = new int[capacity];
+        searchTargets = new int[capacity][];
+        searchWeights = new double[capacity][];
+        searchCount = new int[capacity];
+        backTargets = new int[capacity][];
+        backWeights = new double[capacity][];
+        backCount = new int[capacity];
+        stamps = new int[capacity];
+        stamp = 0;
+        queue = new int[capacity];
+        heap = new IndexedMinHeap(capacity);
+
+        for (int i = 0; i < numVertices; i++) {
+            searchTargets[i] = new int[DEFAULT_CAPACITY];
+            searchWeights[i] = new double[DEFAULT_CAPACITY];
+            backTargets[i] = new int[DEFAULT_CAPACITY];
+            backWeights[i] = new double[DEFAULT_CAPACITY];
+        }
+        GraphStorage storage = network.getStorage();
+        for (int i = 0; i < numVertices; i++)
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                int u = reversed ? storage.edgeTarget(i, e) : i;
+                int v = reversed ? i : storage.edgeTarget(i, e);
+                double weight = storage.edgeWeight(i, e);
+                appendEdge(searchTargets, searchWeights, searchCount, u, v, weight);
+                appendEdge(backTargets, backWeights, backCount, v, u, weight);
+            }
+
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        lastRepairSize = numVertices;
+        if (root == -1)
+            return;
+
+        distances[root] = 0;
+        heap.insert(root, 0);
+        settle();
+        lastRepairSize = numVertices;
+    }
+
+    /**
+     * Cuts off the subtree under a vertex whose tree edge got dearer or was removed, and searches its paths again
+     *
+     * @param subtreeRoot vertex whose path got longer
+     */
+    private void repairSubtree(int subtreeRoot) {
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+
+        /** Tree edges are edges of the searched direction, so the subtree
+         is found by following them from its root */
+        int size = 0;
+        queue[size++] = subtreeRoot;
+        stamps[subtreeRoot] = stamp;
+        for (int head = 0; head < size; head++) {
+            int x = queue[head];
+            for (int k = 0; k < searchCount[x]; k++) {
+                int y = searchTargets[x][k];
+                if (parent[y] == x && stamps[y] != stamp) {
+                    stamps[y] = stamp;
+                    queue[size++] = y;
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            distances[queue[i]] = Double.POSITIVE_INFINITY;
+            parent[queue[i]] = -1;
+        }
+
+        /** Paths into the subtree from the rest of the tree are final, so
+         each cut off vertex starts from its best one */
+        for (int i = 0; i < size; i++) {
+            int x = queue[i];
+            for (int k = 0; k < backCount[x]; k++) {
+                int y = backTargets[x][k];
+                double weight = distances[y] + backWeights[x][k];
+                if (stamps[y] != stamp && weight < distances[x]) {
+                    distances[x] = weight;
+                    parent[x] = y;
+                }
+            }
+            if (distances[x] != Double.POSITIVE_INFINITY)
+                heap.insert(x, distances[x]);
+        }
+        settle();
+        lastRepairSize = size;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the vertices in the heap, relaxing only the edges that shorten a path
+     */
+    private void settle() {
+        while (!heap.isEmpty()) {
+            int x = heap.removeMin();
+            lastRepairSize++;
+            for (int k = 0; k < searchCount[x]; k++) {
+                int y = searchTargets[x][k];
+                double weight = distances[x] + searchWeights[x][k];
+                if (weight < distances[y]) {
+                    distances[y] = weight;
+                    parent[y] = x;
+                    heap.insertOrDecrease(y, weight);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds, reweighs or removes the edge from one vertex to another in a set of adjacency lists
+     *
+     * @param weight new weight; {@link Double}.POSITIVE_INFINITY to remove the edge
+     */
+    private static void setEdge(int[][] targets, double[][] weights, int[] counts, int from, int to,
+                                double weight) {
+        int[] list = targets[from];
+        for (int k = 0; k < counts[from]; k++)
+            if (list[k] == to) {
+                if (weight == Double.POSITIVE_INFINITY) {
+                    counts[from]--;
+                    list[k] = list[counts[from]];
+                    weights[from][k] = weights[from][counts[from]];
+                } else {
+                    weights[from][k] = weight;
+                }
+                return;
+            }
+        if (weight != Double.POSITIVE_INFINITY)
+            appendEdge(targets, weights, counts, from, to, weight);
+    }
+
+    private static void appendEdge(int[][] targets, double[][] weights, int[] counts, int from, int to,
+                                   double weight) {
+        if (counts[from] == targets[from].length) {
+            targets[from] = Arrays.copyOf(targets[from], 2 * counts[from]);
+            weights[from] = Arrays.copyOf(weights[from], 2 * counts[from]);
+        }
+        targets[from][counts[from]] = to;
+        weights[from][counts[from]] = weight;
+        counts[from]++;
+    }
+}
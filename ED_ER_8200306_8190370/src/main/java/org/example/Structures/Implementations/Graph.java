@@ -3,22 +3,43 @@ package org.example.Structures.Implementations;
 
 
 import org.example.Structures.Interfaces.GraphADT;
+import org.example.Structures.Interfaces.GraphVisitor;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 public class Graph<T> implements GraphADT<T> {
     protected final int DEFAULT_CAPACITY = 10;
+    protected static final int BOTTOM_UP_RATIO = 14;   // frontier share of the unvisited vertices that turns a search bottom-up
+    protected static final int TOP_DOWN_RATIO = 24;   // frontier share of all vertices that turns it back top-down
     protected int numVertices;   // number of vertices in the graph
-    protected boolean[][] adjMatrix;   // adjacency matrix
+    protected BitMatrix adjMatrix;   // adjacency matrix, one bit per edge
     protected T[] vertices;   // values of vertices
+    protected VertexIndexMap<T> vertexIndex;   // index of each vertex value
+    protected boolean vertexIndexStale;   // true when vertexIndex must be rebuilt before the next lookup
+    protected CapacityGrowth capacityGrowth;   // how the capacity grows when full
 
     /**
      * Creates an empty graph
      */
     public Graph() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty graph with room for the expected number of vertices, so that it does not grow while they are
+     * added
+     *
+     * @param expectedVertices expected number of vertices
+     */
+    public Graph(int expectedVertices) {
+        int capacity = Math.max(DEFAULT_CAPACITY, expectedVertices);
         numVertices = 0;
-        this.adjMatrix = new boolean[DEFAULT_CAPACITY][DEFAULT_CAPACITY];
-        this.vertices = (T[]) (new Object[DEFAULT_CAPACITY]);
+        this.adjMatrix = new BitMatrix(capacity);
+        this.vertices = (T[]) (new Object[capacity]);
+        this.vertexIndex = new VertexIndexMap<>();
+        this.vertexIndex.ensureCapacity(capacity);
+        this.capacityGrowth = CapacityGrowth.doubling();
     }
 
     /**
@@ -47,7 +68,7 @@ public class Graph<T> implements GraphADT<T> {
             result += "" + i + "\t";
 
             for (int j = 0; j < numVertices; j++) {
-                if (adjMatrix[i][j])
+                if (adjMatrix.get(i, j))
                     result += "1 ";
                 else
                     result += "0 ";
@@ -75,8 +96,8 @@ public class Graph<T> implements GraphADT<T> {
      */
     public void addEdge(int index1, int index2) {
         if (indexIsValid(index1) && indexIsValid(index2)) {
-            adjMatrix[index1][index2] = true;
-            adjMatrix[index2][index1] = true;
+            adjMatrix.set(index1, index2);
+            adjMatrix.set(index2, index1);
         }
     }
 
@@ -88,8 +109,8 @@ public class Graph<T> implements GraphADT<T> {
      */
     public void removeEdge(int index1, int index2) {
         if (indexIsValid(index1) && indexIsValid(index2)) {
-            adjMatrix[index1][index2] = false;
-            adjMatrix[index2][index1] = false;
+            adjMatrix.clear(index1, index2);
+            adjMatrix.clear(index2, index1);
         }
     }
 
@@ -122,10 +143,7 @@ public class Graph<T> implements GraphADT<T> {
             expandCapacity();
 
         vertices[numVertices] = null;
-        for (int i = 0; i <= numVertices; i++) {
-            adjMatrix[numVertices][i] = false;
-            adjMatrix[i][numVertices] = false;
-        }
+        adjMatrix.clearRowAndColumn(numVertices, numVertices);
         numVertices++;
     }
 
@@ -141,10 +159,8 @@ public class Graph<T> implements GraphADT<T> {
             expandCapacity();
 
         vertices[numVertices] = vertex;
-        for (int i = 0; i <= numVertices; i++) {
-            adjMatrix[numVertices][i] = false;
-            adjMatrix[i][numVertices] = false;
-        }
+        indexVertex(numVertices);
+        adjMatrix.clearRowAndColumn(numVertices, numVertices);
         numVertices++;
     }
 
@@ -155,18 +171,15 @@ public class Graph<T> implements GraphADT<T> {
      */
     public void removeVertex(int index) {
         if (indexIsValid(index)) {
+            unindexVertex(index);
             numVertices--;
 
             for (int i = index; i < numVertices; i++)
                 vertices[i] = vertices[i + 1];
+            vertices[numVertices] = null;
+            reindexVertices(index);
 
-            for (int i = index; i < numVertices; i++)
-                for (int j = 0; j <= numVertices; j++)
-                    adjMatrix[i][j] = adjMatrix[i + 1][j];
-
-            for (int i = index; i < numVertices; i++)
-                for (int j = 0; j < numVertices; j++)
-                    adjMatrix[j][i] = adjMatrix[j][i + 1];
+            adjMatrix.removeIndex(index, numVertices + 1);
         }
     }
 
@@ -177,12 +190,9 @@ public class Graph<T> implements GraphADT<T> {
      * @param vertex vertex to be removed
      */
     public void removeVertex(T vertex) {
-        for (int i = 0; i < numVertices; i++) {
-            if (vertex.equals(vertices[i])) {
-                removeVertex(i);
-                return;
-            }
-        }
+        int index = getIndex(vertex);
+        if (index != -1)
+            removeVertex(index);
     }
 
     /**
@@ -196,31 +206,27 @@ public class Graph<T> implements GraphADT<T> {
         boolean found;
         LinkedStack<Integer> traversalStack = new LinkedStack<Integer>();
         ArrayUnorderedList<T> resultList = new ArrayUnorderedList<T>();
-        boolean[] visited = new boolean[numVertices];
+        long[] visited = new long[BitMatrix.wordsFor(numVertices)];
 
         if (!indexIsValid(startIndex))
             return resultList.iterator();
 
-        for (int i = 0; i < numVertices; i++)
-            visited[i] = false;
-
         traversalStack.push(startIndex);
         resultList.addToRear(vertices[startIndex]);
-        visited[startIndex] = true;
+        setBit(visited, startIndex);
 
         while (!traversalStack.isEmpty()) {
             x = traversalStack.peek();
             found = false;
 
             /** Find a vertex adjacent to x that has not been visited
-             and push it on the stack */
-            for (int i = 0; (i < numVertices) && !found; i++) {
-                if (adjMatrix[x.intValue()][i] && !visited[i]) {
-                    traversalStack.push(i);
-                    resultList.addToRear(vertices[i]);
-                    visited[i] = true;
-                    found = true;
-                }
+             and push it on the stack, 64 candidates at a time */
+            int i = adjMatrix.nextSetBitNotIn(x, visited, 0);
+            if (i != -1) {
+                traversalStack.push(i);
+                resultList.addToRear(vertices[i]);
+                setBit(visited, i);
+                found = true;
             }
             if (!found && !traversalStack.isEmpty())
                 traversalStack.pop();
@@ -252,12 +258,10 @@ public class Graph<T> implements GraphADT<T> {
         if (!indexIsValid(startIndex))
             return resultList.iterator();
 
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++)
-            visited[i] = false;
+        long[] visited = new long[BitMatrix.wordsFor(numVertices)];
 
         traversalQueue.enqueue(startIndex);
-        visited[startIndex] = true;
+        setBit(visited, startIndex);
 
         while (!traversalQueue.isEmpty()) {
             x = traversalQueue.dequeue();
@@ -265,12 +269,7 @@ public class Graph<T> implements GraphADT<T> {
 
             /** Find all vertices adjacent to x that have not been visited
              and queue them up */
-            for (int i = 0; i < numVertices; i++) {
-                if (adjMatrix[x][i] && !visited[i]) {
-                    traversalQueue.enqueue(i);
-                    visited[i] = true;
-                }
-            }
+            expandFrontier(x, visited, traversalQueue);
         }
         return resultList.iterator();
     }
@@ -285,6 +284,163 @@ public class Graph<T> implements GraphADT<T> {
         return iteratorBFS(getIndex(startVertex));
     }
 
+    /**
+     * Performs a breadth first traversal starting at the given index, reporting it to a visitor. A vertex is
+     * discovered when it is first reached, at its number of hops from the start, and finished once its edges have
+     * been explored
+     *
+     * @param startIndex starting index
+     * @param visitor    callbacks of the traversal
+     * @return true if the visitor stopped the traversal; false if it ran to the end
+     */
+    public boolean traverseBFS(int startIndex, GraphVisitor visitor) {
+        if (!indexIsValid(startIndex))
+            return false;
+
+        long[] visited = new long[BitMatrix.wordsFor(numVertices)];
+        int[] queue = new int[numVertices];   // every vertex is queued at most once
+        int head = 0;
+        int tail = 0;
+
+        setBit(visited, startIndex);
+        GraphVisitor.Action action = visitor.discover(startIndex, -1, 0);
+        if (action == GraphVisitor.Action.STOP)
+            return true;
+        if (action == GraphVisitor.Action.SKIP_SUBTREE) {
+            visitor.finish(startIndex);
+            return false;
+        }
+        queue[tail++] = startIndex;
+
+        /** The queue holds the vertices at the current depth up to
+         levelEnd, followed by those one hop further */
+        int depth = 0;
+        int levelEnd = tail;
+        while (head < tail) {
+            if (head == levelEnd) {
+                depth++;
+                levelEnd = tail;
+            }
+            int x = queue[head++];
+
+            for (int edge = firstEdge(x); edge != -1; edge = nextEdge(x, edge)) {
+                int i = edgeTarget(x, edge);
+                if ((visited[i >>> 6] & (1L << i)) != 0)
+                    continue;
+
+                action = visitor.relaxEdge(x, i, edgeWeight(x, edge));
+                if (action == GraphVisitor.Action.STOP)
+                    return true;
+                if (action == GraphVisitor.Action.SKIP_SUBTREE)
+                    continue;
+
+                setBit(visited, i);
+                action = visitor.discover(i, x, depth + 1);
+                if (action == GraphVisitor.Action.STOP)
+                    return true;
+                if (action == GraphVisitor.Action.SKIP_SUBTREE)
+                    visitor.finish(i);
+                else
+                    queue[tail++] = i;
+            }
+            visitor.finish(x);
+        }
+        return false;
+    }
+
+    /**
+     * Performs a breadth first traversal starting at the given vertex, reporting it to a visitor
+     *
+     * @param startVertex starting vertex
+     * @param visitor     callbacks of the traversal
+     * @return true if the visitor stopped the traversal; false if it ran to the end
+     */
+    public boolean traverseBFS(T startVertex, GraphVisitor visitor) {
+        return traverseBFS(getIndex(startVertex), visitor);
+    }
+
+    /**
+     * Performs a depth first traversal starting at the given index, reporting it to a visitor. A vertex is
+     * discovered when it is pushed, at its depth in the traversal tree, and finished when it is popped
+     *
+     * @param startIndex starting index
+     * @param visitor    callbacks of the traversal
+     * @return true if the visitor stopped the traversal; false if it ran to the end
+     */
+    public boolean traverseDFS(int startIndex, GraphVisitor visitor) {
+        if (!indexIsValid(startIndex))
+            return false;
+
+        long[] visited = new long[BitMatrix.wordsFor(numVertices)];
+        int[] stack = new int[numVertices];
+        int[] cursors = new int[numVertices];   // next edge to explore of each vertex on the stack
+
+        setBit(visited, startIndex);
+        GraphVisitor.Action action = visitor.discover(startIndex, -1, 0);
+        if (action == GraphVisitor.Action.STOP)
+            return true;
+        if (action == GraphVisitor.Action.SKIP_SUBTREE) {
+            visitor.finish(startIndex);
+            return false;
+        }
+        stack[0] = startIndex;
+        cursors[0] = firstEdge(startIndex);
+        int depth = 1;
+
+        while (depth > 0) {
+            int x = stack[depth - 1];
+            int edge = cursors[depth - 1];
+            boolean pushed = false;
+
+            /** Follow the next edge of x to a vertex that has not been
+             visited, or pop x once it has none left */
+            while (edge != -1 && !pushed) {
+                int i = edgeTarget(x, edge);
+                double weight = edgeWeight(x, edge);
+                edge = nextEdge(x, edge);
+                if ((visited[i >>> 6] & (1L << i)) != 0)
+                    continue;
+
+                action = visitor.relaxEdge(x, i, weight);
+                if (action == GraphVisitor.Action.STOP)
+                    return true;
+                if (action == GraphVisitor.Action.SKIP_SUBTREE)
+                    continue;
+
+                setBit(visited, i);
+                action = visitor.discover(i, x, depth);
+                if (action == GraphVisitor.Action.STOP)
+                    return true;
+                if (action == GraphVisitor.Action.SKIP_SUBTREE) {
+                    visitor.finish(i);
+                    continue;
+                }
+
+                cursors[depth - 1] = edge;
+                stack[depth] = i;
+                cursors[depth] = firstEdge(i);
+                depth++;
+                pushed = true;
+            }
+            if (!pushed) {
+                depth--;
+                visitor.finish(x);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Performs a depth first traversal starting at the given vertex, reporting it to a visitor
+     *
+     * @param startVertex starting vertex
+     * @param visitor     callbacks of the traversal
+     * @return true if the visitor stopped the traversal; false if it ran to the end
+     */
+    public boolean traverseDFS(T startVertex, GraphVisitor visitor) {
+        return traverseDFS(getIndex(startVertex), visitor);
+    }
+
 
     /**
      * Returns an iterator that contains the indices of the vertices that are in the shortest path between two
@@ -307,12 +463,10 @@ public class Graph<T> implements GraphADT<T> {
                 (startIndex == targetIndex))
             return resultList.iterator();
 
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++)
-            visited[i] = false;
+        long[] visited = new long[BitMatrix.wordsFor(numVertices)];
 
         traversalQueue.enqueue(startIndex);
-        visited[startIndex] = true;
+        setBit(visited, startIndex);
         pathLength[startIndex] = 0;
         predecessor[startIndex] = -1;
 
@@ -321,14 +475,13 @@ public class Graph<T> implements GraphADT<T> {
 
             /** Update the pathLength for each unvisited vertex adjacent
              to the vertex at the current index. */
-            for (int i = 0; i < numVertices; i++) {
-                if (adjMatrix[index][i] && !visited[i]) {
-                    pathLength[i] = pathLength[index] + 1;
-                    predecessor[i] = index;
-                    traversalQueue.enqueue(i);
-                    visited[i] = true;
-                }
+            for (int i = adjMatrix.nextSetBitNotIn(index, visited, 0); i != -1;
+                 i = adjMatrix.nextSetBitNotIn(index, visited, i + 1)) {
+                pathLength[i] = pathLength[index] + 1;
+                predecessor[i] = index;
+                traversalQueue.enqueue(i);
             }
+            orInto(visited, adjMatrix.row(index));
         }
         if (index != targetIndex)  // no path must have been found
             return resultList.iterator();
@@ -380,46 +533,200 @@ public class Graph<T> implements GraphADT<T> {
     }
 
     /**
-     * Returns the weight of the least weight path in the {@link Graph}
+     * Returns the number of edges in the path with the fewest edges between two vertices
      *
      * @param startIndex  starting index
      * @param targetIndex target index
-     * @return weight if found; {@link Double}.POSITIVE_INFINITY if not found
+     * @return number of edges; 0 if there is no path
      */
     public int shortestPathLength(int startIndex, int targetIndex) {
-        int result = 0;
         if (!indexIsValid(startIndex) || !indexIsValid(targetIndex))
             return 0;
 
-        int index1, index2;
-        Iterator<Integer> it = iteratorShortestPathIndices(startIndex,
-                targetIndex);
-
-        if (it.hasNext())
-            index1 = (Integer) it.next();
-        else
-            return 0;
-
-        while (it.hasNext()) {
-            result++;
-            it.next();
-        }
-
-        return result;
+        int hops = hopDistances(startIndex, targetIndex)[targetIndex];
+        return hops == -1 ? 0 : hops;
     }
 
     /**
-     * Returns the weight of the least weight path in the {@link Graph}
+     * Returns the number of edges in the path with the fewest edges between two vertices
      *
      * @param startVertex  starting vertex
      * @param targetVertex target vertex
-     * @return weight if found; {@link Double}.POSITIVE_INFINITY if not found
+     * @return number of edges; 0 if there is no path
      */
     public int shortestPathLength(T startVertex, T targetVertex) {
         return shortestPathLength(getIndex(startVertex), getIndex(
                 targetVertex));
     }
 
+    /**
+     * Returns the number of edges in the path with the fewest edges from the given index to every vertex
+     *
+     * @param startIndex starting index
+     * @return hops of each vertex; -1 for vertices that can not be reached; empty if the index is not valid
+     */
+    public int[] hopDistances(int startIndex) {
+        if (!indexIsValid(startIndex))
+            return new int[0];
+        return hopDistances(startIndex, -1);
+    }
+
+    /**
+     * Returns the number of edges in the path with the fewest edges from the given vertex to every vertex
+     *
+     * @param startVertex starting vertex
+     * @return hops of each vertex; -1 for vertices that can not be reached; empty if the vertex is not found
+     */
+    public int[] hopDistances(T startVertex) {
+        return hopDistances(getIndex(startVertex));
+    }
+
+    /**
+     * Returns the hops from each of several sources to every vertex, running up to 64 breadth first searches at once.
+     * Each vertex keeps one bit per search in a long: the searches that have reached it and the searches whose
+     * frontier it is on. A level is one sweep that ORs the frontier bits of every vertex into its neighbours, so
+     * searches whose frontiers meet share the work of scanning the same edges
+     *
+     * @param sourceIndices starting indices
+     * @return one row per source with the hops of each vertex; -1 for vertices that can not be reached, and for every
+     * vertex when the source is not valid
+     */
+    public int[][] multiSourceHopDistances(int[] sourceIndices) {
+        int[][] hops = new int[sourceIndices.length][numVertices];
+        for (int[] row : hops)
+            Arrays.fill(row, -1);
+
+        long[] seen = new long[numVertices];
+        long[] frontier = new long[numVertices];
+        long[] next = new long[numVertices];
+        for (int first = 0; first < sourceIndices.length; first += Long.SIZE) {
+            int batch = Math.min(Long.SIZE, sourceIndices.length - first);
+            Arrays.fill(seen, 0);
+            Arrays.fill(frontier, 0);
+
+            boolean active = false;
+            for (int b = 0; b < batch; b++) {
+                int source = sourceIndices[first + b];
+                if (indexIsValid(source)) {
+                    seen[source] |= 1L << b;
+                    frontier[source] |= 1L << b;
+                    hops[first + b][source] = 0;
+                    active = true;
+                }
+            }
+
+            for (int depth = 1; active; depth++) {
+                for (int x = 0; x < numVertices; x++) {
+                    long searches = frontier[x];
+                    if (searches == 0)
+                        continue;
+                    for (int edge = firstEdge(x); edge != -1; edge = nextEdge(x, edge))
+                        next[edgeTarget(x, edge)] |= searches;
+                }
+
+                /** Keep only the searches that reach a vertex for the
+                 first time, which make up the next frontier */
+                active = false;
+                for (int i = 0; i < numVertices; i++) {
+                    long reached = next[i] & ~seen[i];
+                    next[i] = 0;
+                    frontier[i] = reached;
+                    if (reached == 0)
+                        continue;
+                    seen[i] |= reached;
+                    active = true;
+                    while (reached != 0) {
+                        hops[first + Long.numberOfTrailingZeros(reached)][i] = depth;
+                        reached &= reached - 1;
+                    }
+                }
+            }
+        }
+        return hops;
+    }
+
+    /**
+     * Runs a direction-optimizing breadth first search from the given index, one level at a time. While the
+     * frontier is small, its vertices push to their unvisited neighbours (top-down). Once it holds more than
+     * 1/BOTTOM_UP_RATIO of the unvisited vertices, most of their edges would lead to visited vertices, so instead each
+     * unvisited vertex looks for one edge coming from the frontier bitset and stops at the first (bottom-up). The
+     * search goes back to top-down when the frontier falls under 1/TOP_DOWN_RATIO of the vertices
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index; -1 to reach every vertex
+     * @return hops of each vertex, final up to the level of the target; -1 for vertices not reached
+     */
+    protected int[] hopDistances(int startIndex, int targetIndex) {
+        int[] hops = new int[numVertices];
+        int words = BitMatrix.wordsFor(numVertices);
+        long[] visited = new long[words];
+        long[] frontierBits = new long[words];
+        long[] nextBits = new long[words];
+        int[] frontier = new int[numVertices];
+        int[] next = new int[numVertices];
+
+        Arrays.fill(hops, -1);
+        hops[startIndex] = 0;
+        setBit(visited, startIndex);
+        frontier[0] = startIndex;
+        int frontierSize = 1;
+        int unvisited = numVertices - 1;
+        boolean bottomUp = false;
+
+        for (int depth = 1; frontierSize > 0 && (targetIndex == -1 || hops[targetIndex] == -1); depth++) {
+            if (!bottomUp && (long) frontierSize * BOTTOM_UP_RATIO > unvisited) {
+                bottomUp = true;
+                Arrays.fill(frontierBits, 0);
+                for (int i = 0; i < frontierSize; i++)
+                    setBit(frontierBits, frontier[i]);
+            } else if (bottomUp && (long) frontierSize * TOP_DOWN_RATIO < numVertices) {
+                bottomUp = false;
+            }
+
+            int nextSize = 0;
+            if (bottomUp) {
+                Arrays.fill(nextBits, 0);
+                for (int w = 0; w < words; w++) {
+                    long candidates = ~visited[w];
+                    while (candidates != 0) {
+                        int i = (w << 6) + Long.numberOfTrailingZeros(candidates);
+                        candidates &= candidates - 1;
+                        if (i >= numVertices)
+                            break;
+                        if (hasEdgeFromAny(frontierBits, i)) {
+                            hops[i] = depth;
+                            setBit(nextBits, i);
+                            next[nextSize++] = i;
+                        }
+                    }
+                }
+                orInto(visited, nextBits);
+                long[] bits = frontierBits;
+                frontierBits = nextBits;
+                nextBits = bits;
+            } else {
+                for (int k = 0; k < frontierSize; k++) {
+                    int x = frontier[k];
+                    for (int edge = firstEdge(x); edge != -1; edge = nextEdge(x, edge)) {
+                        int i = edgeTarget(x, edge);
+                        if ((visited[i >>> 6] & (1L << i)) == 0) {
+                            setBit(visited, i);
+                            hops[i] = depth;
+                            next[nextSize++] = i;
+                        }
+                    }
+                }
+            }
+
+            int[] level = frontier;
+            frontier = next;
+            next = level;
+            frontierSize = nextSize;
+            unvisited -= nextSize;
+        }
+        return hops;
+    }
+
     /**
      * Returns a minimum spanning tree of the {@link Graph}
      *
@@ -434,11 +741,7 @@ public class Graph<T> implements GraphADT<T> {
         if (isEmpty() || !isConnected())
             return resultGraph;
 
-        resultGraph.adjMatrix = new boolean[numVertices][numVertices];
-
-        for (int i = 0; i < numVertices; i++)
-            for (int j = 0; j < numVertices; j++)
-                resultGraph.adjMatrix[i][j] = false;
+        resultGraph.adjMatrix = new BitMatrix(numVertices);
 
         resultGraph.vertices = (T[]) (new Object[numVertices]);
         boolean[] visited = new boolean[numVertices];
@@ -453,7 +756,7 @@ public class Graph<T> implements GraphADT<T> {
 
         /** Add all edges that are adjacent to vertex 0 to the stack. */
         for (int i = 0; i < numVertices; i++) {
-            if (!visited[i] && this.adjMatrix[0][i]) {
+            if (!visited[i] && this.adjMatrix.get(0, i)) {
                 edge[1] = i;
                 vertexStack.push(edge.clone());
                 visited[i] = true;
@@ -467,14 +770,14 @@ public class Graph<T> implements GraphADT<T> {
             y = edge[1];
             resultGraph.vertices[y] = this.vertices[y];
             resultGraph.numVertices++;
-            resultGraph.adjMatrix[x][y] = true;
-            resultGraph.adjMatrix[y][x] = true;
+            resultGraph.adjMatrix.set(x, y);
+            resultGraph.adjMatrix.set(y, x);
             visited[y] = true;
 
             /** Add all unvisited edges that are adjacent to vertex y
              to the stack. */
             for (int i = 0; i < numVertices; i++) {
-                if (!visited[i] && this.adjMatrix[i][y]) {
+                if (!visited[i] && this.adjMatrix.get(i, y)) {
                     edge[0] = y;
                     edge[1] = i;
                     vertexStack.push(edge.clone());
@@ -483,26 +786,83 @@ public class Graph<T> implements GraphADT<T> {
             }
         }
 
+        for (int i = 0; i < resultGraph.numVertices; i++)
+            resultGraph.indexVertex(i);
+
         return resultGraph;
     }
 
     /**
-     * Creates new arrays to store the contents of the {@link Graph} with ten more slots
+     * Returns a spanning forest of the graph: one spanning tree per connected component, so graphs that are only
+     * partly connected still get a forest instead of an empty graph. Edges are added whenever a {@link DisjointSet}
+     * shows that they join two trees, and are treated as undirected
+     * @return spanning forest {@link Graph}, with every vertex of the graph
+     */
+    public Graph<T> getSpanningForest() {
+        Graph<T> resultGraph = new Graph<T>(numVertices);
+        DisjointSet forest = new DisjointSet(numVertices);
+
+        System.arraycopy(vertices, 0, resultGraph.vertices, 0, numVertices);
+        resultGraph.numVertices = numVertices;
+
+        for (int x = 0; x < numVertices && forest.count() > 1; x++)
+            for (int y = adjMatrix.nextSetBit(x, 0); y != -1 && y < numVertices; y = adjMatrix.nextSetBit(x, y + 1))
+                if (forest.union(x, y)) {
+                    resultGraph.adjMatrix.set(x, y);
+                    resultGraph.adjMatrix.set(y, x);
+                }
+
+        for (int i = 0; i < resultGraph.numVertices; i++)
+            resultGraph.indexVertex(i);
+
+        return resultGraph;
+    }
+
+    /**
+     * Creates new arrays to store the contents of the {@link Graph}, sized by its {@link CapacityGrowth}
      */
     protected void expandCapacity() {
-        T[] largerVertices = (T[]) (new Object[vertices.length + 10]);
-        boolean[][] largerAdjMatrix =
-                new boolean[vertices.length * 2][vertices.length + 10];
+        resize(capacityGrowth.nextCapacity(vertices.length, numVertices + 1));
+    }
 
-        for (int i = 0; i < numVertices; i++) {
-            for (int j = 0; j < numVertices; j++) {
-                largerAdjMatrix[i][j] = adjMatrix[i][j];
-            }
-            largerVertices[i] = vertices[i];
-        }
+    /**
+     * Makes room for at least the given number of vertices, so that adding them does not grow the {@link Graph}
+     * again
+     * @param expectedVertices expected number of vertices
+     */
+    public void ensureCapacity(int expectedVertices) {
+        if (expectedVertices > vertices.length)
+            resize(expectedVertices);
+    }
+
+    /**
+     * Setter for the way the {@link Graph} grows when it runs out of vertex slots
+     * @param capacityGrowth {@link CapacityGrowth}
+     */
+    public void setCapacityGrowth(CapacityGrowth capacityGrowth) {
+        this.capacityGrowth = capacityGrowth;
+    }
+
+    /**
+     * Getter for the way the {@link Graph} grows when it runs out of vertex slots
+     * @return {@link CapacityGrowth}
+     */
+    public CapacityGrowth getCapacityGrowth() {
+        return capacityGrowth;
+    }
+
+    /**
+     * Creates new arrays with the given number of vertex slots and copies the contents of the {@link Graph}
+     * @param capacity new number of vertex slots
+     */
+    protected void resize(int capacity) {
+        T[] largerVertices = (T[]) (new Object[capacity]);
+
+        System.arraycopy(vertices, 0, largerVertices, 0, numVertices);
 
         vertices = largerVertices;
-        adjMatrix = largerAdjMatrix;
+        adjMatrix.resize(capacity, numVertices);
+        vertexIndex.ensureCapacity(capacity);
     }
 
     /**
@@ -529,16 +889,123 @@ public class Graph<T> implements GraphADT<T> {
         if (isEmpty())
             return false;
 
-        Iterator<T> it = iteratorBFS(0);
-        int count = 0;
+        /** Count the vertices reached by a breadth first search from
+         vertex 0, without building a traversal list */
+        long[] visited = new long[BitMatrix.wordsFor(numVertices)];
+        int[] queue = new int[numVertices];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = 0;
+        setBit(visited, 0);
+        while (head < tail) {
+            long[] row = adjMatrix.row(queue[head++]);
+            for (int w = 0; w < visited.length; w++) {
+                long discovered = row[w] & ~visited[w];
+                visited[w] |= discovered;
+                while (discovered != 0) {
+                    queue[tail++] = (w << 6) + Long.numberOfTrailingZeros(discovered);
+                    discovered &= discovered - 1;
+                }
+            }
+        }
+        return (tail == numVertices);
+    }
 
-        while (it.hasNext()) {
-            it.next();
-            count++;
+
+    /**
+     * Queues every vertex adjacent to x that has not been visited and marks them as visited. The candidates are the
+     * bits of x's adjacency row AND-NOT the visited bitset, taken 64 vertices at a time
+     * @param x       vertex being expanded
+     * @param visited visited bitset
+     * @param queue   traversal queue
+     */
+    private void expandFrontier(int x, long[] visited, LinkedQueue<Integer> queue) {
+        long[] row = adjMatrix.row(x);
+        for (int w = 0; w < visited.length; w++) {
+            long discovered = row[w] & ~visited[w];
+            visited[w] |= discovered;
+            while (discovered != 0) {
+                queue.enqueue((w << 6) + Long.numberOfTrailingZeros(discovered));
+                discovered &= discovered - 1;
+            }
         }
-        return (count == numVertices);
     }
 
+    /**
+     * Returns the cursor of the first edge leaving a vertex, used by the visitor traversals. In a graph the cursor is
+     * the target index itself
+     * @param index vertex index
+     * @return cursor; -1 if the vertex has no edges
+     */
+    protected int firstEdge(int index) {
+        return adjMatrix.nextSetBit(index, 0);
+    }
+
+    /**
+     * Returns the cursor of the edge after the given one
+     * @param index  vertex index
+     * @param cursor current cursor
+     * @return cursor; -1 if there are no more edges
+     */
+    protected int nextEdge(int index, int cursor) {
+        return adjMatrix.nextSetBit(index, cursor + 1);
+    }
+
+    /**
+     * Returns the target of the edge at a cursor
+     * @param index  vertex index
+     * @param cursor edge cursor
+     * @return target index
+     */
+    protected int edgeTarget(int index, int cursor) {
+        return cursor;
+    }
+
+    /**
+     * Returns the weight of the edge at a cursor, which is 1 in a graph
+     * @param index  vertex index
+     * @param cursor edge cursor
+     * @return weight
+     */
+    protected double edgeWeight(int index, int cursor) {
+        return 1;
+    }
+
+    /**
+     * Checks if a vertex has an edge coming from any vertex of a bitset, used by bottom-up searches. The edges of a
+     * graph go both ways, so these are the bits of its own adjacency row
+     * @param sources bitset of source vertices
+     * @param index   vertex index
+     * @return true if some source has an edge to the vertex
+     */
+    protected boolean hasEdgeFromAny(long[] sources, int index) {
+        long[] row = adjMatrix.row(index);
+        int words = Math.min(row.length, sources.length);
+        for (int w = 0; w < words; w++)
+            if ((row[w] & sources[w]) != 0)
+                return true;
+        return false;
+    }
+
+    /**
+     * Sets a bit of a bitset
+     * @param bits  bitset
+     * @param index bit index
+     */
+    protected static void setBit(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Sets in a bitset every bit that is set in another, over the length of the first
+     * @param bits  bitset to update
+     * @param other bits to add
+     */
+    private static void orInto(long[] bits, long[] other) {
+        for (int w = 0; w < bits.length; w++)
+            bits[w] |= other[w];
+    }
 
     /**
      * Getter for the index of a given vertex
@@ -546,10 +1013,61 @@ public class Graph<T> implements GraphADT<T> {
      * @return index; -1 if vertex not found
      */
     public int getIndex(T vertex) {
+        if (vertexIndexStale)
+            rebuildVertexIndex();
+        return vertexIndex.get(vertex);
+    }
+
+    /**
+     * Marks the vertex index as out of date, so that it is rebuilt on the next lookup instead of being kept up to
+     * date vertex by vertex. Used when many vertices are added at once and may never be looked up
+     */
+    protected void invalidateVertexIndex() {
+        vertexIndex.clear();
+        vertexIndexStale = true;
+    }
+
+    /**
+     * Rebuilds the vertex index from the vertices array
+     */
+    private void rebuildVertexIndex() {
+        vertexIndexStale = false;
+        vertexIndex.ensureCapacity(numVertices);
         for (int i = 0; i < numVertices; i++)
-            if (vertices[i].equals(vertex))
-                return i;
-        return -1;
+            indexVertex(i);
+    }
+
+    /**
+     * Adds the vertex at the given index to the vertex index. If an equal vertex is already indexed, the lower index
+     * is kept, so getIndex keeps returning the first of equal vertices
+     * @param index index of the vertex
+     */
+    protected void indexVertex(int index) {
+        if (!vertexIndexStale && vertexIndex.get(vertices[index]) == -1)
+            vertexIndex.put(vertices[index], index);
+    }
+
+    /**
+     * Removes the vertex at the given index from the vertex index, before it is removed from the vertices array
+     * @param index index of the vertex being removed
+     */
+    protected void unindexVertex(int index) {
+        if (!vertexIndexStale && vertexIndex.get(vertices[index]) == index)
+            vertexIndex.remove(vertices[index]);
+    }
+
+    /**
+     * Updates the vertex index after the vertices from the given index on have been shifted down by one slot
+     * @param fromIndex first shifted index
+     */
+    protected void reindexVertices(int fromIndex) {
+        if (vertexIndexStale)
+            return;
+        for (int i = fromIndex; i < numVertices; i++) {
+            int indexed = vertexIndex.get(vertices[i]);
+            if (indexed == i + 1 || indexed == -1)
+                vertexIndex.put(vertices[i], i);
+        }
     }
 
     /**
@@ -0,0 +1,233 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Exceptions.EmptyCollectionException;
+
+/**
+ * Array based binary min heap of vertex indices ordered by a primitive double key. Each index in
+ * [0, capacity) can be in the heap at most once, and its key can be lowered in place, which is what
+ * Dijkstra and Prim need to avoid re-adding every pending vertex after each step.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;       // heap slot -> vertex index
+    private final int[] position;   // vertex index -> heap slot, -1 if absent
+    private final double[] keys;    // vertex index -> key
+    private int count;
+
+    /**
+     * Creates an empty {@link IndexedMinHeap} able to hold the indices 0 to capacity - 1
+     *
+     * @param capacity number of distinct indices
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        this.count = 0;
+
+        for (int i = 0; i < capacity; i++)
+            position[i] = -1;
+    }
+
+    /**
+     * Checks if the {@link IndexedMinHeap} is empty
+     *
+     * @return true if empty; false if not empty
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the number of indices in the {@link IndexedMinHeap}
+     *
+     * @return number of indices
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Checks if a given index is currently in the {@link IndexedMinHeap}
+     *
+     * @param index index to be checked
+     * @return true if present; false if not present
+     */
+    public boolean contains(int index) {
+        return position[index] != -1;
+    }
+
+    /**
+     * Returns the key currently associated with an index in the heap
+     *
+     * @param index index in the heap
+     * @return key of the index
+     */
+    public double getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Adds an index with the given key, or lowers its key if it is already in the heap and the new key is smaller
+     *
+     * @param index index to be added
+     * @param key   key of the index
+     * @return true if the heap changed; false if the index was present with a key not greater than the given one
+     */
+    public boolean insertOrDecrease(int index, double key) {
+        if (position[index] == -1) {
+            insert(index, key);
+            return true;
+        }
+        if (key < keys[index]) {
+            decreaseKey(index, key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds an index that is not yet in the heap
+     *
+     * @param index index to be added
+     * @param key   key of the index
+     */
+    public void insert(int index, double key) {
+        keys[index] = key;
+        heap[count] = index;
+        position[index] = count;
+        siftUp(count);
+        count++;
+    }
+
+    /**
+     * Lowers the key of an index that is already in the heap
+     *
+     * @param index index in the heap
+     * @param key   new key, not greater than the current one
+     */
+    public void decreaseKey(int index, double key) {
+        keys[index] = key;
+        siftUp(position[index]);
+    }
+
+    /**
+     * Changes the key of an index that is already in the heap, up or down
+     *
+     * @param index index in the heap
+     * @param key   new key
+     */
+    public void changeKey(int index, double key) {
+        double oldKey = keys[index];
+        keys[index] = key;
+        if (key < oldKey)
+            siftUp(position[index]);
+        else
+            siftDown(position[index]);
+    }
+
+    /**
+     * Returns the index with the lowest key without removing it
+     *
+     * @return index with the lowest key
+     * @throws EmptyCollectionException thrown if the heap is empty
+     */
+    public int findMin() throws EmptyCollectionException {
+        if (isEmpty())
+            throw new EmptyCollectionException("Indexed Heap");
+
+        return heap[0];
+    }
+
+    /**
+     * Returns the lowest key in the heap
+     *
+     * @return lowest key
+     * @throws EmptyCollectionException thrown if the heap is empty
+     */
+    public double minKey() throws EmptyCollectionException {
+        return keys[findMin()];
+    }
+
+    /**
+     * Removes the index with the lowest key and returns it. Ties are broken by the lower index
+     *
+     * @return index with the lowest key
+     * @throws EmptyCollectionException thrown if the heap is empty
+     */
+    public int removeMin() throws EmptyCollectionException {
+        int min = findMin();
+
+        count--;
+        position[min] = -1;
+        if (count > 0) {
+            heap[0] = heap[count];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Removes every index from the heap, in time proportional to the number of indices it holds
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++)
+            position[heap[i]] = -1;
+        count = 0;
+    }
+
+    /**
+     * Moves the index at the given slot up until its parent is not greater
+     *
+     * @param slot heap slot
+     */
+    private void siftUp(int slot) {
+        int index = heap[slot];
+
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!less(index, heap[parent]))
+                break;
+            heap[slot] = heap[parent];
+            position[heap[slot]] = slot;
+            slot = parent;
+        }
+        heap[slot] = index;
+        position[index] = slot;
+    }
+
+    /**
+     * Moves the index at the given slot down until no child is smaller
+     *
+     * @param slot heap slot
+     */
+    private void siftDown(int slot) {
+        int index = heap[slot];
+        int half = count >>> 1;
+
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < count && less(heap[right], heap[child]))
+                child = right;
+            if (!less(heap[child], index))
+                break;
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = index;
+        position[index] = slot;
+    }
+
+    /**
+     * Compares two indices by key, then by index
+     *
+     * @param a first index
+     * @param b second index
+     * @return true if a should come before b
+     */
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+}
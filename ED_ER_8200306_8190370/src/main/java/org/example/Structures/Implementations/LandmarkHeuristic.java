@@ -0,0 +1,440 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+import org.example.Structures.Interfaces.PathHeuristic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A* heuristic built from the exact path weights between every vertex and a few landmarks (ALT). By the triangle
+ * inequality, the path weight from v to t is at least d(L, t) - d(L, v) and at least d(v, L) - d(t, L) for any
+ * landmark L, so the estimate is the largest of those bounds over the landmarks. It never overestimates and, unlike
+ * {@code LocationHeuristic}, it follows the edge weights rather than the coordinates.
+ *
+ * Landmarks are picked by farthest point selection on path weights: each one is the vertex with the largest path
+ * weight from the nearest landmark already picked, and vertices no landmark reaches are picked first. The search
+ * from each landmark is run with Dijkstra's algorithm as it is picked and fills its column of the distances from
+ * the landmarks, so picking costs one extra search; the distances to the landmarks are then computed one search per
+ * task on a {@link ForkJoinPool}.
+ *
+ * The tables describe the network as it was when they were computed. They can be saved to a file and loaded
+ * again; loading checks that the file was made for the same vertices and edges.
+ *
+ * File layout, little-endian:
+ * <pre>
+ * header     magic "CTFL", version, landmark count, vertex count, edge count (5 ints), fingerprint (1 long)
+ * landmarks  index of each landmark                                  (1 int per landmark)
+ * from       d(L, v) for each vertex v and then each landmark L      (1 double per vertex and landmark)
+ * to         d(v, L) in the same order                               (1 double per vertex and landmark)
+ * </pre>
+ */
+public class LandmarkHeuristic implements PathHeuristic {
+    public static final int DEFAULT_LANDMARKS = 16;
+
+    static final int MAGIC = 0x4C465443;   // "CTFL" in little-endian order
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 5 * Integer.BYTES + Long.BYTES;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final int numVertices;
+    private final int numEdges;
+    private final long fingerprint;
+    private final int[] landmarks;
+
+    /** Vertex major tables, so the bounds of a vertex are next to each
+     other: entry v * landmarks.length + l is for vertex v and landmark l.
+     Unreachable pairs hold {@link Double}.POSITIVE_INFINITY */
+    private final double[] fromLandmark;
+    private final double[] toLandmark;
+
+    /**
+     * Computes a {@link LandmarkHeuristic} with {@link #DEFAULT_LANDMARKS} landmarks, using as many threads as the
+     * common pool
+     *
+     * @param network network to compute the tables for
+     */
+    public LandmarkHeuristic(Network<?> network) {
+        this(network, DEFAULT_LANDMARKS, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Computes a {@link LandmarkHeuristic}
+     *
+     * @param network      network to compute the tables for
+     * @param numLandmarks number of landmarks; fewer are used if the network has fewer vertices
+     * @param parallelism  number of threads
+     */
+    public LandmarkHeuristic(Network<?> network, int numLandmarks, int parallelism) {
+        if (numLandmarks < 1)
+            throw new IllegalArgumentException("The number of landmarks must be positive.");
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be positive.");
+
+        GraphStorage storage = network.getStorage();
+        this.numVertices = network.size();
+        this.numEdges = storage.edgeCount();
+        this.fingerprint = fingerprint(network);
+        this.landmarks = new int[Math.min(numLandmarks, numVertices)];
+        this.fromLandmark = new double[numVertices * landmarks.length];
+        this.toLandmark = new double[numVertices * landmarks.length];
+
+        /** Forward and backward edges in compressed sparse rows, so the
+         searches only read arrays and can run side by side */
+        int[] offsets = new int[numVertices + 1];
+        int[] reverseOffsets = new int[numVertices + 1];
+        for (int i = 0; i < numVertices; i++)
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                offsets[i + 1]++;
+                reverseOffsets[storage.edgeTarget(i, e) + 1]++;
+            }
+        for (int i = 0; i < numVertices; i++) {
+            offsets[i + 1] += offsets[i];
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+
+        int[] targets = new int[offsets[numVertices]];
+        double[] weights = new double[offsets[numVertices]];
+        int[] reverseTargets = new int[offsets[numVertices]];
+        double[] reverseWeights = new double[offsets[numVertices]];
+        int[] reverseFill = Arrays.copyOf(reverseOffsets, numVertices);
+        for (int i = 0, k = 0; i < numVertices; i++)
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e), k++) {
+                int target = storage.edgeTarget(i, e);
+                double weight = storage.edgeWeight(i, e);
+                targets[k] = target;
+                weights[k] = weight;
+                int position = reverseFill[target]++;
+                reverseTargets[position] = i;
+                reverseWeights[position] = weight;
+            }
+
+        if (landmarks.length == 0)
+            return;
+        selectLandmarks(offsets, targets, weights);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SearchTask(0, landmarks.length, reverseOffsets, reverseTargets, reverseWeights));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Creates a {@link LandmarkHeuristic} from tables read from a file
+     */
+    private LandmarkHeuristic(int numVertices, int numEdges, long fingerprint, int[] landmarks,
+                              double[] fromLandmark, double[] toLandmark) {
+        this.numVertices = numVertices;
+        this.numEdges = numEdges;
+        this.fingerprint = fingerprint;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Getter for the landmarks
+     *
+     * @return copy of the landmark indices, in the order they were picked
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Checks if the tables were computed for a network with the same vertices and edges as the given one
+     *
+     * @param network network to compare
+     * @return true if the heuristic can be used on the network
+     */
+    public boolean matches(Network<?> network) {
+        return network.size() == numVertices && network.getStorage().edgeCount() == numEdges
+                && fingerprint(network) == fingerprint;
+    }
+
+    @Override
+    public double estimate(int vertexIndex, int targetIndex) {
+        int numLandmarks = landmarks.length;
+        int vertexRow = vertexIndex * numLandmarks;
+        int targetRow = targetIndex * numLandmarks;
+        double result = 0;
+
+        /** A landmark that reaches v but not t, or that t reaches but v
+         does not, proves that there is no path and gives infinity */
+        for (int l = 0; l < numLandmarks; l++) {
+            double bound = fromLandmark[targetRow + l] - fromLandmark[vertexRow + l];
+            if (bound > result)
+                result = bound;
+            bound = toLandmark[vertexRow + l] - toLandmark[targetRow + l];
+            if (bound > result)
+                result = bound;
+        }
+        return result;
+    }
+
+    /**
+     * Writes the tables to a file
+     *
+     * @param filePath path of the file
+     * @throws IOException if the file can not be written
+     */
+    public void save(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(landmarks.length).putInt(numVertices).putInt(numEdges)
+                    .putLong(fingerprint);
+            for (int landmark : landmarks) {
+                flushIfFull(channel, buffer, Integer.BYTES);
+                buffer.putInt(landmark);
+            }
+            for (double value : fromLandmark) {
+                flushIfFull(channel, buffer, Double.BYTES);
+                buffer.putDouble(value);
+            }
+            for (double value : toLandmark) {
+                flushIfFull(channel, buffer, Double.BYTES);
+                buffer.putDouble(value);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads tables written by {@link #save(String)} for the given network
+     *
+     * @param network  network the tables are for
+     * @param filePath path of the file
+     * @return {@link LandmarkHeuristic} with the tables of the file
+     * @throws IOException if the file can not be read, is not a landmark file or was made for another network
+     */
+    public static LandmarkHeuristic load(Network<?> network, String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(0);
+
+            fill(channel, buffer, HEADER_BYTES, filePath);
+            if (buffer.getInt() != MAGIC)
+                throw new IOException("Not a landmark file: " + filePath);
+            int version = buffer.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported landmark file version " + version + ": " + filePath);
+            int numLandmarks = buffer.getInt();
+            int numVertices = buffer.getInt();
+            int numEdges = buffer.getInt();
+            long fingerprint = buffer.getLong();
+
+            long end = HEADER_BYTES + (long) Integer.BYTES * numLandmarks
+                    + 2L * Double.BYTES * numLandmarks * numVertices;
+            if (numVertices < 0 || numLandmarks < Math.min(1, numVertices) || numLandmarks > numVertices
+                    || end != channel.size())
+                throw new IOException("Corrupt landmark file: " + filePath);
+            if (numVertices != network.size() || numEdges != network.getStorage().edgeCount()
+                    || fingerprint != fingerprint(network))
+                throw new IOException("Landmark file was made for another map: " + filePath);
+
+            int[] landmarks = new int[numLandmarks];
+            for (int l = 0; l < numLandmarks; l++) {
+                fill(channel, buffer, Integer.BYTES, filePath);
+                landmarks[l] = buffer.getInt();
+                if (landmarks[l] < 0 || landmarks[l] >= numVertices)
+                    throw new IOException("Corrupt landmark file: " + filePath);
+            }
+
+            double[] fromLandmark = new double[numLandmarks * numVertices];
+            double[] toLandmark = new double[numLandmarks * numVertices];
+            for (int i = 0; i < fromLandmark.length; i++) {
+                fill(channel, buffer, Double.BYTES, filePath);
+                fromLandmark[i] = buffer.getDouble();
+            }
+            for (int i = 0; i < toLandmark.length; i++) {
+                fill(channel, buffer, Double.BYTES, filePath);
+                toLandmark[i] = buffer.getDouble();
+            }
+            return new LandmarkHeuristic(numVertices, numEdges, fingerprint, landmarks, fromLandmark, toLandmark);
+        }
+    }
+
+    /**
+     * Picks the landmarks by farthest point selection on path weights, starting from the vertex with the largest path
+     * weight from vertex 0, and fills the distances from each landmark with the search made to pick the next one
+     *
+     * @param offsets first edge of each vertex, then the edge count
+     * @param targets target of each edge
+     * @param weights weight of each edge
+     */
+    private void selectLandmarks(int[] offsets, int[] targets, double[] weights) {
+        int numLandmarks = landmarks.length;
+        double[] distances = new double[numVertices];
+        boolean[] isLandmark = new boolean[numVertices];
+
+        /** Path weight from the nearest landmark picked so far; vertices
+         that no landmark reaches keep infinity and are picked next */
+        double[] nearest = new double[numVertices];
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        dijkstra(offsets, targets, weights, 0, distances);
+        int candidate = farthest(distances, isLandmark);
+
+        for (int l = 0; l < numLandmarks; l++) {
+            landmarks[l] = candidate;
+            isLandmark[candidate] = true;
+            dijkstra(offsets, targets, weights, candidate, distances);
+            for (int i = 0; i < numVertices; i++) {
+                fromLandmark[i * numLandmarks + l] = distances[i];
+                if (distances[i] < nearest[i])
+                    nearest[i] = distances[i];
+            }
+            candidate = farthest(nearest, isLandmark);
+        }
+    }
+
+    /**
+     * Returns the vertex with the largest value among those that are not landmarks yet
+     *
+     * @param values     path weight of each vertex; {@link Double}.POSITIVE_INFINITY counts as the largest value
+     * @param isLandmark true for each vertex already picked
+     * @return vertex index; -1 if every vertex is a landmark
+     */
+    private static int farthest(double[] values, boolean[] isLandmark) {
+        int result = -1;
+        double best = -1;
+        for (int i = 0; i < values.length; i++)
+            if (!isLandmark[i] && values[i] > best) {
+                best = values[i];
+                result = i;
+            }
+        return result;
+    }
+
+    /**
+     * Hashes the edges of a network, so that tables are not used with a map whose edges or weights changed
+     *
+     * @param network network to hash
+     * @return fingerprint
+     */
+    private static long fingerprint(Network<?> network) {
+        GraphStorage storage = network.getStorage();
+        int numVertices = network.size();
+        long result = numVertices;
+        for (int i = 0; i < numVertices; i++)
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                result = 31 * result + ((long) i << 32 | storage.edgeTarget(i, e));
+                result = 31 * result + Double.doubleToLongBits(storage.edgeWeight(i, e));
+            }
+        return result;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm over edges in compressed sparse rows
+     *
+     * @param offsets    first edge of each vertex, then the edge count
+     * @param targets    target of each edge
+     * @param weights    weight of each edge
+     * @param source     source index
+     * @param distances  filled with the path weight of each vertex; {@link Double}.POSITIVE_INFINITY if unreached
+     */
+    private static void dijkstra(int[] offsets, int[] targets, double[] weights, int source, double[] distances) {
+        int numVertices = distances.length;
+        boolean[] settled = new boolean[numVertices];
+        IndexedMinHeap heap = new IndexedMinHeap(numVertices);
+
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+        heap.insert(source, 0);
+
+        while (!heap.isEmpty()) {
+            int index = heap.removeMin();
+            settled[index] = true;
+            for (int k = offsets[index]; k < offsets[index + 1]; k++) {
+                int i = targets[k];
+                if (!settled[i] && distances[index] + weights[k] < distances[i]) {
+                    distances[i] = distances[index] + weights[k];
+                    heap.insertOrDecrease(i, distances[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the buffer out if it does not have room for the given number of bytes
+     */
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush(channel, buffer);
+    }
+
+    /**
+     * Writes out everything in the buffer and empties it
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Reads from the file until the buffer holds at least the given number of bytes
+     */
+    private static void fill(FileChannel channel, ByteBuffer buffer, int bytes, String filePath) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+        buffer.compact();
+        while (buffer.position() < bytes)
+            if (channel.read(buffer) == -1)
+                throw new IOException("Corrupt landmark file: " + filePath);
+        buffer.flip();
+    }
+
+    /**
+     * Computes a range of the distances to the landmarks, one landmark per task, searched over the reversed edges
+     */
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstLandmark;
+        private final int lastLandmark;
+        private final int[] reverseOffsets;
+        private final int[] reverseTargets;
+        private final double[] reverseWeights;
+
+        SearchTask(int firstLandmark, int lastLandmark, int[] reverseOffsets, int[] reverseTargets,
+                   double[] reverseWeights) {
+            this.firstLandmark = firstLandmark;
+            this.lastLandmark = lastLandmark;
+            this.reverseOffsets = reverseOffsets;
+            this.reverseTargets = reverseTargets;
+            this.reverseWeights = reverseWeights;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastLandmark - firstLandmark > 1) {
+                int middle = (firstLandmark + lastLandmark) >>> 1;
+                invokeAll(new SearchTask(firstLandmark, middle, reverseOffsets, reverseTargets, reverseWeights),
+                        new SearchTask(middle, lastLandmark, reverseOffsets, reverseTargets, reverseWeights));
+                return;
+            }
+
+            int numLandmarks = landmarks.length;
+            int l = firstLandmark;
+            double[] distances = new double[numVertices];
+            dijkstra(reverseOffsets, reverseTargets, reverseWeights, landmarks[l], distances);
+
+            /** Each task writes its own column of the table */
+            for (int i = 0; i < numVertices; i++)
+                toLandmark[i * numLandmarks + l] = distances[i];
+        }
+    }
+}
@@ -1,19 +1,148 @@
 package org.example.Structures.Implementations;
 
+import org.example.Structures.Interfaces.EdgeChangeListener;
+import org.example.Structures.Interfaces.GraphStorage;
+import org.example.Structures.Interfaces.GraphVisitor;
 import org.example.Structures.Interfaces.NetworkADT;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 public class Network<T> extends Graph<T> implements NetworkADT<T> {
-    private double[][] networkAdjMatrix;    // adjacency matrix
+    private GraphStorage storage;    // edges of the network
+    private DisjointSet components;    // components of the network, treating edges as two-way
+    private int asymmetricEdges;    // edges whose reverse edge is missing
+    private boolean componentsStale;    // true when components and asymmetricEdges must be rebuilt
+    private int modCount;    // number of changes, so that traversals can detect them
+    private int[] inOffsets;    // vertex -> first of its incoming edges in inSources
+    private int[] inSources;    // source vertex of each incoming edge, grouped by target
+    private double[] inWeights;    // weight of each incoming edge
+    private int inEdgesModCount = -1;    // modCount when the incoming edges were last built
+    private AllPairsShortestPaths<T> allPairs;    // table answering shortest path queries; null if not computed
+    private ArrayUnorderedList<EdgeChangeListener> listeners;    // told about every change; null if there are none
 
     /**
-     * Creates an empty network
+     * Creates an empty network backed by an adjacency matrix
      */
     public Network() {
+        this(0, new AdjacencyMatrixStorage());
+    }
+
+    /**
+     * Creates an empty network backed by an adjacency matrix, with room for the expected number of vertices so that
+     * it does not grow while they are added
+     *
+     * @param expectedVertices expected number of vertices
+     */
+    public Network(int expectedVertices) {
+        this(expectedVertices, new AdjacencyMatrixStorage());
+    }
+
+    /**
+     * Creates an empty network that keeps its edges in the given storage. An {@link AdjacencyMatrixStorage} suits
+     * small or dense maps; a {@link CompressedSparseRowStorage} only takes memory for the edges that exist, which
+     * suits large sparse maps
+     *
+     * @param storage empty edge storage
+     */
+    public Network(GraphStorage storage) {
+        this(0, storage);
+    }
+
+    /**
+     * Creates an empty network that keeps its edges in the given storage, with room for the expected number of
+     * vertices
+     *
+     * @param expectedVertices expected number of vertices
+     * @param storage          empty edge storage
+     */
+    public Network(int expectedVertices, GraphStorage storage) {
+        super(0);
+        numVertices = 0;
+        this.storage = storage;
+        this.storage.ensureCapacity(vertices.length);
+        this.components = new DisjointSet(0);
+        this.asymmetricEdges = 0;
+        this.componentsStale = false;
+        ensureCapacity(expectedVertices);
+    }
+
+    /**
+     * Creates a network from vertices and a storage that already holds their edges, as when loading a saved map.
+     * Vertex i of the storage is the element vertices[i]
+     *
+     * @param vertices elements of the vertices, in index order
+     * @param storage  edge storage with one vertex per element
+     * @throws IllegalArgumentException if the storage does not have one vertex per element
+     */
+    public Network(T[] vertices, GraphStorage storage) {
+        super(0);
+        if (storage.size() != vertices.length)
+            throw new IllegalArgumentException("The storage must have one vertex per element.");
+
         numVertices = 0;
-        this.networkAdjMatrix = new double[DEFAULT_CAPACITY][DEFAULT_CAPACITY];
+        this.storage = storage;
+        this.storage.ensureCapacity(this.vertices.length);
+        ensureCapacity(vertices.length);
+
+        System.arraycopy(vertices, 0, this.vertices, 0, vertices.length);
+        numVertices = vertices.length;
+        invalidateVertexIndex();
+        this.components = new DisjointSet(0);
+        this.componentsStale = true;
+    }
+
+    /**
+     * Getter for the edge storage of the network
+     *
+     * @return {@link GraphStorage}
+     */
+    public GraphStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Getter for the version of the network, which changes whenever a vertex or an edge is added or removed, so that
+     * results computed from the network can tell whether they still describe it
+     *
+     * @return version of the network
+     */
+    public int getVersion() {
+        return modCount;
+    }
+
+    /**
+     * Registers a listener to be told about every edge and vertex added to or removed from the network, and every
+     * edge whose weight changes
+     *
+     * @param listener listener to add
+     */
+    public void addEdgeChangeListener(EdgeChangeListener listener) {
+        if (listeners == null)
+            listeners = new ArrayUnorderedList<>();
+        listeners.addToRear(listener);
+    }
+
+    /**
+     * Stops telling a listener about changes to the network
+     *
+     * @param listener listener to remove
+     */
+    public void removeEdgeChangeListener(EdgeChangeListener listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+            if (listeners.isEmpty())
+                listeners = null;
+        }
     }
 
     /**
@@ -22,58 +151,143 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      * @return {@link String}
      */
     public String toString() {
-        if (numVertices == 0)
-            return "Empty network!";
+        StringWriter result = new StringWriter();
+        try {
+            writeTo(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // a StringWriter never throws
+        }
+        return result.toString();
+    }
 
-        String result = "";
+    /**
+     * Writes the representation returned by toString to the given writer, one row at a time, without building it in
+     * memory first. Only a row buffer of two characters per vertex is allocated, so wrap file writers in a
+     * {@link java.io.BufferedWriter}
+     *
+     * @param writer destination of the text
+     * @throws IOException if the writer fails
+     */
+    public void writeTo(Writer writer) throws IOException {
+        if (numVertices == 0) {
+            writer.write("Empty network!");
+            return;
+        }
 
-        result += "Adjacency matrix\n";
-        result += "----------------";
-        result += "\t";
+        writer.write("Adjacency matrix\n");
+        writer.write("----------------");
+        writer.write('\t');
 
-        for (int i = 0; i < numVertices; i++) {
-            if (i < 10)
-                result += " ";
+        for (int i = 0; i < numVertices && i < 10; i++)
+            writer.write(' ');
+        writer.write('\n');
+
+        /** Each row starts as all zeros; the real edges are set to one
+         before writing it and back to zero afterwards */
+        char[] row = new char[2 * numVertices];
+        for (int j = 0; j < numVertices; j++) {
+            row[2 * j] = '0';
+            row[2 * j + 1] = ' ';
         }
-        result += "\n";
 
         for (int i = 0; i < numVertices; i++) {
-            result += "" + (i+1) + "\t";
+            writer.write(Integer.toString(i + 1));
+            writer.write('\t');
 
-            for (int j = 0; j < numVertices; j++) {
-                if (networkAdjMatrix[i][j] < Double.POSITIVE_INFINITY)
-                    result += "1 ";
-                else
-                    result += "0 ";
-            }
-            result += "\n";
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e))
+                row[2 * storage.edgeTarget(i, e)] = '1';
+            writer.write(row);
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e))
+                row[2 * storage.edgeTarget(i, e)] = '0';
+
+            writer.write('\n');
         }
 
         /** Print the vertex values */
-        result += "\n\nVertices values";
-        result += "\n-------------\n";
+        writer.write("\n\nVertices values");
+        writer.write("\n-------------\n");
 
         for (int i = 0; i < numVertices; i++) {
-            result += "" + (i+1) + "\t";
-            result += vertices[i].toString() + "\n";
+            writer.write(Integer.toString(i + 1));
+            writer.write('\t');
+            writer.write(String.valueOf(vertices[i]));
+            writer.write('\n');
         }
 
-        result += "\n\nWeights";
-        result += "\n----------------\n";
-        result += "index\tweight\n\n";
+        writer.write("\n\nWeights");
+        writer.write("\n----------------\n");
+        writer.write("index\tweight\n\n");
+
+        WeightFormat weightFormat = new WeightFormat();
+        int[] targets = new int[0];
+        double[] weights = new double[0];
 
-        DecimalFormat df = new DecimalFormat("0.00");
         for (int i = 0; i < numVertices; i++) {
-            for (int j = numVertices - 1; j > i; j--) {
-                if (networkAdjMatrix[i][j] < Double.POSITIVE_INFINITY) {
-                    result += (i+1) + " to " + (j+1) + "\t";
-                    result += df.format(networkAdjMatrix[i][j]) + "km\n";
+            /** Collect the edges to higher indices, which are written from
+             the highest target down */
+            int count = 0;
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                int j = storage.edgeTarget(i, e);
+                if (j <= i)
+                    continue;
+                if (count == targets.length) {
+                    targets = Arrays.copyOf(targets, Math.max(16, 2 * count));
+                    weights = Arrays.copyOf(weights, targets.length);
                 }
+                targets[count] = j;
+                weights[count] = storage.edgeWeight(i, e);
+                count++;
+            }
+
+            for (int k = count - 1; k >= 0; k--) {
+                writer.write(Integer.toString(i + 1));
+                writer.write(" to ");
+                writer.write(Integer.toString(targets[k] + 1));
+                writer.write('\t');
+                weightFormat.write(writer, weights[k]);
+                writer.write("km\n");
             }
         }
 
-        result += "\n";
-        return result;
+        writer.write('\n');
+    }
+
+    /**
+     * Formats edge weights the way {@link DecimalFormat}("0.00") does in the default locale. Whole weights, which are
+     * all the generated maps have, are written directly; any other weight goes through the {@link DecimalFormat}
+     */
+    private static class WeightFormat {
+        private final DecimalFormat decimalFormat = new DecimalFormat("0.00");
+        private final char decimalSeparator;
+        private final char minusSign;
+        private final boolean asciiDigits;
+
+        WeightFormat() {
+            DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+            this.decimalSeparator = symbols.getDecimalSeparator();
+            this.minusSign = symbols.getMinusSign();
+            this.asciiDigits = symbols.getZeroDigit() == '0' && decimalFormat.getPositivePrefix().isEmpty() &&
+                    decimalFormat.getNegativePrefix().equals(String.valueOf(minusSign));
+        }
+
+        void write(Writer writer, double weight) throws IOException {
+            boolean whole = weight == Math.rint(weight) && Math.abs(weight) < 1e15 &&
+                    !(weight == 0 && Double.doubleToRawLongBits(weight) != 0);
+
+            if (!asciiDigits || !whole) {
+                writer.write(decimalFormat.format(weight));
+                return;
+            }
+
+            long value = (long) weight;
+            if (value < 0) {
+                writer.write(minusSign);
+                value = -value;
+            }
+            writer.write(Long.toString(value));
+            writer.write(decimalSeparator);
+            writer.write("00");
+        }
     }
 
     public String vertexToString() {
@@ -103,9 +317,9 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
 
         for (int i = 0; i < numVertices; i++) {
             for (int j = numVertices - 1; j > i; j--) {
-                if (networkAdjMatrix[i][j] < Double.POSITIVE_INFINITY) {
+                if (storage.getWeight(i, j) < Double.POSITIVE_INFINITY) {
                     result += i + " para " + j + "\t";
-                    result += networkAdjMatrix[i][j] + "\n";
+                    result += storage.getWeight(i, j) + "\n";
                 }
             }
         }
@@ -122,8 +336,22 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      * @param weight edge weight
      */
     public void addEdge(int index1, int index2, double weight) {
-        if (indexIsValid(index1) && indexIsValid(index2)) {
-            networkAdjMatrix[index1][index2] = weight;
+        if (weight == Double.POSITIVE_INFINITY) {
+            removeEdge(index1, index2);
+        } else if (indexIsValid(index1) && indexIsValid(index2)) {
+            double oldWeight = storage.getWeight(index1, index2);
+            boolean isNew = oldWeight == Double.POSITIVE_INFINITY;
+            storage.setWeight(index1, index2, weight);
+            modCount++;
+
+            /** A new edge can only join two components */
+            if (isNew && index1 != index2 && !componentsStale) {
+                asymmetricEdges += hasEdge(index2, index1) ? -1 : 1;
+                components.union(index1, index2);
+            }
+            if (listeners != null && oldWeight != weight)
+                for (EdgeChangeListener listener : listeners)
+                    listener.edgeChanged(index1, index2, oldWeight, weight);
         }
     }
 
@@ -134,11 +362,32 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      * @param index2 second index
      */
     public void removeEdge(int index1, int index2) {
-        if (indexIsValid(index1) && indexIsValid(index2)) {
-            networkAdjMatrix[index1][index2] = Double.POSITIVE_INFINITY;
+        if (indexIsValid(index1) && indexIsValid(index2) && hasEdge(index1, index2)) {
+            double oldWeight = storage.getWeight(index1, index2);
+            storage.removeEdge(index1, index2);
+            modCount++;
+
+            /** A removed edge may split a component, which union-find
+             can not undo, so the components are rebuilt when next needed */
+            if (index1 != index2)
+                componentsStale = true;
+            if (listeners != null)
+                for (EdgeChangeListener listener : listeners)
+                    listener.edgeChanged(index1, index2, oldWeight, Double.POSITIVE_INFINITY);
         }
     }
 
+    /**
+     * Checks if there is an edge from one vertex to another
+     *
+     * @param index1 source index
+     * @param index2 target index
+     * @return true if there is an edge
+     */
+    private boolean hasEdge(int index1, int index2) {
+        return storage.getWeight(index1, index2) != Double.POSITIVE_INFINITY;
+    }
+
     /**
      * Inserts an edge with a given weight between two vertices of the network
      *
@@ -150,6 +399,16 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         addEdge(getIndex(vertex1), getIndex(vertex2), weight);
     }
 
+    /**
+     * Inserts an edge between two vertices of the network. Assumes a weight of zero
+     *
+     * @param index1 first index
+     * @param index2 second index
+     */
+    public void addEdge(int index1, int index2) {
+        addEdge(index1, index2, 0);
+    }
+
     /**
      * Inserts an edge between two vertices of the network. Assumes a weight of zero
      *
@@ -170,6 +429,14 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         removeEdge(getIndex(vertex1), getIndex(vertex2));
     }
 
+    /**
+     * Merges the edges the storage buffered while they were added into its main layout, as after building or
+     * importing a map, so that searches visit them in order. The version of the network does not change
+     */
+    public void mergePendingEdges() {
+        storage.mergePending();
+    }
+
 
     /**
      * Adds a vertex to the network, expanding the capacity of the network if necessary
@@ -179,11 +446,14 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
             expandCapacity();
 
         vertices[numVertices] = null;
-        for (int i = 0; i <= numVertices; i++) {
-            networkAdjMatrix[numVertices][i] = Double.POSITIVE_INFINITY;
-            networkAdjMatrix[i][numVertices] = Double.POSITIVE_INFINITY;
-        }
+        storage.addVertex();
+        if (!componentsStale)
+            components.add();
         numVertices++;
+        modCount++;
+        if (listeners != null)
+            for (EdgeChangeListener listener : listeners)
+                listener.vertexAdded(numVertices - 1);
     }
 
     /**
@@ -197,11 +467,28 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
             expandCapacity();
 
         vertices[numVertices] = vertex;
-        for (int i = 0; i <= numVertices; i++) {
-            networkAdjMatrix[numVertices][i] = Double.POSITIVE_INFINITY;
-            networkAdjMatrix[i][numVertices] = Double.POSITIVE_INFINITY;
-        }
+        indexVertex(numVertices);
+        storage.addVertex();
+        if (!componentsStale)
+            components.add();
         numVertices++;
+        modCount++;
+        if (listeners != null)
+            for (EdgeChangeListener listener : listeners)
+                listener.vertexAdded(numVertices - 1);
+    }
+
+    /**
+     * Returns the weight of the edge between two vertices of the network
+     *
+     * @param index1 first index
+     * @param index2 second index
+     * @return edge weight; {@link Double}.POSITIVE_INFINITY if there is no such edge
+     */
+    public double getEdgeWeight(int index1, int index2) {
+        if (indexIsValid(index1) && indexIsValid(index2))
+            return storage.getWeight(index1, index2);
+        return Double.POSITIVE_INFINITY;
     }
 
     public T getVertex(int index) {
@@ -219,18 +506,20 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      */
     public void removeVertex(int index) {
         if (indexIsValid(index)) {
+            unindexVertex(index);
             numVertices--;
 
             for (int i = index; i < numVertices; i++)
                 vertices[i] = vertices[i + 1];
-
-            for (int i = index; i < numVertices; i++)
-                for (int j = 0; j <= numVertices; j++)
-                    networkAdjMatrix[i][j] = networkAdjMatrix[i + 1][j];
-
-            for (int i = index; i < numVertices; i++)
-                for (int j = 0; j < numVertices; j++)
-                    networkAdjMatrix[j][i] = networkAdjMatrix[j][i + 1];
+            vertices[numVertices] = null;
+            reindexVertices(index);
+
+            storage.removeVertex(index);
+            componentsStale = true;
+            modCount++;
+            if (listeners != null)
+                for (EdgeChangeListener listener : listeners)
+                    listener.vertexRemoved(index);
         }
     }
 
@@ -240,57 +529,124 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      * @param vertex vertex value
      */
     public void removeVertex(T vertex) {
-        for (int i = 0; i < numVertices; i++) {
-            if (vertex.equals(vertices[i])) {
-                removeVertex(i);
-                return;
-            }
-        }
+        int index = getIndex(vertex);
+        if (index != -1)
+            removeVertex(index);
     }
 
 
     /**
-     * Returns an iterator that performs a depth first search traversal, starting at the given index
+     * Checks if the network is connected, that is, if every vertex can be reached from the first one.
+     * While every edge has a reverse edge this is read from the components kept up to date as edges are added, in
+     * constant time. Those components ignore the direction of the edges, so they can only rule a network out: once
+     * any edge is one-way, a network whose vertices are all in one component still takes a breadth first search
+     * from the first vertex, O(V + E), on every call
      *
-     * @param startIndex starting index
-     * @return {@link Iterator}
+     * @return true if connected; false if not connected
      */
-    public Iterator<T> iteratorDFS(int startIndex) {
-        Integer x;
-        boolean found;
-        LinkedStack<Integer> traversalStack = new LinkedStack<>();
-        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
-        boolean[] visited = new boolean[numVertices];
+    public boolean isConnected() {
+        if (isEmpty())
+            return false;
+
+        updateComponents();
+        if (components.count() > 1)
+            return false;
+        return asymmetricEdges == 0 || countReachable(0) == numVertices;
+    }
 
-        if (!indexIsValid(startIndex))
-            return resultList.iterator();
+    /**
+     * Returns the number of connected components of the network, treating every edge as two-way
+     *
+     * @return number of components
+     */
+    public int componentCount() {
+        updateComponents();
+        return components.count();
+    }
+
+    /**
+     * Checks if two vertices are in the same connected component, treating every edge as two-way
+     *
+     * @param index1 first index
+     * @param index2 second index
+     * @return true if they are in the same component; false if not, or if an index is invalid
+     */
+    public boolean sameComponent(int index1, int index2) {
+        if (!indexIsValid(index1) || !indexIsValid(index2))
+            return false;
 
+        updateComponents();
+        return components.connected(index1, index2);
+    }
+
+    /**
+     * Checks if two vertices are in the same connected component, treating every edge as two-way
+     *
+     * @param vertex1 first vertex
+     * @param vertex2 second vertex
+     * @return true if they are in the same component; false if not, or if a vertex is not in the network
+     */
+    public boolean sameComponent(T vertex1, T vertex2) {
+        return sameComponent(getIndex(vertex1), getIndex(vertex2));
+    }
+
+    /**
+     * Rebuilds the components and the count of one-way edges from the edges, if a removal made them stale
+     */
+    private void updateComponents() {
+        if (!componentsStale)
+            return;
+
+        components = new DisjointSet(numVertices);
+        asymmetricEdges = 0;
         for (int i = 0; i < numVertices; i++)
-            visited[i] = false;
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                int j = storage.edgeTarget(i, e);
+                if (j != i) {
+                    components.union(i, j);
+                    if (!hasEdge(j, i))
+                        asymmetricEdges++;
+                }
+            }
+        componentsStale = false;
+    }
 
-        traversalStack.push(startIndex);
-        resultList.addToRear(vertices[startIndex]);
-        visited[startIndex] = true;
+    /**
+     * Counts the vertices reachable from a vertex with a breadth first search
+     *
+     * @param startIndex starting index
+     * @return number of vertices reached, including the start
+     */
+    private int countReachable(int startIndex) {
+        boolean[] visited = new boolean[numVertices];
+        int[] queue = new int[numVertices];
+        int head = 0;
+        int tail = 0;
 
-        while (!traversalStack.isEmpty()) {
-            x = traversalStack.peek();
-            found = false;
-
-            /** Find a vertex adjacent to x that has not been visited
-             and push it on the stack */
-            for (int i = 0; (i < numVertices) && !found; i++) {
-                if ((networkAdjMatrix[x.intValue()][i] < Double.POSITIVE_INFINITY)
-                        && !visited[i]) {
-                    traversalStack.push(i);
-                    resultList.addToRear(vertices[i]);
-                    visited[i] = true;
-                    found = true;
+        queue[tail++] = startIndex;
+        visited[startIndex] = true;
+        while (head < tail) {
+            int x = queue[head++];
+            for (int e = storage.firstEdge(x); e != -1; e = storage.nextEdge(x, e)) {
+                int y = storage.edgeTarget(x, e);
+                if (!visited[y]) {
+                    visited[y] = true;
+                    queue[tail++] = y;
                 }
             }
-            if (!found && !traversalStack.isEmpty())
-                traversalStack.pop();
         }
-        return resultList.iterator();
+        return tail;
+    }
+
+    /**
+     * Returns an iterator that performs a depth first search traversal, starting at the given index. The traversal
+     * advances as the iterator is consumed, so stopping early only pays for the vertices visited
+     *
+     * @param startIndex starting index
+     * @return {@link Iterator}
+     */
+    public Iterator<T> iteratorDFS(int startIndex) {
+        return new DepthFirstIterator(startIndex);
     }
 
 
@@ -305,42 +661,14 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
     }
 
     /**
-     * Returns an iterator that performs a breadth first search traversal starting at the given index
+     * Returns an iterator that performs a breadth first search traversal starting at the given index. The traversal
+     * advances as the iterator is consumed, so stopping early only pays for the vertices visited
      *
      * @param startIndex starting index
      * @return {@link Iterator}
      */
     public Iterator<T> iteratorBFS(int startIndex) {
-        Integer x;
-        LinkedQueue<Integer> traversalQueue = new LinkedQueue<Integer>();
-        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<T>();
-
-        if (!indexIsValid(startIndex))
-            return resultList.iterator();
-
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++)
-            visited[i] = false;
-
-
-        traversalQueue.enqueue(startIndex);
-        visited[startIndex] = true;
-
-        while (!traversalQueue.isEmpty()) {
-            x = traversalQueue.dequeue();
-            resultList.addToRear(vertices[x.intValue()]);
-
-            /** Find all vertices adjacent to x that have not been
-             visited and queue them up */
-            for (int i = 0; i < numVertices; i++) {
-                if ((networkAdjMatrix[x.intValue()][i] < Double.POSITIVE_INFINITY)
-                        && !visited[i]) {
-                    traversalQueue.enqueue(i);
-                    visited[i] = true;
-                }
-            }
-        }
-        return resultList.iterator();
+        return new BreadthFirstIterator(startIndex);
     }
 
 
@@ -364,104 +692,357 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      */
     protected Iterator<Integer> iteratorShortestPathIndices
     (int startIndex, int targetIndex) {
-        int index;
-        double weight;
-        int[] predecessor = new int[numVertices];
-        Heap<Double> traversalMinHeap = new Heap<>();
-        ArrayUnorderedList<Integer> resultList =
-                new ArrayUnorderedList<>();
-        LinkedStack<Integer> stack = new LinkedStack<>();
-
-        int[] pathIndex = new int[numVertices];
-        double[] pathWeight = new double[numVertices];
-        for (int i = 0; i < numVertices; i++)
-            pathWeight[i] = Double.POSITIVE_INFINITY;
-
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++)
-            visited[i] = false;
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
 
         if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) ||
                 (startIndex == targetIndex) || isEmpty())
             return resultList.iterator();
 
-        pathWeight[startIndex] = 0;
-        predecessor[startIndex] = -1;
-        visited[startIndex] = true;
-        weight = 0;
+        for (int index : shortestPath(startIndex, targetIndex, new double[1]))
+            resultList.addToRear(index);
+
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns the indices of the vertices in the least weight path between two valid indices, read from the
+     * all-pairs table while it is current and found with Dijkstra's algorithm otherwise
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @param pathWeight  filled at index 0 with the path weight; {@link Double}.POSITIVE_INFINITY if there is no path
+     * @return path indices, starting with startIndex; empty if there is no path
+     */
+    protected int[] shortestPath(int startIndex, int targetIndex, double[] pathWeight) {
+        AllPairsShortestPaths<T> table = getAllPairs();
+        if (table != null) {
+            pathWeight[0] = table.distance(startIndex, targetIndex);
+            return table.findPath(startIndex, targetIndex);
+        }
+
+        double[] pathWeights = new double[numVertices];
+        int[] predecessor = dijkstra(startIndex, targetIndex, pathWeights);
+        pathWeight[0] = pathWeights[targetIndex];
+
+        if (pathWeights[targetIndex] == Double.POSITIVE_INFINITY)  // no possible path
+            return new int[0];
+
+        int length = 1;
+        for (int index = targetIndex; index != startIndex; index = predecessor[index])
+            length++;
+
+        int[] path = new int[length];
+        for (int i = length - 1, index = targetIndex; i >= 0; i--, index = predecessor[index])
+            path[i] = index;
+        return path;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the given index. Unvisited vertices are kept in an {@link IndexedMinHeap} keyed
+     * by their current path weight, so each vertex is settled by a single removeMin and each relaxation is a
+     * decrease-key. The search stops as soon as the target is settled; a target of -1 settles every reachable vertex
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index; -1 to settle every reachable vertex
+     * @param pathWeight  filled with the path weight of each vertex; final for every settled vertex and
+     *                    {@link Double}.POSITIVE_INFINITY for unreached ones
+     * @return predecessor of each vertex in the shortest path tree; -1 for the start and unreached vertices
+     */
+    protected int[] dijkstra(int startIndex, int targetIndex, double[] pathWeight) {
+        int[] predecessor = new int[numVertices];
+        boolean[] visited = new boolean[numVertices];
+        IndexedMinHeap traversalMinHeap = new IndexedMinHeap(numVertices);
 
-        /** Update the pathWeight for each vertex except the
-         startVertex. Notice that all vertices not adjacent
-         to the startVertex  will have a pathWeight of
-         infinity for now. */
         for (int i = 0; i < numVertices; i++) {
-            if (!visited[i]) {
-                pathWeight[i] = pathWeight[startIndex] +
-                        networkAdjMatrix[startIndex][i];
-                predecessor[i] = startIndex;
-                traversalMinHeap.addElement(pathWeight[i]);
+            pathWeight[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+
+        pathWeight[startIndex] = 0;
+        traversalMinHeap.insert(startIndex, 0);
+
+        while (!traversalMinHeap.isEmpty()) {
+            int index = traversalMinHeap.removeMin();
+            visited[index] = true;
+            if (index == targetIndex)
+                break;
+
+            /** Update the pathWeight for each vertex that has not been
+             visited and is adjacent to the last vertex that was visited. */
+            for (int edge = storage.firstEdge(index); edge != -1; edge = storage.nextEdge(index, edge)) {
+                int i = storage.edgeTarget(index, edge);
+                double weight = storage.edgeWeight(index, edge);
+                if (!visited[i] && (pathWeight[index] + weight) < pathWeight[i]) {
+                    pathWeight[i] = pathWeight[index] + weight;
+                    predecessor[i] = index;
+                    traversalMinHeap.insertOrDecrease(i, pathWeight[i]);
+                }
             }
         }
+        return predecessor;
+    }
+
+    /**
+     * Computes the shortest paths from the given index to every vertex, so that the distance and path to any number
+     * of targets can be read without searching again
+     *
+     * @param sourceIndex source index
+     * @return {@link ShortestPathTree}; with no reachable vertex if the index is not valid
+     */
+    public ShortestPathTree<T> computeFrom(int sourceIndex) {
+        double[] pathWeight = new double[numVertices];
+        if (!indexIsValid(sourceIndex)) {
+            int[] predecessor = new int[numVertices];
+            Arrays.fill(pathWeight, Double.POSITIVE_INFINITY);
+            Arrays.fill(predecessor, -1);
+            return new ShortestPathTree<>(this, -1, pathWeight, predecessor);
+        }
+
+        int[] predecessor = dijkstra(sourceIndex, -1, pathWeight);
+        return new ShortestPathTree<>(this, sourceIndex, pathWeight, predecessor);
+    }
+
+    /**
+     * Computes the shortest paths from the given vertex to every vertex
+     *
+     * @param sourceVertex source vertex
+     * @return {@link ShortestPathTree}; with no reachable vertex if the vertex is not found
+     */
+    public ShortestPathTree<T> computeFrom(T sourceVertex) {
+        return computeFrom(getIndex(sourceVertex));
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the given index, reporting it to a visitor. A vertex is discovered when it is
+     * settled, at its final path weight and with its predecessor in the shortest path tree as parent, and its edges to
+     * unsettled vertices are then relaxed. Edges skipped by the visitor are not used by any path
+     *
+     * @param startIndex starting index
+     * @param visitor    callbacks of the traversal
+     * @return true if the visitor stopped the traversal; false if it ran to the end
+     */
+    public boolean traverseShortestPaths(int startIndex, GraphVisitor visitor) {
+        if (!indexIsValid(startIndex))
+            return false;
 
-        do {
-            weight = (traversalMinHeap.removeMin()).doubleValue();
-            traversalMinHeap.removeAllElements();
-            if (weight == Double.POSITIVE_INFINITY)  // no possible path
-                return resultList.iterator();
-            else {
-                index = getIndexOfAdjVertexWithWeightOf(visited, pathWeight,
-                        weight);
-                visited[index] = true;
+        double[] pathWeight = new double[numVertices];
+        int[] predecessor = new int[numVertices];
+        long[] settled = new long[BitMatrix.wordsFor(numVertices)];
+        IndexedMinHeap traversalMinHeap = new IndexedMinHeap(numVertices);
+
+        Arrays.fill(pathWeight, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessor, -1);
+        pathWeight[startIndex] = 0;
+        traversalMinHeap.insert(startIndex, 0);
+
+        while (!traversalMinHeap.isEmpty()) {
+            int index = traversalMinHeap.removeMin();
+            setBit(settled, index);
+
+            GraphVisitor.Action action = visitor.discover(index, predecessor[index], pathWeight[index]);
+            if (action == GraphVisitor.Action.STOP)
+                return true;
+            if (action == GraphVisitor.Action.SKIP_SUBTREE) {
+                visitor.finish(index);
+                continue;
             }
 
-            /** Update the pathWeight for each vertex that has not been
-             visited and is adjacent to the last vertex that was visited.
-             Also, add each unvisited vertex to the heap. */
-            for (int i = 0; i < numVertices; i++) {
-                if (!visited[i]) {
-                    if ((networkAdjMatrix[index][i] < Double.POSITIVE_INFINITY) &&
-                            (pathWeight[index] + networkAdjMatrix[index][i]) < pathWeight[i]) {
-                        pathWeight[i] = pathWeight[index] + networkAdjMatrix[index][i];
+            for (int edge = storage.firstEdge(index); edge != -1; edge = storage.nextEdge(index, edge)) {
+                int i = storage.edgeTarget(index, edge);
+                if ((settled[i >>> 6] & (1L << i)) != 0)
+                    continue;
+
+                double weight = storage.edgeWeight(index, edge);
+                action = visitor.relaxEdge(index, i, weight);
+                if (action == GraphVisitor.Action.STOP)
+                    return true;
+                if (action == GraphVisitor.Action.SKIP_SUBTREE)
+                    continue;
+
+                if (pathWeight[index] + weight < pathWeight[i]) {
+                    pathWeight[i] = pathWeight[index] + weight;
+                    predecessor[i] = index;
+                    traversalMinHeap.insertOrDecrease(i, pathWeight[i]);
+                }
+            }
+            visitor.finish(index);
+        }
+        return false;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the given vertex, reporting it to a visitor
+     *
+     * @param startVertex starting vertex
+     * @param visitor     callbacks of the traversal
+     * @return true if the visitor stopped the traversal; false if it ran to the end
+     */
+    public boolean traverseShortestPaths(T startVertex, GraphVisitor visitor) {
+        return traverseShortestPaths(getIndex(startVertex), visitor);
+    }
+
+    /**
+     * Runs a bidirectional Dijkstra search between two vertices: one search goes forward from the start over
+     * outgoing edges, the other backward from the target over incoming edges, and each step settles the vertex of
+     * the search with the lower key. Every edge scanned towards a vertex reached by the other search offers a path
+     * through it, and the search stops once the two lowest keys add up to no less than the best path offered, since
+     * no path left can be shorter. The incoming edges come from the index kept by updateInEdges, so one-way paths
+     * are followed in the right direction
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @param pathWeight  set to the weight of the path found in its first slot; {@link Double}.POSITIVE_INFINITY if
+     *                    there is none
+     * @return path indices, starting with startIndex; empty if there is no path
+     */
+    protected int[] bidirectionalDijkstra(int startIndex, int targetIndex, double[] pathWeight) {
+        updateInEdges();
+
+        double[] forwardWeight = new double[numVertices];
+        double[] backwardWeight = new double[numVertices];
+        int[] predecessor = new int[numVertices];
+        int[] successor = new int[numVertices];
+        long[] forwardSettled = new long[BitMatrix.wordsFor(numVertices)];
+        long[] backwardSettled = new long[BitMatrix.wordsFor(numVertices)];
+        IndexedMinHeap forwardHeap = new IndexedMinHeap(numVertices);
+        IndexedMinHeap backwardHeap = new IndexedMinHeap(numVertices);
+
+        Arrays.fill(forwardWeight, Double.POSITIVE_INFINITY);
+        Arrays.fill(backwardWeight, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessor, -1);
+        Arrays.fill(successor, -1);
+        forwardWeight[startIndex] = 0;
+        backwardWeight[targetIndex] = 0;
+        forwardHeap.insert(startIndex, 0);
+        backwardHeap.insert(targetIndex, 0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()
+                && forwardHeap.minKey() + backwardHeap.minKey() < best) {
+            if (forwardHeap.minKey() <= backwardHeap.minKey()) {
+                int index = forwardHeap.removeMin();
+                setBit(forwardSettled, index);
+                for (int edge = storage.firstEdge(index); edge != -1; edge = storage.nextEdge(index, edge)) {
+                    int i = storage.edgeTarget(index, edge);
+                    if ((forwardSettled[i >>> 6] & (1L << i)) != 0)
+                        continue;
+                    double weight = forwardWeight[index] + storage.edgeWeight(index, edge);
+                    if (weight < forwardWeight[i]) {
+                        forwardWeight[i] = weight;
                         predecessor[i] = index;
+                        forwardHeap.insertOrDecrease(i, weight);
+                    }
+                    if (forwardWeight[i] + backwardWeight[i] < best) {
+                        best = forwardWeight[i] + backwardWeight[i];
+                        meeting = i;
+                    }
+                }
+            } else {
+                int index = backwardHeap.removeMin();
+                setBit(backwardSettled, index);
+                for (int k = inOffsets[index]; k < inOffsets[index + 1]; k++) {
+                    int i = inSources[k];
+                    if ((backwardSettled[i >>> 6] & (1L << i)) != 0)
+                        continue;
+                    double weight = backwardWeight[index] + inWeights[k];
+                    if (weight < backwardWeight[i]) {
+                        backwardWeight[i] = weight;
+                        successor[i] = index;
+                        backwardHeap.insertOrDecrease(i, weight);
+                    }
+                    if (forwardWeight[i] + backwardWeight[i] < best) {
+                        best = forwardWeight[i] + backwardWeight[i];
+                        meeting = i;
                     }
-                    traversalMinHeap.addElement(pathWeight[i]);
                 }
             }
-        } while (!traversalMinHeap.isEmpty() && !visited[targetIndex]);
+        }
 
-        index = targetIndex;
-        stack.push(index);
-        do {
-            index = predecessor[index];
-            stack.push(index);
-        } while (index != startIndex);
+        pathWeight[0] = best;
+        if (meeting == -1)
+            return new int[0];
+
+        /** The path is the forward tree from the start to the meeting
+         vertex followed by the backward tree from there to the target */
+        int meetingPosition = 0;
+        for (int index = meeting; index != startIndex; index = predecessor[index])
+            meetingPosition++;
+        int length = meetingPosition + 1;
+        for (int index = meeting; index != targetIndex; index = successor[index])
+            length++;
+
+        int[] path = new int[length];
+        for (int i = meetingPosition, index = meeting; i >= 0; i--, index = predecessor[index])
+            path[i] = index;
+        for (int i = meetingPosition + 1, index = successor[meeting]; i < length; i++, index = successor[index])
+            path[i] = index;
+        return path;
+    }
+
+    /**
+     * Returns an iterator that contains the shortest path between two vertices, found with the given search
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @param mode        search to run
+     * @return {@link Iterator}
+     */
+    public Iterator<T> iteratorShortestPath(int startIndex, int targetIndex, ShortestPathMode mode) {
+        if (mode == ShortestPathMode.DIJKSTRA)
+            return iteratorShortestPath(startIndex, targetIndex);
 
-        while (!stack.isEmpty())
-            resultList.addToRear((stack.pop()));
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || (startIndex == targetIndex))
+            return resultList.iterator();
 
+        for (int index : bidirectionalDijkstra(startIndex, targetIndex, new double[1]))
+            resultList.addToRear(vertices[index]);
         return resultList.iterator();
     }
 
     /**
-     * Returns the index of the vertex that is adjacent to the vertex with the given index and also has a pathweight
-     * equal to the weight
+     * Returns an iterator that contains the shortest path between two vertices, found with the given search
      *
-     * @param visited    array of visited elements
-     * @param pathWeight pathWeight
-     * @param weight     weight
-     * @return index
+     * @param startVertex  starting vertex
+     * @param targetVertex target vertex
+     * @param mode         search to run
+     * @return {@link Iterator}
      */
-    protected int getIndexOfAdjVertexWithWeightOf(boolean[] visited,
-                                                  double[] pathWeight,
-                                                  double weight) {
-        for (int i = 0; i < numVertices; i++)
-            if ((pathWeight[i] == weight) && !visited[i])
-                for (int j = 0; j < numVertices; j++)
-                    if ((networkAdjMatrix[i][j] < Double.POSITIVE_INFINITY) &&
-                            visited[j])
-                        return i;
+    public Iterator<T> iteratorShortestPath(T startVertex, T targetVertex, ShortestPathMode mode) {
+        return iteratorShortestPath(getIndex(startVertex), getIndex(targetVertex), mode);
+    }
+
+    /**
+     * Returns the weight of the least weight path in the network, found with the given search
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @param mode        search to run
+     * @return path weight; {@link Double}.POSITIVE_INFINITY if not found
+     */
+    public double shortestPathWeight(int startIndex, int targetIndex, ShortestPathMode mode) {
+        if (mode == ShortestPathMode.DIJKSTRA)
+            return shortestPathWeight(startIndex, targetIndex);
+
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || (startIndex == targetIndex))
+            return Double.POSITIVE_INFINITY;
+
+        double[] pathWeight = new double[1];
+        bidirectionalDijkstra(startIndex, targetIndex, pathWeight);
+        return pathWeight[0];
+    }
 
-        return -1;  // should never get to here
+    /**
+     * Returns the weight of the least weight path in the network, found with the given search
+     *
+     * @param startVertex  starting vertex
+     * @param targetVertex target vertex
+     * @param mode         search to run
+     * @return path weight; {@link Double}.POSITIVE_INFINITY if not found
+     */
+    public double shortestPathWeight(T startVertex, T targetVertex, ShortestPathMode mode) {
+        return shortestPathWeight(getIndex(startVertex), getIndex(targetVertex), mode);
     }
 
     /**
@@ -504,26 +1085,56 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
      * @return path weight; {@link Double}.POSITIVE_INFINITY if not found
      */
     public double shortestPathWeight(int startIndex, int targetIndex) {
-        double result = 0;
-        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex))
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) ||
+                (startIndex == targetIndex))
             return Double.POSITIVE_INFINITY;
 
-        int index1, index2;
-        Iterator<Integer> it = iteratorShortestPathIndices(startIndex,
-                targetIndex);
+        AllPairsShortestPaths<T> table = getAllPairs();
+        if (table != null)
+            return table.distance(startIndex, targetIndex);
 
-        if (it.hasNext())
-            index1 = it.next().intValue();
-        else
-            return Double.POSITIVE_INFINITY;
+        double[] pathWeight = new double[numVertices];
+        dijkstra(startIndex, targetIndex, pathWeight);
+        return pathWeight[targetIndex];
+    }
 
-        while (it.hasNext()) {
-            index2 = (it.next()).intValue();
-            result += networkAdjMatrix[index1][index2];
-            index1 = index2;
-        }
+    /**
+     * Computes the shortest paths between every pair of vertices, using as many threads as the common pool. Until the
+     * network changes, shortestPathWeight and iteratorShortestPath read their answers from the table instead of
+     * searching
+     *
+     * @return {@link AllPairsShortestPaths} of the network
+     * @throws IllegalArgumentException if the network has more than {@link AllPairsShortestPaths#MAX_VERTICES}
+     *                                  vertices
+     */
+    public AllPairsShortestPaths<T> computeAllPairs() {
+        return computeAllPairs(ForkJoinPool.getCommonPoolParallelism());
+    }
 
-        return result;
+    /**
+     * Computes the shortest paths between every pair of vertices. Until the network changes, shortestPathWeight and
+     * iteratorShortestPath read their answers from the table instead of searching
+     *
+     * @param parallelism number of threads
+     * @return {@link AllPairsShortestPaths} of the network
+     * @throws IllegalArgumentException if parallelism is not positive or the network has more than
+     *                                  {@link AllPairsShortestPaths#MAX_VERTICES} vertices
+     */
+    public AllPairsShortestPaths<T> computeAllPairs(int parallelism) {
+        allPairs = new AllPairsShortestPaths<>(this, parallelism);
+        return allPairs;
+    }
+
+    /**
+     * Returns the all-pairs table of the last call to computeAllPairs if it still describes the network, dropping it
+     * otherwise
+     *
+     * @return {@link AllPairsShortestPaths}; null if there is none or the network changed since it was computed
+     */
+    public AllPairsShortestPaths<T> getAllPairs() {
+        if (allPairs != null && !allPairs.isCurrent())
+            allPairs = null;
+        return allPairs;
     }
 
     /**
@@ -539,118 +1150,415 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
     }
 
     /**
-     * Returns a minimum spanning tree of the network
+     * Returns a minimum spanning tree of the network, built with Prim's algorithm. Every vertex outside the tree
+     * keeps the lightest edge that reaches it from the tree, as its key in an {@link IndexedMinHeap}, so the tree
+     * takes O(E log V) time. When edges tie, the one from the vertex that joined the tree first is kept
      *
      * @return minimum spanning tree {@link Network}
      */
     public Network minimumSpanningTreeNetwork() {
-        int x, y;
-        int index;
-        double weight;
-        int[] edge = new int[2];
-        Heap<Double> minHeap = new Heap<Double>();
-        Network<T> resultGraph = new Network<T>();
+        Network<T> resultGraph = new Network<T>(storage.emptyCopy());
 
         if (isEmpty() || !isConnected())
             return resultGraph;
 
-        resultGraph.networkAdjMatrix = new double[numVertices][numVertices];
         for (int i = 0; i < numVertices; i++)
-            for (int j = 0; j < numVertices; j++)
-                resultGraph.networkAdjMatrix[i][j] = Double.POSITIVE_INFINITY;
-        resultGraph.vertices = (T[]) (new Object[numVertices]);
+            resultGraph.addVertex(this.vertices[i]);
 
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++)
-            visited[i] = false;
+        boolean[] inTree = new boolean[numVertices];
+        int[] parent = new int[numVertices];
+        IndexedMinHeap minHeap = new IndexedMinHeap(numVertices);
+
+        minHeap.insert(0, 0);
+        parent[0] = -1;
+
+        while (!minHeap.isEmpty()) {
+            int index = minHeap.removeMin();
+            inTree[index] = true;
 
-        edge[0] = 0;
-        resultGraph.vertices[0] = this.vertices[0];
-        resultGraph.numVertices++;
-        visited[0] = true;
+            /** Add the edge that reached the vertex to the resultGraph */
+            int from = parent[index];
+            if (from != -1) {
+                resultGraph.addEdge(from, index, storage.getWeight(from, index));
+                resultGraph.addEdge(index, from, storage.getWeight(index, from));
+            }
+
+            /** Offer the edges of the new tree vertex to the vertices
+             that are still outside the tree */
+            for (int e = storage.firstEdge(index); e != -1; e = storage.nextEdge(index, e)) {
+                int target = storage.edgeTarget(index, e);
+                if (!inTree[target] && minHeap.insertOrDecrease(target, storage.edgeWeight(index, e)))
+                    parent[target] = index;
+            }
+        }
+        return resultGraph;
+    }
+
+    /**
+     * Returns a minimum spanning forest of the network, built with Kruskal's algorithm: one minimum spanning tree
+     * per connected component, so maps that are only partly connected still get a forest instead of an empty network.
+     * The edges are copied into primitive arrays, sorted by weight in parallel, and added lightest first whenever a
+     * {@link DisjointSet} shows that they join two trees. Edges are treated as undirected, and when edges tie the one
+     * that comes first in the storage wins
+     *
+     * @return minimum spanning forest {@link Network}, with every vertex of the network
+     */
+    public Network<T> minimumSpanningForestNetwork() {
+        Network<T> resultGraph = new Network<T>(numVertices, storage.emptyCopy());
 
-        /** Add all edges, which are adjacent to the starting vertex,
-         to the heap */
         for (int i = 0; i < numVertices; i++)
-            minHeap.addElement(networkAdjMatrix[0][i]);
-
-        while ((resultGraph.size() < this.size()) && !minHeap.isEmpty()) {
-            /** Get the edge with the smallest weight that has exactly
-             one vertex already in the resultGraph */
-            do {
-                weight = (minHeap.removeMin()).doubleValue();
-                edge = getEdgeWithWeightOf(weight, visited);
-            } while (!indexIsValid(edge[0]) || !indexIsValid(edge[1]));
-
-            x = edge[0];
-            y = edge[1];
-            if (!visited[x])
-                index = x;
-            else
-                index = y;
-
-            /** Add the new edge and vertex to the resultGraph */
-            resultGraph.vertices[index] = this.vertices[index];
-            visited[index] = true;
-            resultGraph.numVertices++;
-
-            resultGraph.networkAdjMatrix[x][y] = this.networkAdjMatrix[x][y];
-            resultGraph.networkAdjMatrix[y][x] = this.networkAdjMatrix[y][x];
-
-            /** Add all edges, that are adjacent to the newly added vertex,
-             to the heap */
-            for (int i = 0; i < numVertices; i++) {
-                if (!visited[i] && (this.networkAdjMatrix[i][index] <
-                        Double.POSITIVE_INFINITY)) {
-                    edge[0] = index;
-                    edge[1] = i;
-                    minHeap.addElement(networkAdjMatrix[index][i]);
-                }
+            resultGraph.addVertex(this.vertices[i]);
+
+        int numEdges = storage.edgeCount();
+        int[] from = new int[numEdges];
+        int[] to = new int[numEdges];
+        double[] weights = new double[numEdges];
+        int edge = 0;
+        for (int i = 0; i < numVertices; i++)
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                from[edge] = i;
+                to[edge] = storage.edgeTarget(i, e);
+                weights[edge] = storage.edgeWeight(i, e);
+                edge++;
+            }
+
+        int[] order = sortByWeight(weights);
+        DisjointSet forest = new DisjointSet(numVertices);
+
+        for (int k = 0; k < numEdges && forest.count() > 1; k++) {
+            int x = from[order[k]];
+            int y = to[order[k]];
+            if (forest.union(x, y)) {
+                resultGraph.addEdge(x, y, weights[order[k]]);
+                resultGraph.addEdge(y, x, storage.getWeight(y, x));
             }
         }
         return resultGraph;
     }
 
+    /**
+     * Returns a minimum spanning tree of the network. See {@link #minimumSpanningTreeNetwork()}
+     *
+     * @return minimum spanning tree {@link Network}
+     */
+    public Graph getMinimumSpanningTree() {
+        return minimumSpanningTreeNetwork();
+    }
+
+    /**
+     * Returns a minimum spanning forest of the network. See {@link #minimumSpanningForestNetwork()}
+     *
+     * @return minimum spanning forest {@link Network}, with every vertex of the network
+     */
+    public Graph<T> getSpanningForest() {
+        return minimumSpanningForestNetwork();
+    }
 
     /**
-     * Returns the edge with the given weight. Exactly one vertex of the edge must have been visited
+     * Returns a minimum spanning forest of the network, built with Boruvka's algorithm on the given number of
+     * threads. See {@link BoruvkaSpanningForest}
      *
-     * @param weight  weight
-     * @param visited visited edges array
-     * @return edges with given weight
+     * @param parallelism number of threads
+     * @return minimum spanning forest {@link Network}, with every vertex of the network
      */
-    protected int[] getEdgeWithWeightOf(double weight, boolean[] visited) {
-        int[] edge = new int[2];
+    public Network<T> parallelMinimumSpanningForestNetwork(int parallelism) {
+        return new BoruvkaSpanningForest<T>(this, parallelism).compute();
+    }
+
+    /**
+     * Returns the positions of the weights in increasing order of weight, with ties in increasing order of position.
+     * Each weight is replaced by its rank among the distinct sorted weights, and the rank and position are packed
+     * into one long, so that both sorts run on primitive arrays.
+     *
+     * @param weights weights to sort
+     * @return positions sorted by weight
+     */
+    private static int[] sortByWeight(double[] weights) {
+        int n = weights.length;
+        double[] sorted = weights.clone();
+        Arrays.parallelSort(sorted);
+        /** equal weights are kept once, so binarySearch finds the one rank they share */
+        int distinct = 0;
+        for (int i = 0; i < n; i++)
+            if (distinct == 0 || Double.compare(sorted[distinct - 1], sorted[i]) != 0)
+                sorted[distinct++] = sorted[i];
+
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            long rank = Arrays.binarySearch(sorted, 0, distinct, weights[i]);
+            keys[i] = rank << 32 | i;
+        }
+        Arrays.parallelSort(keys);
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = (int) keys[i];
+        return order;
+    }
+
+    /**
+     * Creates a new vertices array with the given number of slots and makes the same room in the edge storage
+     *
+     * @param capacity new number of vertex slots
+     */
+    protected void resize(int capacity) {
+        T[] largerVertices = (T[]) (new Object[capacity]);
+
+        System.arraycopy(vertices, 0, largerVertices, 0, numVertices);
+
+        vertices = largerVertices;
+        storage.ensureCapacity(capacity);
+        vertexIndex.ensureCapacity(capacity);
+    }
+
+    /**
+     * Returns the cursor of the first edge leaving a vertex, which is a cursor of the edge storage
+     *
+     * @param index vertex index
+     * @return cursor; -1 if the vertex has no edges
+     */
+    protected int firstEdge(int index) {
+        return storage.firstEdge(index);
+    }
+
+    /**
+     * Returns the cursor of the edge after the given one
+     *
+     * @param index  vertex index
+     * @param cursor current cursor
+     * @return cursor; -1 if there are no more edges
+     */
+    protected int nextEdge(int index, int cursor) {
+        return storage.nextEdge(index, cursor);
+    }
+
+    /**
+     * Returns the target of the edge at a cursor
+     *
+     * @param index  vertex index
+     * @param cursor edge cursor
+     * @return target index
+     */
+    protected int edgeTarget(int index, int cursor) {
+        return storage.edgeTarget(index, cursor);
+    }
+
+    /**
+     * Returns the weight of the edge at a cursor
+     *
+     * @param index  vertex index
+     * @param cursor edge cursor
+     * @return weight
+     */
+    protected double edgeWeight(int index, int cursor) {
+        return storage.edgeWeight(index, cursor);
+    }
+
+    /**
+     * Checks if a vertex has an edge coming from any vertex of a bitset, used by bottom-up searches. When every edge
+     * goes both ways these are its outgoing edges; otherwise they are read from the index of incoming edges
+     *
+     * @param sources bitset of source vertices
+     * @param index   vertex index
+     * @return true if some source has an edge to the vertex
+     */
+    protected boolean hasEdgeFromAny(long[] sources, int index) {
+        updateComponents();
+        if (asymmetricEdges == 0) {
+            for (int e = storage.firstEdge(index); e != -1; e = storage.nextEdge(index, e)) {
+                int i = storage.edgeTarget(index, e);
+                if ((sources[i >>> 6] & (1L << i)) != 0)
+                    return true;
+            }
+            return false;
+        }
+
+        updateInEdges();
+        for (int k = inOffsets[index]; k < inOffsets[index + 1]; k++) {
+            int i = inSources[k];
+            if ((sources[i >>> 6] & (1L << i)) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Indexes the incoming edges of every vertex, grouped by target with a counting sort, unless they have been
+     * indexed since the last change to the network
+     */
+    private void updateInEdges() {
+        if (inEdgesModCount == modCount)
+            return;
+
+        int[] offsets = new int[numVertices + 1];
+        for (int i = 0; i < numVertices; i++)
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e))
+                offsets[storage.edgeTarget(i, e) + 1]++;
+        for (int i = 0; i < numVertices; i++)
+            offsets[i + 1] += offsets[i];
+
+        int[] sources = new int[offsets[numVertices]];
+        double[] weights = new double[offsets[numVertices]];
+        int[] fill = Arrays.copyOf(offsets, numVertices);
         for (int i = 0; i < numVertices; i++)
-            for (int j = 0; j < numVertices; j++)
-                if ((networkAdjMatrix[i][j] == weight) && (visited[i] ^ visited[j])) {
-                    edge[0] = i;
-                    edge[1] = j;
-                    return edge;
+            for (int e = storage.firstEdge(i); e != -1; e = storage.nextEdge(i, e)) {
+                int position = fill[storage.edgeTarget(i, e)]++;
+                sources[position] = i;
+                weights[position] = storage.edgeWeight(i, e);
+            }
+
+        inOffsets = offsets;
+        inSources = sources;
+        inWeights = weights;
+        inEdgesModCount = modCount;
+    }
+
+    /**
+     * Breadth first traversal that takes the next vertex off an int ring buffer and queues its unvisited neighbours
+     * only when next is called
+     */
+    private class BreadthFirstIterator implements Iterator<T> {
+        private final long[] visited;
+        private int[] queue;
+        private int head;
+        private int size;
+        private final int expectedModCount;
+
+        BreadthFirstIterator(int startIndex) {
+            this.visited = new long[BitMatrix.wordsFor(numVertices)];
+            this.queue = new int[DEFAULT_CAPACITY];
+            this.head = 0;
+            this.size = 0;
+            this.expectedModCount = modCount;
+
+            if (indexIsValid(startIndex)) {
+                setBit(visited, startIndex);
+                enqueue(startIndex);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkForChanges(expectedModCount);
+            return size > 0;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            int x = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+
+            /** Queue every vertex adjacent to x that has not been visited */
+            for (int edge = storage.firstEdge(x); edge != -1; edge = storage.nextEdge(x, edge)) {
+                int i = storage.edgeTarget(x, edge);
+                if ((visited[i >>> 6] & (1L << i)) == 0) {
+                    setBit(visited, i);
+                    enqueue(i);
                 }
+            }
+            return vertices[x];
+        }
 
-        /** Will only get to here if a valid edge is not found */
-        edge[0] = -1;
-        edge[1] = -1;
-        return edge;
+        private void enqueue(int index) {
+            if (size == queue.length) {
+                int[] larger = new int[queue.length * 2];
+                for (int i = 0; i < size; i++)
+                    larger[i] = queue[(head + i) % queue.length];
+                queue = larger;
+                head = 0;
+            }
+            queue[(head + size) % queue.length] = index;
+            size++;
+        }
     }
 
     /**
-     * Creates new arrays to store the contents of the network with ten more slots
+     * Depth first traversal that keeps the path from the start on an int stack, each entry with the cursor of the
+     * next edge to try, and only looks for the next vertex after the current one has been returned
      */
-    protected void expandCapacity() {
-        T[] largerVertices = (T[]) (new Object[vertices.length + 10]);
-        double[][] largerAdjMatrix =
-                new double[vertices.length * 2][vertices.length + 10];
+    private class DepthFirstIterator implements Iterator<T> {
+        private final long[] visited;
+        private int[] stack;
+        private int[] cursors;
+        private int depth;
+        private int nextIndex;   // next vertex to return; -1 when the traversal is over
+        private final int expectedModCount;
+
+        DepthFirstIterator(int startIndex) {
+            this.visited = new long[BitMatrix.wordsFor(numVertices)];
+            this.stack = new int[DEFAULT_CAPACITY];
+            this.cursors = new int[DEFAULT_CAPACITY];
+            this.depth = 0;
+            this.nextIndex = indexIsValid(startIndex) ? startIndex : -1;
+            this.expectedModCount = modCount;
+
+            if (nextIndex != -1)
+                setBit(visited, startIndex);
+        }
 
-        for (int i = 0; i < numVertices; i++) {
-            for (int j = 0; j < numVertices; j++) {
-                largerAdjMatrix[i][j] = networkAdjMatrix[i][j];
+        @Override
+        public boolean hasNext() {
+            checkForChanges(expectedModCount);
+            return nextIndex != -1;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            int current = nextIndex;
+            push(current);
+            nextIndex = findNext();
+            return vertices[current];
+        }
+
+        /**
+         * Finds the next unvisited vertex adjacent to the top of the stack, popping the vertices that have none
+         *
+         * @return vertex index; -1 if every reachable vertex has been visited
+         */
+        private int findNext() {
+            while (depth > 0) {
+                int x = stack[depth - 1];
+                int edge = cursors[depth - 1];
+                while (edge != -1) {
+                    int i = storage.edgeTarget(x, edge);
+                    edge = storage.nextEdge(x, edge);
+                    if ((visited[i >>> 6] & (1L << i)) == 0) {
+                        cursors[depth - 1] = edge;
+                        setBit(visited, i);
+                        return i;
+                    }
+                }
+                depth--;
             }
-            largerVertices[i] = vertices[i];
+            return -1;
         }
 
-        vertices = largerVertices;
-        networkAdjMatrix = largerAdjMatrix;
+        private void push(int index) {
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                cursors = Arrays.copyOf(cursors, cursors.length * 2);
+            }
+            stack[depth] = index;
+            cursors[depth] = storage.firstEdge(index);
+            depth++;
+        }
+    }
+
+    /**
+     * Throws if the network changed since a traversal started, since its edge cursors are no longer valid
+     *
+     * @param expectedModCount number of changes when the traversal started
+     * @throws ConcurrentModificationException if the network changed
+     */
+    private void checkForChanges(int expectedModCount) {
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,316 @@
+package org.example.Structures.Implementations;
+
+import java.util.Iterator;
+
+/**
+ * Bounded cache of shortest paths of a {@link Network}, for the paths that many bots ask for again and again, such
+ * as from a base to the enemy base. Each entry keeps the path as an int array of vertex indices and its weight,
+ * under the key (start index, target index) of the version of the network it was found in. When the version of
+ * the network changes every entry is dropped, so a path is never served for a network that has changed since.
+ *
+ * Entries live in fixed arrays, found through an open addressing table with linear probing and linked in order of
+ * use, so a hit costs one probe and when the cache is full the least recently used entry makes room.
+ *
+ * The cache is thread safe. A miss searches the network while holding the lock of the cache, so that threads missing
+ * the same path do not both search it, and threads that share a cache search one at a time. Searches only read the
+ * network, but it must not be changed by other threads meanwhile.
+ *
+ * @param <T> type of the vertices of the network
+ */
+public class PathCache<T> {
+    private final Network<T> network;
+    private final int capacity;
+    private int version;
+    private int count;
+    private long hits;
+    private long misses;
+
+    /** Entries, by entry number. prev and next link them from the most
+     recently used, head, to the least recently used, tail */
+    private final long[] keys;
+    private final int[][] paths;
+    private final double[] weights;
+    private final int[] prev;
+    private final int[] next;
+    private int head;
+    private int tail;
+
+    private final int[] table;   // hash slot -> entry number + 1; 0 if empty
+
+    /**
+     * Creates an empty {@link PathCache}
+     *
+     * @param network  network whose paths are cached
+     * @param capacity largest number of paths kept
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public PathCache(Network<T> network, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive.");
+
+        this.network = network;
+        this.capacity = capacity;
+        this.version = network.getVersion();
+        this.keys = new long[capacity];
+        this.paths = new int[capacity][];
+        this.weights = new double[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.head = -1;
+        this.tail = -1;
+
+        int tableSize = 2;
+        while (tableSize < 2 * capacity)
+            tableSize *= 2;
+        this.table = new int[tableSize];
+    }
+
+    /**
+     * Getter for the largest number of paths kept
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of paths kept for the current version of the network
+     *
+     * @return number of paths
+     */
+    public synchronized int size() {
+        checkVersion();
+        return count;
+    }
+
+    /**
+     * Getter for the number of queries answered from the cache
+     *
+     * @return number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Getter for the number of queries that had to search the network
+     *
+     * @return number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Removes every path and resets the hit and miss counters
+     */
+    public synchronized void clear() {
+        clearEntries();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Returns the indices of the vertices in the least weight path between two vertices
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return path indices, starting with startIndex; just startIndex when it is the target; empty if there is no
+     * path or an index is not valid
+     */
+    public int[] findPath(int startIndex, int targetIndex) {
+        return lookup(startIndex, targetIndex, new double[1]).clone();
+    }
+
+    /**
+     * Returns the weight of the least weight path between two vertices
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @return path weight; 0 from a vertex to itself; {@link Double}.POSITIVE_INFINITY if there is no path or an
+     * index is not valid
+     */
+    public double pathWeight(int startIndex, int targetIndex) {
+        double[] pathWeight = new double[1];
+        lookup(startIndex, targetIndex, pathWeight);
+        return pathWeight[0];
+    }
+
+    /**
+     * Returns an iterator that contains the least weight path between two vertices
+     *
+     * @param startVertex  starting vertex
+     * @param targetVertex target vertex
+     * @return {@link Iterator}, starting with the start; empty if there is no path
+     */
+    public Iterator<T> iteratorPath(T startVertex, T targetVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        for (int index : findPath(network.getIndex(startVertex), network.getIndex(targetVertex)))
+            resultList.addToRear(network.getVertex(index));
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns a path from the cache, searching the network and caching the path on a miss. The array returned is
+     * the one kept by the cache
+     *
+     * @param startIndex  starting index
+     * @param targetIndex target index
+     * @param pathWeight  filled at index 0 with the path weight
+     * @return path indices; empty if there is no path or an index is not valid
+     */
+    private synchronized int[] lookup(int startIndex, int targetIndex, double[] pathWeight) {
+        int numVertices = network.size();
+        if (startIndex < 0 || startIndex >= numVertices || targetIndex < 0 || targetIndex >= numVertices) {
+            pathWeight[0] = Double.POSITIVE_INFINITY;
+            return new int[0];
+        }
+
+        checkVersion();
+        long key = (long) startIndex << 32 | targetIndex;
+        int entry = find(key);
+        if (entry != -1) {
+            hits++;
+            moveToFront(entry);
+            pathWeight[0] = weights[entry];
+            return paths[entry];
+        }
+        misses++;
+
+        int[] path;
+        if (startIndex == targetIndex) {
+            path = new int[]{startIndex};
+            pathWeight[0] = 0;
+        } else {
+            path = network.shortestPath(startIndex, targetIndex, pathWeight);
+        }
+
+        entry = insert(key);
+        paths[entry] = path;
+        weights[entry] = pathWeight[0];
+        return path;
+    }
+
+    /**
+     * Drops every entry if the network changed since they were cached
+     */
+    private void checkVersion() {
+        int current = network.getVersion();
+        if (current != version) {
+            clearEntries();
+            version = current;
+        }
+    }
+
+    private void clearEntries() {
+        for (int i = 0; i < table.length; i++)
+            table[i] = 0;
+        for (int i = 0; i < count; i++)
+            paths[i] = null;
+        count = 0;
+        head = -1;
+        tail = -1;
+    }
+
+    /**
+     * Returns the entry of a key
+     *
+     * @param key start index in the high half and target index in the low half
+     * @return entry number; -1 if the key is not cached
+     */
+    private int find(long key) {
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; table[slot] != 0; slot = (slot + 1) & mask)
+            if (keys[table[slot] - 1] == key)
+                return table[slot] - 1;
+        return -1;
+    }
+
+    /**
+     * Adds a key, evicting the least recently used entry when the cache is full
+     *
+     * @param key key that is not cached
+     * @return entry number of the key, at the front of the use order
+     */
+    private int insert(long key) {
+        int entry;
+        if (count < capacity) {
+            entry = count++;
+        } else {
+            entry = tail;
+            remove(keys[entry]);
+            unlink(entry);
+        }
+
+        keys[entry] = key;
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (table[slot] != 0)
+            slot = (slot + 1) & mask;
+        table[slot] = entry + 1;
+        linkFirst(entry);
+        return entry;
+    }
+
+    /**
+     * Removes a key from the hash table
+     *
+     * @param key cached key
+     */
+    private void remove(long key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[table[slot] - 1] != key)
+            slot = (slot + 1) & mask;
+
+        /** Shift back the keys that follow in the same probe run, so
+         lookups never stop early at the emptied slot */
+        int following = (slot + 1) & mask;
+        while (table[following] != 0) {
+            int home = hash(keys[table[following] - 1]) & mask;
+            if (((following - home) & mask) >= ((following - slot) & mask)) {
+                table[slot] = table[following];
+                slot = following;
+            }
+            following = (following + 1) & mask;
+        }
+        table[slot] = 0;
+    }
+
+    private void moveToFront(int entry) {
+        if (entry != head) {
+            unlink(entry);
+            linkFirst(entry);
+        }
+    }
+
+    private void linkFirst(int entry) {
+        prev[entry] = -1;
+        next[entry] = head;
+        if (head != -1)
+            prev[head] = entry;
+        head = entry;
+        if (tail == -1)
+            tail = entry;
+    }
+
+    private void unlink(int entry) {
+        if (prev[entry] != -1)
+            next[prev[entry]] = next[entry];
+        else
+            head = next[entry];
+        if (next[entry] != -1)
+            prev[next[entry]] = prev[entry];
+        else
+            tail = prev[entry];
+    }
+
+    /**
+     * Spreads the bits of a key so that nearby indices use the whole table
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.Structures.Implementations;
+
+/**
+ * Searches a {@link Network} can run to find the least weight path between two vertices.
+ */
+public enum ShortestPathMode {
+    /**
+     * Dijkstra's algorithm from the start, stopping when the target is settled
+     */
+    DIJKSTRA,
+    /**
+     * Dijkstra's algorithm from both ends at once, forward from the start and backward from the target, which
+     * settles far fewer vertices on large maps
+     */
+    BIDIRECTIONAL
+}
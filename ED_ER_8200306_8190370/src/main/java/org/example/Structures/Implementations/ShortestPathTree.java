@@ -0,0 +1,150 @@
+package org.example.Structures.Implementations;
+
+import java.util.Iterator;
+
+/**
+ * Shortest paths from one source to every vertex of a {@link Network}, as computed by a single run of Dijkstra's
+ * algorithm. Distances and paths to any number of targets are then read from the tree without searching again, so
+ * a bot weighing several targets from the same location pays for one search.
+ *
+ * The tree describes the network as it was when it was computed.
+ *
+ * @param <T> type of the vertices of the network
+ */
+public class ShortestPathTree<T> {
+    private final Network<T> network;
+    private final int source;
+    private final double[] distances;
+    private final int[] predecessors;
+
+    /**
+     * Creates a {@link ShortestPathTree} from the result of a search
+     *
+     * @param network      network that was searched
+     * @param source       source index; -1 if no vertex is reachable
+     * @param distances    path weight of each vertex; {@link Double}.POSITIVE_INFINITY for unreached ones
+     * @param predecessors predecessor of each vertex; -1 for the source and unreached vertices
+     */
+    ShortestPathTree(Network<T> network, int source, double[] distances, int[] predecessors) {
+        this.network = network;
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Getter for the source index
+     *
+     * @return source index; -1 if the tree was computed from an invalid index
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Getter for the path weight of every vertex. The array is the one kept by the tree and must not be modified
+     *
+     * @return path weight of each vertex index; {@link Double}.POSITIVE_INFINITY for unreachable vertices
+     */
+    public double[] getDistances() {
+        return distances;
+    }
+
+    /**
+     * Getter for the predecessor of every vertex. The array is the one kept by the tree and must not be modified
+     *
+     * @return predecessor of each vertex index; -1 for the source and unreachable vertices
+     */
+    public int[] getPredecessors() {
+        return predecessors;
+    }
+
+    /**
+     * Returns the weight of the least weight path from the source to a vertex
+     *
+     * @param targetIndex target index
+     * @return path weight; 0 for the source; {@link Double}.POSITIVE_INFINITY if there is no path
+     */
+    public double distanceTo(int targetIndex) {
+        if (targetIndex < 0 || targetIndex >= distances.length)
+            return Double.POSITIVE_INFINITY;
+        return distances[targetIndex];
+    }
+
+    /**
+     * Returns the weight of the least weight path from the source to a vertex
+     *
+     * @param targetVertex target vertex
+     * @return path weight; 0 for the source; {@link Double}.POSITIVE_INFINITY if there is no path
+     */
+    public double distanceTo(T targetVertex) {
+        return distanceTo(network.getIndex(targetVertex));
+    }
+
+    /**
+     * Checks if a vertex can be reached from the source
+     *
+     * @param targetIndex target index
+     * @return true if there is a path
+     */
+    public boolean hasPathTo(int targetIndex) {
+        return distanceTo(targetIndex) != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the indices of the vertices in the least weight path from the source to a vertex
+     *
+     * @param targetIndex target index
+     * @return path indices, starting with the source and ending with the target; empty if there is no path
+     */
+    public int[] pathTo(int targetIndex) {
+        if (!hasPathTo(targetIndex))
+            return new int[0];
+
+        int length = 1;
+        for (int index = targetIndex; index != source; index = predecessors[index])
+            length++;
+
+        int[] path = new int[length];
+        for (int i = length - 1, index = targetIndex; i >= 0; i--, index = predecessors[index])
+            path[i] = index;
+        return path;
+    }
+
+    /**
+     * Returns an iterator that contains the least weight path from the source to a vertex
+     *
+     * @param targetIndex target index
+     * @return {@link Iterator}, starting with the source; empty if there is no path
+     */
+    public Iterator<T> iteratorPathTo(int targetIndex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        for (int index : pathTo(targetIndex))
+            resultList.addToRear(network.getVertex(index));
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns an iterator that contains the least weight path from the source to a vertex
+     *
+     * @param targetVertex target vertex
+     * @return {@link Iterator}, starting with the source; empty if there is no path
+     */
+    public Iterator<T> iteratorPathTo(T targetVertex) {
+        return iteratorPathTo(network.getIndex(targetVertex));
+    }
+
+    /**
+     * Returns the reachable vertex with the least path weight among some candidates
+     *
+     * @param targetIndices candidate indices
+     * @return index of the nearest candidate; -1 if none can be reached
+     */
+    public int nearest(int[] targetIndices) {
+        int nearest = -1;
+        for (int index : targetIndices)
+            if (hasPathTo(index) && (nearest == -1 || distances[index] < distances[nearest]))
+                nearest = index;
+        return nearest;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.Structures.Implementations;
+
+/**
+ * Open addressing hash table, with linear probing, from the vertices of a {@link Graph} to their indices. It lets
+ * the graph find the index of a vertex in constant expected time instead of scanning the vertices array.
+ * Null vertices are never stored.
+ *
+ * @param <T> type of the vertices
+ */
+public class VertexIndexMap<T> {
+    private final int DEFAULT_CAPACITY = 16;
+    private Object[] keys;
+    private int[] values;
+    private int count;
+
+    /**
+     * Creates an empty {@link VertexIndexMap}
+     */
+    public VertexIndexMap() {
+        this.keys = new Object[DEFAULT_CAPACITY];
+        this.values = new int[DEFAULT_CAPACITY];
+        this.count = 0;
+    }
+
+    /**
+     * Returns the number of vertices in the map
+     *
+     * @return number of vertices
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the index associated with a vertex
+     *
+     * @param vertex vertex to look up
+     * @return index; -1 if the vertex is not in the map
+     */
+    public int get(T vertex) {
+        if (vertex == null)
+            return -1;
+
+        int mask = keys.length - 1;
+        for (int slot = hash(vertex) & mask; keys[slot] != null; slot = (slot + 1) & mask)
+            if (keys[slot].equals(vertex))
+                return values[slot];
+        return -1;
+    }
+
+    /**
+     * Associates an index with a vertex, replacing its previous index
+     *
+     * @param vertex vertex
+     * @param index  index of the vertex
+     */
+    public void put(T vertex, int index) {
+        if (vertex == null)
+            return;
+
+        if (2 * (count + 1) > keys.length)
+            resize(keys.length * 2);
+
+        int mask = keys.length - 1;
+        int slot = hash(vertex) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(vertex)) {
+                values[slot] = index;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = vertex;
+        values[slot] = index;
+        count++;
+    }
+
+    /**
+     * Removes a vertex from the map
+     *
+     * @param vertex vertex to remove
+     */
+    public void remove(T vertex) {
+        if (vertex == null)
+            return;
+
+        int mask = keys.length - 1;
+        int slot = hash(vertex) & mask;
+        while (keys[slot] != null && !keys[slot].equals(vertex))
+            slot = (slot + 1) & mask;
+        if (keys[slot] == null)
+            return;
+
+        /** Shift back the entries that follow in the same probe run, so
+         lookups never stop early at the emptied slot */
+        int next = (slot + 1) & mask;
+        while (keys[next] != null) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = null;
+        count--;
+    }
+
+    /**
+     * Makes room for the given number of vertices without further resizing
+     *
+     * @param capacity number of vertices
+     */
+    public void ensureCapacity(int capacity) {
+        int tableSize = keys.length;
+        while (tableSize < 2 * capacity)
+            tableSize *= 2;
+        if (tableSize > keys.length)
+            resize(tableSize);
+    }
+
+    /**
+     * Removes every vertex from the map
+     */
+    public void clear() {
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = null;
+        count = 0;
+    }
+
+    /**
+     * Moves every entry to a new table of the given size, which must be a power of two
+     *
+     * @param tableSize new table size
+     */
+    private void resize(int tableSize) {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        int mask = tableSize - 1;
+
+        keys = new Object[tableSize];
+        values = new int[tableSize];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != null)
+                    slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of the hash code of a vertex so that poor hash codes still use the whole table
+     *
+     * @param vertex vertex
+     * @return hash
+     */
+    private static int hash(Object vertex) {
+        int h = vertex.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
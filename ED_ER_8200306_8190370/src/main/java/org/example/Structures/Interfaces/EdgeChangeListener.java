@@ -0,0 +1,25 @@
+package org.example.Structures.Interfaces;
+
+/**
+ * Callbacks of a network whose edges or vertices change, so that results
+ * computed from it can be repaired instead of computed again. Every
+ * callback is made after the change.
+ */
+public interface EdgeChangeListener
+{
+    /** Called when the edge from one index to another is added, removed
+     or given a new weight. A missing edge has a weight of
+     Double.POSITIVE_INFINITY. */
+    public void edgeChanged(int fromIndex, int toIndex, double oldWeight, double newWeight);
+
+    /** Called when a vertex is added, with no edges, at the given index. */
+    public default void vertexAdded(int index)
+    {
+    }
+
+    /** Called when the vertex at the given index is removed along with its
+     edges. Every later index has moved down by one. */
+    public default void vertexRemoved(int index)
+    {
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.Structures.Interfaces;
+
+/**
+ * Edge storage of a weighted, directed network whose vertices are identified by the indices 0 to size() - 1.
+ * Missing edges have a weight of {@link Double}.POSITIVE_INFINITY.
+ *
+ * The outgoing edges of a vertex are visited with a cursor:
+ * <pre>
+ * for (int e = storage.firstEdge(v); e != -1; e = storage.nextEdge(v, e))
+ *     visit(storage.edgeTarget(v, e), storage.edgeWeight(v, e));
+ * </pre>
+ * Edges are visited in increasing order of target, once any buffered edges have been merged with mergePending().
+ * Reading never modifies the storage. A cursor is only valid until the storage is modified.
+ */
+public interface GraphStorage
+{
+    /** Returns the number of vertices in this storage. */
+    public int size();
+
+    /** Returns the number of edges in this storage. */
+    public int edgeCount();
+
+    /** Makes room for at least the given number of vertices. */
+    public void ensureCapacity(int capacity);
+
+    /** Adds a vertex with no edges, with index size(). */
+    public void addVertex();
+
+    /** Removes the vertex with the given index and its edges. Every
+     later vertex index is shifted down by one. */
+    public void removeVertex(int index);
+
+    /** Returns the weight of the edge between two vertices, or
+     Double.POSITIVE_INFINITY if there is none. */
+    public double getWeight(int from, int to);
+
+    /** Adds the edge between two vertices or replaces its weight. */
+    public void setWeight(int from, int to, double weight);
+
+    /** Removes the edge between two vertices, if there is one. */
+    public void removeEdge(int from, int to);
+
+    /** Moves any edges buffered by setWeight into the main layout of
+     the storage. */
+    public void mergePending();
+
+    /** Returns the cursor of the first outgoing edge of the vertex,
+     or -1 if it has none. */
+    public int firstEdge(int vertex);
+
+    /** Returns the cursor of the outgoing edge after the given one,
+     or -1 if there are no more. */
+    public int nextEdge(int vertex, int cursor);
+
+    /** Returns the target vertex of the edge at the cursor. */
+    public int edgeTarget(int vertex, int cursor);
+
+    /** Returns the weight of the edge at the cursor. */
+    public double edgeWeight(int vertex, int cursor);
+
+    /** Returns an empty storage of the same kind. */
+    public GraphStorage emptyCopy();
+}
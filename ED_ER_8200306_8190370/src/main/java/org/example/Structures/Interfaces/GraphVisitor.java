@@ -0,0 +1,43 @@
+package org.example.Structures.Interfaces;
+
+/**
+ * Callbacks of a graph traversal over vertex indices. Every callback has a
+ * default that continues the traversal, so a visitor only overrides the
+ * ones it needs.
+ */
+public interface GraphVisitor
+{
+    /** What the traversal does after a callback. */
+    public enum Action
+    {
+        /** Keep going. */
+        CONTINUE,
+        /** Do not go past this vertex or edge. */
+        SKIP_SUBTREE,
+        /** End the traversal. */
+        STOP
+    }
+
+    /** Called when a vertex is reached for the first time, from its
+     parent (-1 for the start), at the given distance from the start:
+     hops for breadth and depth first traversals, path weight for
+     shortest path traversals. SKIP_SUBTREE leaves its edges unexplored. */
+    public default Action discover(int vertex, int parent, double distance)
+    {
+        return Action.CONTINUE;
+    }
+
+    /** Called for each edge from a discovered vertex to a vertex that has
+     not been discovered yet, before the edge is followed. SKIP_SUBTREE
+     ignores the edge. */
+    public default Action relaxEdge(int from, int to, double weight)
+    {
+        return Action.CONTINUE;
+    }
+
+    /** Called when every edge of a discovered vertex has been explored
+     or skipped. */
+    public default void finish(int vertex)
+    {
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.Structures.Interfaces;
+
+public interface PathHeuristic
+{
+    /** Returns an estimate of the weight of the least weight path from
+     the vertex to the target. The estimate must never exceed the real
+     weight for the search to return shortest paths. */
+    public double estimate (int vertexIndex, int targetIndex);
+}
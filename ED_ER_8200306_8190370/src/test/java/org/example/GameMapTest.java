@@ -0,0 +1,77 @@
+package org.example;
+
+import org.example.Structures.Implementations.ContractionHierarchy;
+import org.example.Structures.Implementations.LandmarkHeuristic;
+import org.example.Structures.Implementations.Network;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that the path structures GameMap keeps follow changes to the map made during a match
+ */
+class GameMapTest {
+
+    @Test
+    void botPathsStayShortestAsTheMapChanges() {
+        Random random = new Random(91);
+        GameMap gameMap = new GameMap().generateRandomMap(70, false, 0.08);
+        Network<Location> network = gameMap.getLocations();
+
+        for (int step = 0; step < 30; step++) {
+            if (step == 20)
+                gameMap.precomputeShortestPaths();
+            if (step > 0) {
+                int from = random.nextInt(network.size());
+                int to = random.nextInt(network.size());
+                if (from != to)
+                    network.addEdge(from, to, random.nextInt(4) + 0.25);
+            }
+
+            for (StrategiesType strategy : StrategiesType.values())
+                for (int query = 0; query < 5; query++) {
+                    int start = random.nextInt(network.size());
+                    int target = random.nextInt(network.size());
+                    if (start == target)
+                        continue;
+                    Bot bot = new Bot(strategy, "Player 1", network.getVertex(start));
+                    double weight = pathWeight(network, bot.computePath(gameMap, network.getVertex(target)));
+                    assertEquals(network.shortestPathWeight(start, target), weight, 1e-9, strategy.toString());
+                }
+        }
+    }
+
+    @Test
+    void structuresAreRebuiltOnlyAfterAChange() {
+        GameMap gameMap = new GameMap().generateRandomMap(40, true, 0.1);
+        Network<Location> network = gameMap.getLocations();
+
+        ContractionHierarchy<Location> hierarchy = gameMap.getContractionHierarchy();
+        LandmarkHeuristic landmarks = gameMap.getLandmarkHeuristic();
+        assertSame(hierarchy, gameMap.getContractionHierarchy());
+        assertSame(landmarks, gameMap.getAStarHeuristic());
+
+        network.addEdge(0, 1, 0.25);
+        assertSame(gameMap.getLocationHeuristic(), gameMap.getAStarHeuristic());
+        assertNotSame(hierarchy, gameMap.getContractionHierarchy());
+        assertNotSame(landmarks, gameMap.getLandmarkHeuristic());
+    }
+
+    private static double pathWeight(Network<Location> network, Iterator<Location> path) {
+        if (!path.hasNext())
+            return Double.POSITIVE_INFINITY;
+        double total = 0;
+        int previous = network.getIndex(path.next());
+        while (path.hasNext()) {
+            int index = network.getIndex(path.next());
+            total += network.getEdgeWeight(previous, index);
+            previous = index;
+        }
+        return total;
+    }
+}
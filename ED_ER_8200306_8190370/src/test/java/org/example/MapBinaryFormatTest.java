@@ -0,0 +1,99 @@
+package org.example;
+
+import org.example.Structures.Implementations.CompressedSparseRowStorage;
+import org.example.Structures.Implementations.Network;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips of networks through the binary map format
+ */
+class MapBinaryFormatTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void matrixNetworkRoundTrips() throws IOException {
+        Network<Location> network = randomNetwork(new Network<>(), new Random(11));
+        assertSameMap(network, roundTrip(network));
+    }
+
+    @Test
+    void compressedNetworkRoundTrips() throws IOException {
+        Network<Location> network = randomNetwork(new Network<>(new CompressedSparseRowStorage()), new Random(12));
+        Network<Location> read = roundTrip(network);
+
+        assertTrue(read.getStorage() instanceof CompressedSparseRowStorage);
+        assertSameMap(network, read);
+    }
+
+    @Test
+    void singlePrecisionWeightsStayFloats() throws IOException {
+        Network<Location> network = randomNetwork(new Network<>(new CompressedSparseRowStorage(true)), new Random(13));
+        Network<Location> read = roundTrip(network);
+
+        assertTrue(((CompressedSparseRowStorage) read.getStorage()).isSinglePrecision());
+        assertSameMap(network, read);
+    }
+
+    @Test
+    void gameMapExportsAndImportsBinary() {
+        GameMap original = new GameMap().generateRandomMap(50, false, 0.1);
+        String path = directory.resolve("map.bin").toString();
+        original.exportBinary(path);
+
+        GameMap imported = new GameMap();
+        imported.importBinary(path);
+        assertSameMap(original.getLocations(), imported.getLocations());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotBinaryMaps() throws IOException {
+        Path file = directory.resolve("text.bin");
+        Files.writeString(file, "Adjacency matrix\n----------------\n");
+
+        assertThrows(IOException.class, () -> MapBinaryFormat.read(file.toString()));
+    }
+
+    private Network<Location> roundTrip(Network<Location> network) throws IOException {
+        String path = Files.createTempFile(directory, "map", ".bin").toString();
+        MapBinaryFormat.write(network, path);
+        return MapBinaryFormat.read(path);
+    }
+
+    /**
+     * Fills a network with locations and one-way paths of fractional weights
+     */
+    private static Network<Location> randomNetwork(Network<Location> network, Random random) {
+        int size = 70;
+        for (int i = 0; i < size; i++)
+            network.addVertex(new Location(i, random.nextInt(100), random.nextInt(100)));
+        for (int k = 0; k < size * 4; k++) {
+            int from = random.nextInt(size);
+            int to = random.nextInt(size);
+            if (from != to)
+                network.addEdge(from, to, random.nextInt(64) / 4.0 + 0.25);
+        }
+        return network;
+    }
+
+    private static void assertSameMap(Network<Location> expected, Network<Location> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getStorage().edgeCount(), actual.getStorage().edgeCount());
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals(expected.getVertex(i), actual.getVertex(i));
+        for (int i = 0; i < expected.size(); i++)
+            for (int j = 0; j < expected.size(); j++)
+                assertEquals(expected.getEdgeWeight(i, j), actual.getEdgeWeight(i, j), "edge " + i + " to " + j);
+    }
+}
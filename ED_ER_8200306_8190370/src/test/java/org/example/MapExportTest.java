@@ -0,0 +1,69 @@
+package org.example;
+
+import org.example.Structures.Implementations.Network;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Round trips of the text map written by GameMap.exportMap through GameMap.importMap
+ */
+class MapExportTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeToMatchesToString() throws Exception {
+        Network<Location> network = new GameMap().generateRandomMap(25, true, 0.3).getLocations();
+        network.addEdge(0, 1, 2.75);
+        network.addEdge(1, 0, 2.75);
+
+        StringWriter writer = new StringWriter();
+        network.writeTo(writer);
+        assertEquals(network.toString(), writer.toString());
+    }
+
+    @Test
+    void exportedMapImportsTheSameLocationsAndPaths() {
+        GameMap original = new GameMap().generateRandomMap(60, true, 0.15);
+        Network<Location> network = original.getLocations();
+        network.addEdge(2, 3, 4.25);
+        network.addEdge(3, 2, 4.25);
+
+        String path = directory.resolve("map.txt").toString();
+        original.exportMap(path);
+        GameMap imported = new GameMap();
+        imported.importMap(path);
+
+        assertSameMap(network, imported.getLocations());
+    }
+
+    @Test
+    void emptyMapExportsWithoutFailing() {
+        String path = directory.resolve("empty.txt").toString();
+        new GameMap().exportMap(path);
+
+        GameMap imported = new GameMap();
+        imported.importMap(path);
+        assertEquals(0, imported.getLocations().size());
+    }
+
+    static void assertSameMap(Network<Location> expected, Network<Location> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Location location = expected.getVertex(i);
+            Location read = actual.getVertex(i);
+            assertEquals(location.getId(), read.getId());
+            assertEquals(location.getCoordinateX(), read.getCoordinateX());
+            assertEquals(location.getCoordinateY(), read.getCoordinateY());
+        }
+        for (int i = 0; i < expected.size(); i++)
+            for (int j = 0; j < expected.size(); j++)
+                assertEquals(expected.getEdgeWeight(i, j), actual.getEdgeWeight(i, j), "edge " + i + " to " + j);
+    }
+}
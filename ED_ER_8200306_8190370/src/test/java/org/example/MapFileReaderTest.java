@@ -0,0 +1,71 @@
+package org.example;
+
+import org.example.Structures.Implementations.Network;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the map file scanner against Double.parseDouble and the layout written by exportMap
+ */
+class MapFileReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void weightsParseLikeParseDouble() throws IOException {
+        String[] weights = {
+                "0", "0.1", "12.345", "7,5", "92266200.8159748967", "92266200,8159748967", "9007199254740993",
+                "123456789012345678", "1.7976931348623157", "0.0000000000000000000001234", "3.0000000000000004",
+                "-2.5", "1e3", "4.9e-324"
+        };
+        for (String weight : weights) {
+            Network<Location> network = read(mapWith(weight));
+            double expected = Double.parseDouble(weight.replace(',', '.'));
+            assertEquals(expected, network.getEdgeWeight(0, 1), weight);
+            assertEquals(expected, network.getEdgeWeight(1, 0), weight);
+        }
+    }
+
+    @Test
+    void readsWindowsLineEndings() throws IOException {
+        Network<Location> network = read(mapWith("3,25").replace("\n", "\r\n"));
+
+        assertEquals(2, network.size());
+        assertEquals(new Location(1, 9, 8), network.getVertex(1));
+        assertEquals(3.25, network.getEdgeWeight(0, 1));
+    }
+
+    @Test
+    void malformedWeightIsReported() {
+        assertThrows(NumberFormatException.class, () -> read(mapWith("km")));
+    }
+
+    private Network<Location> read(String text) throws IOException {
+        Path file = Files.createTempFile(directory, "map", ".txt");
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+        Network<Location> network = new Network<>();
+        new MapFileReader(network, null).read(file.toString());
+        return network;
+    }
+
+    private static String mapWith(String weight) {
+        return "Adjacency matrix\n"
+                + "----------------\t  \n"
+                + "1\t0 1 \n"
+                + "2\t1 0 \n"
+                + "\n\nVertices values\n-------------\n"
+                + "1\tLocation 0 - (3, 4)\n"
+                + "2\tLocation 1 - (9, 8)\n"
+                + "\n\nWeights\n----------------\nindex\tweight\n\n"
+                + "1 to 2\t" + weight + "km\n\n";
+    }
+}
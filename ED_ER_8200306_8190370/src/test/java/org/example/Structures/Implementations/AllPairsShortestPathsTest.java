@@ -0,0 +1,59 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.assertMatchesDijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.dijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the blocked Floyd-Warshall table against a plain Dijkstra from every vertex
+ */
+class AllPairsShortestPathsTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void tableMatchesDijkstra(StorageKind kind) {
+        Random random = new Random(61);
+        int[] sizes = {1, 2, 63, 64, 65, 150};
+        for (int round = 0; round < sizes.length; round++) {
+            Network<Integer> network = randomNetwork(kind, sizes[round], 0.05, round % 2 == 0, random);
+            AllPairsShortestPaths<Integer> table = new AllPairsShortestPaths<>(network, 1 + round % 4);
+
+            assertMatchesDijkstra(network, table::distance, table::findPath);
+            for (int start = 0; start < network.size(); start++)
+                for (int target = 0; target < network.size(); target++)
+                    if (table.distance(start, target) == Double.POSITIVE_INFINITY)
+                        assertEquals(-1, table.nextHop(start, target));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void networkAnswersFromTheTableUntilItChanges(StorageKind kind) {
+        Random random = new Random(62);
+        Network<Integer> network = randomNetwork(kind, 90, 0.04, false, random);
+        AllPairsShortestPaths<Integer> table = network.computeAllPairs(2);
+        assertSame(table, network.getAllPairs());
+
+        double[] expected = dijkstra(network, 7, false);
+        for (int target = 0; target < network.size(); target++)
+            if (target != 7)
+                assertEquals(expected[target], network.shortestPathWeight(7, target), 1e-9);
+
+        network.addEdge(7, 8, 0.25);
+        assertFalse(table.isCurrent());
+        assertNull(network.getAllPairs());
+        assertEquals(0.25, network.shortestPathWeight(7, 8));
+        assertTrue(network.computeAllPairs().isCurrent());
+    }
+}
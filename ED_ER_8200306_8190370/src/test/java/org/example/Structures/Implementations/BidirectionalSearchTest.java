@@ -0,0 +1,53 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.dijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.indices;
+import static org.example.Structures.Implementations.NetworkTestSupport.pathWeight;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bidirectional Dijkstra search against a plain Dijkstra, on directed networks with unreachable pairs
+ */
+class BidirectionalSearchTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void weightsAndPathsMatchDijkstra(StorageKind kind) {
+        Random random = new Random(111);
+        int unreachable = 0;
+        for (int round = 0; round < 12; round++) {
+            Network<Integer> network = randomNetwork(kind, 2 + random.nextInt(60), random.nextDouble() * 0.1,
+                    false, random);
+
+            for (int start = 0; start < network.size(); start++) {
+                double[] expected = dijkstra(network, start, false);
+                for (int target = 0; target < network.size(); target++) {
+                    if (target == start)
+                        continue;
+                    String pair = start + " -> " + target;
+                    assertEquals(expected[target],
+                            network.shortestPathWeight(start, target, ShortestPathMode.BIDIRECTIONAL), 1e-9, pair);
+                    int[] path = indices(network.iteratorShortestPath(start, target,
+                            ShortestPathMode.BIDIRECTIONAL));
+                    if (expected[target] == Double.POSITIVE_INFINITY) {
+                        assertEquals(0, path.length, pair);
+                        unreachable++;
+                    } else {
+                        assertEquals(start, path[0], pair);
+                        assertEquals(target, path[path.length - 1], pair);
+                        assertEquals(expected[target], pathWeight(network, path), 1e-9, pair);
+                    }
+                }
+            }
+        }
+        assertTrue(unreachable > 0);
+    }
+}
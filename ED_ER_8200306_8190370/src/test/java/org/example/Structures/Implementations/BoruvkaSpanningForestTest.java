@@ -0,0 +1,43 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.primForestWeight;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.example.Structures.Implementations.NetworkTestSupport.upperEdgeWeight;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the parallel Boruvka forest against a plain Prim
+ */
+class BoruvkaSpanningForestTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void boruvkaMatchesPrim(StorageKind kind) {
+        Random random = new Random(31);
+        for (int round = 0; round < 40; round++) {
+            Network<Integer> network = randomNetwork(kind, 1 + random.nextInt(120), random.nextDouble() * 0.1, true,
+                    random);
+            Network<Integer> forest = network.parallelMinimumSpanningForestNetwork(1 + round % 4);
+
+            assertEquals(network.size(), forest.size());
+            assertEquals(primForestWeight(network), upperEdgeWeight(forest), 1e-9);
+            assertEquals(network.componentCount(), forest.componentCount());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void boruvkaMatchesKruskal(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 300, 0.05, true, new Random(32));
+
+        double kruskal = upperEdgeWeight(network.minimumSpanningForestNetwork());
+        for (int parallelism = 1; parallelism <= 4; parallelism++)
+            assertEquals(kruskal, upperEdgeWeight(network.parallelMinimumSpanningForestNetwork(parallelism)), 1e-9);
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the compressed sparse row storage against an adjacency matrix, with and without edges waiting to be merged
+ */
+class CompressedSparseRowStorageTest {
+
+    @Test
+    void edgesMatchTheMatrixBeforeAndAfterMerging() {
+        Random random = new Random(101);
+        for (boolean singlePrecision : new boolean[]{false, true}) {
+            CompressedSparseRowStorage storage = new CompressedSparseRowStorage(singlePrecision);
+            AdjacencyMatrixStorage expected = new AdjacencyMatrixStorage();
+            for (int v = 0; v < 30; v++) {
+                storage.addVertex();
+                expected.addVertex();
+            }
+
+            for (int step = 0; step < 2000; step++) {
+                int from = random.nextInt(storage.size());
+                int to = random.nextInt(storage.size());
+                int change = random.nextInt(20);
+                if (change < 14) {
+                    double weight = random.nextInt(50) + 0.25;
+                    storage.setWeight(from, to, weight);
+                    expected.setWeight(from, to, weight);
+                } else if (change < 18) {
+                    storage.removeEdge(from, to);
+                    expected.removeEdge(from, to);
+                } else if (change < 19) {
+                    storage.addVertex();
+                    expected.addVertex();
+                } else {
+                    storage.mergePending();
+                    for (int v = 0; v < storage.size(); v++)
+                        assertArrayEquals(edges(expected, v), edges(storage, v));
+                }
+
+                int vertex = random.nextInt(storage.size());
+                double[] row = edges(storage, vertex);
+                Arrays.sort(row);
+                assertArrayEquals(edges(expected, vertex), row);
+                assertEquals(expected.edgeCount(), storage.edgeCount());
+            }
+        }
+    }
+
+    @Test
+    void readingLeavesPendingEdgesInPlace() {
+        CompressedSparseRowStorage storage = new CompressedSparseRowStorage();
+        for (int v = 0; v < 100; v++)
+            storage.addVertex();
+        for (int v = 0; v < 100; v++)
+            storage.setWeight(v, (v + 1) % 100, 1);
+        storage.mergePending();
+        storage.setWeight(5, 2, 3);
+        storage.setWeight(5, 0, 4);
+
+        double[] before = edges(storage, 5);
+        assertEquals(3, before.length);
+        assertEquals(102, storage.edgeCount());
+        assertArrayEquals(before, edges(storage, 5));
+        assertEquals(2, storage.edgeTarget(5, storage.nextEdge(5, storage.nextEdge(5, storage.firstEdge(5)))));
+
+        storage.mergePending();
+        int previous = -1;
+        for (int e = storage.firstEdge(5); e != -1; e = storage.nextEdge(5, e)) {
+            assertTrue(storage.edgeTarget(5, e) > previous);
+            previous = storage.edgeTarget(5, e);
+        }
+        assertEquals(102, storage.edgeCount());
+    }
+
+    /**
+     * Returns the edges of a vertex in visiting order, each encoded as target * 1000 + weight
+     */
+    private static double[] edges(GraphStorage storage, int vertex) {
+        double[] edges = new double[storage.size()];
+        int count = 0;
+        for (int e = storage.firstEdge(vertex); e != -1; e = storage.nextEdge(vertex, e))
+            edges[count++] = storage.edgeTarget(vertex, e) * 1000.0 + storage.edgeWeight(vertex, e);
+        return Arrays.copyOf(edges, count);
+    }
+}
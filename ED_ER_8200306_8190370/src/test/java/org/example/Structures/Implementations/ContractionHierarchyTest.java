@@ -0,0 +1,44 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.assertMatchesDijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks contraction hierarchy queries against a plain Dijkstra
+ */
+class ContractionHierarchyTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void distancesAndPathsMatchDijkstra(StorageKind kind) {
+        Random random = new Random(41);
+        for (int round = 0; round < 20; round++) {
+            Network<Integer> network = randomNetwork(kind, 2 + random.nextInt(80), random.nextDouble() * 0.15,
+                    round % 2 == 0, random);
+            ContractionHierarchy<Integer> hierarchy = new ContractionHierarchy<>(network);
+
+            assertMatchesDijkstra(network, hierarchy::distance, hierarchy::findPath);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void changesToTheNetworkMakeItStale(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 30, 0.2, true, new Random(42));
+        ContractionHierarchy<Integer> hierarchy = new ContractionHierarchy<>(network);
+        assertTrue(hierarchy.isCurrent());
+
+        network.addEdge(0, 1, 0.25);
+        assertFalse(hierarchy.isCurrent());
+        assertTrue(new ContractionHierarchy<>(network).isCurrent());
+    }
+}
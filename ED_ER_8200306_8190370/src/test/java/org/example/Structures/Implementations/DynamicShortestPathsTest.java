@@ -0,0 +1,71 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.assertMatchesDijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomWeight;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the incrementally repaired shortest paths against a plain Dijkstra after every change to the network
+ */
+class DynamicShortestPathsTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void repairedPathsMatchDijkstra(StorageKind kind) {
+        Random random = new Random(81);
+        Network<Integer> network = randomNetwork(kind, 50, 0.06, false, random);
+        DynamicShortestPaths<Integer> from = DynamicShortestPaths.from(network, 3);
+        DynamicShortestPaths<Integer> to = DynamicShortestPaths.to(network, 3);
+
+        for (int step = 0; step < 300; step++) {
+            int x = random.nextInt(network.size());
+            int y = random.nextInt(network.size());
+            int change = random.nextInt(10);
+            if (change < 4)
+                network.addEdge(x, y, randomWeight(random));
+            else if (change < 8)
+                network.removeEdge(x, y);
+            else if (change < 9)
+                network.addVertex(network.size());
+            else if (x != from.getRoot() && network.size() > 10)
+                network.removeVertex(x);
+
+            assertPathsMatchDijkstra(network, from, false);
+            assertPathsMatchDijkstra(network, to, true);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void detachedPathsStopFollowingTheNetwork(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 20, 0.2, true, new Random(82));
+        DynamicShortestPaths<Integer> paths = DynamicShortestPaths.from(network, 0);
+        double before = paths.distance(1);
+
+        paths.detach();
+        network.addEdge(0, 1, 0.25);
+        assertEquals(before, paths.distance(1));
+        assertEquals(0.25, DynamicShortestPaths.from(network, 0).distance(1));
+    }
+
+    private static void assertPathsMatchDijkstra(Network<Integer> network, DynamicShortestPaths<Integer> paths,
+                                                 boolean reversed) {
+        int[] root = {paths.getRoot()};
+        int[] indices = new int[network.size()];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = i;
+        if (reversed)
+            assertMatchesDijkstra(network, indices, root,
+                    (start, target) -> paths.distance(start), (start, target) -> paths.path(start));
+        else
+            assertMatchesDijkstra(network, root, indices,
+                    (start, target) -> paths.distance(target), (start, target) -> paths.path(target));
+    }
+}
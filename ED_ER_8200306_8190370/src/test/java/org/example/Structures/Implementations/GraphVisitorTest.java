@@ -0,0 +1,163 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.example.Structures.Interfaces.GraphVisitor;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.breadthFirstHops;
+import static org.example.Structures.Implementations.NetworkTestSupport.dijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the breadth first, depth first and shortest path traversals honour the actions their visitor returns
+ */
+class GraphVisitorTest {
+
+    /**
+     * Traversals under test
+     */
+    enum Traversal {
+        BFS,
+        DFS,
+        SHORTEST_PATHS;
+
+        boolean run(Network<Integer> network, int start, GraphVisitor visitor) {
+            if (this == BFS)
+                return network.traverseBFS(start, visitor);
+            if (this == DFS)
+                return network.traverseDFS(start, visitor);
+            return network.traverseShortestPaths(start, visitor);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void fullTraversalsReachEveryReachableVertex(StorageKind kind) {
+        Random random = new Random(151);
+        Network<Integer> network = randomNetwork(kind, 70, 0.04, false, random);
+        int[] hops = breadthFirstHops(network, 0);
+        double[] distances = dijkstra(network, 0, false);
+
+        for (Traversal traversal : Traversal.values()) {
+            RecordingVisitor visitor = new RecordingVisitor(network.size(), -1, -1);
+            assertFalse(traversal.run(network, 0, visitor));
+            for (int i = 0; i < network.size(); i++) {
+                assertEquals(hops[i] != -1, visitor.discovered[i], traversal + " " + i);
+                assertEquals(visitor.discovered[i], visitor.finished[i], traversal + " " + i);
+                if (traversal == Traversal.BFS && hops[i] != -1)
+                    assertEquals(hops[i], visitor.distances[i]);
+                if (traversal == Traversal.SHORTEST_PATHS && hops[i] != -1)
+                    assertEquals(distances[i], visitor.distances[i], 1e-9);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void stopEndsTheTraversal(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 70, 0.08, true, new Random(152));
+
+        for (Traversal traversal : Traversal.values())
+            for (int stopAfter = 1; stopAfter < 20; stopAfter += 6) {
+                RecordingVisitor visitor = new RecordingVisitor(network.size(), stopAfter, -1);
+                assertTrue(traversal.run(network, 0, visitor));
+                assertEquals(stopAfter, visitor.discoveredCount);
+                assertEquals(0, visitor.callsAfterStop, traversal.toString());
+            }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void skipSubtreePrunesTheVertexEdges(StorageKind kind) {
+        Random random = new Random(153);
+        for (int round = 0; round < 10; round++) {
+            long seed = random.nextLong();
+            Network<Integer> network = randomNetwork(kind, 50, 0.06, false, new Random(seed));
+            int skipped = 1 + random.nextInt(network.size() - 1);
+
+            /** The same network without the edges of the skipped vertex */
+            Network<Integer> pruned = randomNetwork(kind, 50, 0.06, false, new Random(seed));
+            for (int i = 0; i < pruned.size(); i++)
+                pruned.removeEdge(skipped, i);
+            int[] hops = breadthFirstHops(pruned, 0);
+            double[] distances = dijkstra(pruned, 0, false);
+
+            for (Traversal traversal : Traversal.values()) {
+                RecordingVisitor visitor = new RecordingVisitor(network.size(), -1, skipped);
+                assertFalse(traversal.run(network, 0, visitor));
+                for (int i = 0; i < network.size(); i++) {
+                    assertEquals(hops[i] != -1, visitor.discovered[i], traversal + " " + i);
+                    assertTrue(visitor.parents[i] != skipped, traversal + " " + i);
+                    if (traversal == Traversal.SHORTEST_PATHS && hops[i] != -1)
+                        assertEquals(distances[i], visitor.distances[i], 1e-9);
+                }
+                assertEquals(visitor.discovered[skipped], visitor.finished[skipped]);
+            }
+        }
+    }
+
+    /**
+     * Records the callbacks of a traversal, stops it at the given number of discovered vertices and skips the
+     * subtree of the given vertex
+     */
+    private static class RecordingVisitor implements GraphVisitor {
+        private final int stopAfter;
+        private final int skipped;
+        private final boolean[] discovered;
+        private final boolean[] finished;
+        private final int[] parents;
+        private final double[] distances;
+        private int discoveredCount;
+        private int callsAfterStop;
+
+        RecordingVisitor(int size, int stopAfter, int skipped) {
+            this.stopAfter = stopAfter;
+            this.skipped = skipped;
+            this.discovered = new boolean[size];
+            this.finished = new boolean[size];
+            this.parents = new int[size];
+            this.distances = new double[size];
+            Arrays.fill(parents, -1);
+        }
+
+        private boolean stopped() {
+            return discoveredCount == stopAfter;
+        }
+
+        @Override
+        public Action discover(int vertex, int parent, double distance) {
+            if (stopped())
+                callsAfterStop++;
+            assertFalse(discovered[vertex]);
+            discovered[vertex] = true;
+            parents[vertex] = parent;
+            distances[vertex] = distance;
+            discoveredCount++;
+            if (stopped())
+                return Action.STOP;
+            return vertex == skipped ? Action.SKIP_SUBTREE : Action.CONTINUE;
+        }
+
+        @Override
+        public Action relaxEdge(int from, int to, double weight) {
+            if (stopped())
+                callsAfterStop++;
+            assertTrue(from != skipped);
+            return Action.CONTINUE;
+        }
+
+        @Override
+        public void finish(int vertex) {
+            if (stopped())
+                callsAfterStop++;
+            finished[vertex] = true;
+        }
+    }
+}
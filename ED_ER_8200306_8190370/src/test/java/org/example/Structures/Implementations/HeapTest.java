@@ -0,0 +1,92 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Exceptions.EmptyCollectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks ArrayHeap and DoubleMinHeap against java.util.PriorityQueue over random sequences of operations
+ */
+class HeapTest {
+
+    @Test
+    void arrayHeapMatchesPriorityQueue() {
+        Random random = new Random(171);
+        ArrayHeap<Integer> heap = new ArrayHeap<>();
+        PriorityQueue<Integer> expected = new PriorityQueue<>();
+
+        for (int step = 0; step < 5000; step++) {
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                int value = random.nextInt(100);
+                heap.addElement(value);
+                expected.add(value);
+            } else if (random.nextBoolean()) {
+                assertEquals(expected.peek(), heap.findMin());
+            } else {
+                assertEquals(expected.poll(), heap.removeMin());
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+    }
+
+    @Test
+    void comparatorOrdersTheHeap() {
+        Random random = new Random(172);
+        Comparator<String> byLength = Comparator.comparingInt(String::length);
+        ArrayHeap<String> heap = new ArrayHeap<>(byLength.reversed());
+        PriorityQueue<String> expected = new PriorityQueue<>(byLength.reversed());
+
+        for (int i = 0; i < 300; i++) {
+            String value = "x".repeat(random.nextInt(40));
+            heap.addElement(value);
+            expected.add(value);
+        }
+        while (!expected.isEmpty())
+            assertEquals(expected.poll().length(), heap.removeMin().length());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void doubleMinHeapMatchesPriorityQueue() {
+        Random random = new Random(173);
+        DoubleMinHeap heap = new DoubleMinHeap();
+        PriorityQueue<Double> expected = new PriorityQueue<>();
+
+        for (int step = 0; step < 5000; step++) {
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                double value = random.nextInt(50) * 0.5;
+                heap.addElement(value);
+                expected.add(value);
+            } else if (random.nextBoolean()) {
+                assertEquals(expected.peek(), heap.findMin());
+            } else {
+                assertEquals(expected.poll(), heap.removeMin());
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+    }
+
+    @Test
+    void emptyHeapsThrow() {
+        ArrayHeap<Integer> heap = new ArrayHeap<>();
+        assertThrows(EmptyCollectionException.class, heap::removeMin);
+        assertThrows(EmptyCollectionException.class, heap::findMin);
+        heap.addElement(1);
+        heap.removeAllElements();
+        assertThrows(EmptyCollectionException.class, heap::removeMin);
+
+        DoubleMinHeap doubleHeap = new DoubleMinHeap();
+        assertThrows(EmptyCollectionException.class, doubleHeap::removeMin);
+        assertThrows(EmptyCollectionException.class, doubleHeap::findMin);
+        doubleHeap.addElement(1);
+        doubleHeap.removeMin();
+        assertThrows(EmptyCollectionException.class, doubleHeap::findMin);
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.breadthFirstHops;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the direction-optimizing breadth first search against a plain one, on dense networks, where it searches
+ * bottom-up, and on sparse ones, where it stays top-down
+ */
+class HopDistancesTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void hopsMatchAPlainSearch(StorageKind kind) {
+        Random random = new Random(121);
+        double[] densities = {0.3, 0.5, 0.8, 0.005, 0.02, 0.05};
+        for (double density : densities) {
+            Network<Integer> network = randomNetwork(kind, 150, density, false, random);
+
+            for (int start = 0; start < network.size(); start += 7) {
+                int[] expected = breadthFirstHops(network, start);
+                assertArrayEquals(expected, network.hopDistances(start));
+                for (int target = 0; target < network.size(); target++)
+                    assertEquals(Math.max(expected[target], 0), network.shortestPathLength(start, target));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void invalidIndicesHaveNoHops(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 10, 0.3, false, new Random(122));
+        assertEquals(0, network.hopDistances(-1).length);
+        assertEquals(0, network.hopDistances(10).length);
+        assertEquals(0, network.shortestPathLength(0, 10));
+    }
+}
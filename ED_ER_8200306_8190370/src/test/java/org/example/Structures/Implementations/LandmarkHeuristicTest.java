@@ -0,0 +1,95 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.dijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.pathWeight;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the landmark (ALT) heuristic against a plain Dijkstra
+ */
+class LandmarkHeuristicTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void estimatesNeverExceedPathWeights(StorageKind kind) {
+        Random random = new Random(51);
+        for (int round = 0; round < 20; round++) {
+            Network<Integer> network = randomNetwork(kind, 1 + random.nextInt(60), random.nextDouble() * 0.2,
+                    round % 2 == 0, random);
+            LandmarkHeuristic heuristic = new LandmarkHeuristic(network, 1 + random.nextInt(8), 1 + round % 3);
+
+            for (int vertex = 0; vertex < network.size(); vertex++) {
+                double[] expected = dijkstra(network, vertex, false);
+                for (int target = 0; target < network.size(); target++)
+                    assertTrue(heuristic.estimate(vertex, target) <= expected[target] + 1e-9);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void aStarWithLandmarksFindsShortestPaths(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 80, 0.06, false, new Random(52));
+        AStarSearch<Integer> search = new AStarSearch<>(network, new LandmarkHeuristic(network));
+
+        for (int start = 0; start < network.size(); start += 3) {
+            double[] expected = dijkstra(network, start, false);
+            for (int target = 0; target < network.size(); target++)
+                if (target != start)
+                    assertEquals(expected[target], pathWeight(network, search.findPath(start, target)), 1e-9);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void landmarksArePickedOnPathWeights(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 50, 0.9, true, new Random(53));
+        int[] landmarks = new LandmarkHeuristic(network, 6, 2).getLandmarks();
+
+        double[] fromZero = dijkstra(network, 0, false);
+        int farthest = 0;
+        for (int i = 1; i < network.size(); i++)
+            if (fromZero[i] > fromZero[farthest])
+                farthest = i;
+        assertEquals(farthest, landmarks[0]);
+
+        for (int l = 0; l < landmarks.length; l++)
+            for (int m = l + 1; m < landmarks.length; m++)
+                assertTrue(landmarks[l] != landmarks[m]);
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void savedTablesLoadForTheSameNetworkOnly(StorageKind kind) throws IOException {
+        Random random = new Random(54);
+        Network<Integer> network = randomNetwork(kind, 40, 0.1, false, random);
+        LandmarkHeuristic heuristic = new LandmarkHeuristic(network, 5, 2);
+        String path = directory.resolve(kind + ".landmarks").toString();
+        heuristic.save(path);
+
+        LandmarkHeuristic loaded = LandmarkHeuristic.load(network, path);
+        for (int vertex = 0; vertex < network.size(); vertex++)
+            for (int target = 0; target < network.size(); target++)
+                assertEquals(heuristic.estimate(vertex, target), loaded.estimate(vertex, target));
+
+        network.addEdge(0, 1, 0.25);
+        assertFalse(heuristic.matches(network));
+        assertThrows(IOException.class, () -> LandmarkHeuristic.load(network, path));
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.breadthFirstHops;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the batched breadth first searches against a plain search per source, with batches of one, exactly 64, and
+ * more than 64 sources
+ */
+class MultiSourceHopDistancesTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void rowsMatchAPlainSearch(StorageKind kind) {
+        Random random = new Random(131);
+        Network<Integer> network = randomNetwork(kind, 90, 0.03, false, random);
+
+        for (int count : new int[]{1, 64, 65, 130}) {
+            int[] sources = new int[count];
+            for (int s = 0; s < count; s++)
+                sources[s] = random.nextInt(network.size());
+
+            int[][] hops = network.multiSourceHopDistances(sources);
+            assertEquals(count, hops.length);
+            for (int s = 0; s < count; s++)
+                assertArrayEquals(breadthFirstHops(network, sources[s]), hops[s], "source " + s);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void invalidSourcesGiveRowsOfMinusOne(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 20, 0.2, true, new Random(132));
+        int[] sources = {-1, 3, 20, 7, Integer.MAX_VALUE};
+
+        int[][] hops = network.multiSourceHopDistances(sources);
+        int[] none = new int[network.size()];
+        Arrays.fill(none, -1);
+        assertArrayEquals(none, hops[0]);
+        assertArrayEquals(breadthFirstHops(network, 3), hops[1]);
+        assertArrayEquals(none, hops[2]);
+        assertArrayEquals(breadthFirstHops(network, 7), hops[3]);
+        assertArrayEquals(none, hops[4]);
+    }
+}
@@ -0,0 +1,272 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Interfaces.GraphStorage;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Random networks and plain reference algorithms that the tests compare the optimized ones with. The references
+ * read every pair of vertices through GraphStorage.getWeight, so they share no code with what they check
+ */
+final class NetworkTestSupport {
+
+    /**
+     * Edge storages every algorithm is checked on
+     */
+    enum StorageKind {
+        MATRIX,
+        CSR;
+
+        GraphStorage create() {
+            return this == MATRIX ? new AdjacencyMatrixStorage() : new CompressedSparseRowStorage();
+        }
+    }
+
+    /**
+     * Path weight query of the structure under test
+     */
+    interface DistanceQuery {
+        double distance(int start, int target);
+    }
+
+    /**
+     * Path query of the structure under test, returning the vertex indices from start to target
+     */
+    interface PathQuery {
+        int[] findPath(int start, int target);
+    }
+
+    private NetworkTestSupport() {
+    }
+
+    /**
+     * Creates a network of Integer vertices 0..size-1 with random edges
+     *
+     * @param kind      edge storage
+     * @param size      number of vertices
+     * @param density   chance of each ordered pair having an edge
+     * @param symmetric true to give every edge a reverse edge of the same weight
+     * @param random    source of the edges and weights
+     * @return network
+     */
+    static Network<Integer> randomNetwork(StorageKind kind, int size, double density, boolean symmetric,
+                                          Random random) {
+        Network<Integer> network = new Network<>(kind.create());
+        for (int i = 0; i < size; i++)
+            network.addVertex(i);
+        for (int i = 0; i < size; i++)
+            for (int j = 0; j < size; j++)
+                if (i != j && random.nextDouble() < density) {
+                    double weight = randomWeight(random);
+                    network.addEdge(i, j, weight);
+                    if (symmetric)
+                        network.addEdge(j, i, weight);
+                }
+        return network;
+    }
+
+    /**
+     * Returns a weight from a small set, so that ties are common, with some fractional values
+     */
+    static double randomWeight(Random random) {
+        return random.nextInt(12) + (random.nextBoolean() ? 0.5 : 1);
+    }
+
+    /**
+     * O(V^2) Dijkstra without a heap
+     *
+     * @param network network to search
+     * @param source  source index
+     * @param reverse true to follow the edges backwards, giving the path weights to the source
+     * @return path weight of each vertex; {@link Double}.POSITIVE_INFINITY if unreached
+     */
+    static double[] dijkstra(Network<?> network, int source, boolean reverse) {
+        GraphStorage storage = network.getStorage();
+        int size = network.size();
+        double[] distances = new double[size];
+        boolean[] settled = new boolean[size];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+
+        for (int round = 0; round < size; round++) {
+            int next = -1;
+            for (int i = 0; i < size; i++)
+                if (!settled[i] && distances[i] < Double.POSITIVE_INFINITY
+                        && (next == -1 || distances[i] < distances[next]))
+                    next = i;
+            if (next == -1)
+                break;
+            settled[next] = true;
+            for (int i = 0; i < size; i++) {
+                double weight = reverse ? storage.getWeight(i, next) : storage.getWeight(next, i);
+                if (distances[next] + weight < distances[i])
+                    distances[i] = distances[next] + weight;
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Checks the path weight and the path between every pair of vertices against {@link #dijkstra}
+     *
+     * @param network  network the structure was built from
+     * @param distance path weight query
+     * @param path     path query
+     */
+    static void assertMatchesDijkstra(Network<?> network, DistanceQuery distance, PathQuery path) {
+        int[] indices = new int[network.size()];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = i;
+        assertMatchesDijkstra(network, indices, indices, distance, path);
+    }
+
+    /**
+     * Checks the path weight and the path from each start to each target against {@link #dijkstra}. Unreachable
+     * targets must have an infinite weight and an empty path; reachable ones a path of that weight from start to
+     * target
+     *
+     * @param network  network the structure was built from
+     * @param starts   start indices
+     * @param targets  target indices
+     * @param distance path weight query
+     * @param path     path query
+     */
+    static void assertMatchesDijkstra(Network<?> network, int[] starts, int[] targets, DistanceQuery distance,
+                                      PathQuery path) {
+        for (int start : starts) {
+            double[] expected = dijkstra(network, start, false);
+            for (int target : targets) {
+                String pair = start + " -> " + target;
+                assertEquals(expected[target], distance.distance(start, target), 1e-9, pair);
+                int[] found = path.findPath(start, target);
+                if (expected[target] == Double.POSITIVE_INFINITY) {
+                    assertEquals(0, found.length, pair);
+                } else {
+                    assertEquals(start, found[0], pair);
+                    assertEquals(target, found[found.length - 1], pair);
+                    assertEquals(expected[target], pathWeight(network, found), 1e-9, pair);
+                }
+            }
+        }
+    }
+
+    /**
+     * O(V^2) breadth first search without a queue, one level at a time
+     *
+     * @param network network to search
+     * @param source  source index
+     * @return hops of each vertex; -1 if unreached
+     */
+    static int[] breadthFirstHops(Network<?> network, int source) {
+        GraphStorage storage = network.getStorage();
+        int size = network.size();
+        int[] hops = new int[size];
+        Arrays.fill(hops, -1);
+        hops[source] = 0;
+
+        boolean reached = true;
+        for (int depth = 0; reached; depth++) {
+            reached = false;
+            for (int x = 0; x < size; x++)
+                if (hops[x] == depth)
+                    for (int i = 0; i < size; i++)
+                        if (hops[i] == -1 && storage.getWeight(x, i) < Double.POSITIVE_INFINITY) {
+                            hops[i] = depth + 1;
+                            reached = true;
+                        }
+        }
+        return hops;
+    }
+
+    /**
+     * O(V^2) Prim run from every vertex not yet in a tree, over the lighter direction of each pair
+     *
+     * @param network network to span
+     * @return total weight of a minimum spanning forest
+     */
+    static double primForestWeight(Network<?> network) {
+        GraphStorage storage = network.getStorage();
+        int size = network.size();
+        boolean[] inTree = new boolean[size];
+        double[] best = new double[size];
+        double total = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (inTree[root])
+                continue;
+            Arrays.fill(best, Double.POSITIVE_INFINITY);
+            best[root] = 0;
+            while (true) {
+                int next = -1;
+                for (int i = 0; i < size; i++)
+                    if (!inTree[i] && best[i] < Double.POSITIVE_INFINITY && (next == -1 || best[i] < best[next]))
+                        next = i;
+                if (next == -1)
+                    break;
+                inTree[next] = true;
+                total += best[next];
+                for (int i = 0; i < size; i++) {
+                    double weight = Math.min(storage.getWeight(next, i), storage.getWeight(i, next));
+                    if (!inTree[i] && weight < best[i])
+                        best[i] = weight;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Sums the weights of both directions of every pair of a network, to compare spanning forests
+     *
+     * @param network network whose edges are summed once per unordered pair
+     * @return total weight of the edges from lower to higher indices
+     */
+    static double upperEdgeWeight(Network<?> network) {
+        GraphStorage storage = network.getStorage();
+        double total = 0;
+        for (int i = 0; i < network.size(); i++)
+            for (int j = i + 1; j < network.size(); j++) {
+                double weight = storage.getWeight(i, j);
+                if (weight < Double.POSITIVE_INFINITY)
+                    total += weight;
+            }
+        return total;
+    }
+
+    /**
+     * Collects the vertices of an iterator over a network of Integer vertices 0..size-1, which are their own indices
+     *
+     * @param path vertices
+     * @return vertex indices, in the order of the iterator
+     */
+    static int[] indices(Iterator<Integer> path) {
+        int[] indices = new int[8];
+        int count = 0;
+        while (path.hasNext()) {
+            if (count == indices.length)
+                indices = Arrays.copyOf(indices, count * 2);
+            indices[count++] = path.next();
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Returns the weight of a path, checking that each step is an edge of the network
+     *
+     * @param network network of the path
+     * @param path    vertex indices
+     * @return path weight; {@link Double}.POSITIVE_INFINITY for an empty path or a step that is not an edge
+     */
+    static double pathWeight(Network<?> network, int[] path) {
+        if (path.length == 0)
+            return Double.POSITIVE_INFINITY;
+        double total = 0;
+        for (int k = 1; k < path.length; k++)
+            total += network.getStorage().getWeight(path[k - 1], path[k]);
+        return total;
+    }
+}
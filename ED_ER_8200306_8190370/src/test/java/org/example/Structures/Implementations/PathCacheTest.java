@@ -0,0 +1,120 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.dijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.pathWeight;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the LRU path cache against a plain Dijkstra, including after the network changes
+ */
+class PathCacheTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void cachedPathsMatchDijkstraAcrossChanges(StorageKind kind) {
+        Random random = new Random(71);
+        Network<Integer> network = randomNetwork(kind, 40, 0.08, false, random);
+        PathCache<Integer> cache = new PathCache<>(network, 16);
+
+        for (int step = 0; step < 300; step++) {
+            if (step % 50 == 49)
+                network.addEdge(random.nextInt(40), random.nextInt(40), 0.25);
+            int start = random.nextInt(8);
+            int target = random.nextInt(8);
+            double expected = dijkstra(network, start, false)[target];
+
+            assertEquals(expected, cache.pathWeight(start, target), 1e-9);
+            int[] path = cache.findPath(start, target);
+            if (expected < Double.POSITIVE_INFINITY)
+                assertEquals(expected, pathWeight(network, path), 1e-9);
+        }
+        assertTrue(cache.getHits() > 0);
+        assertTrue(cache.size() <= 16);
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void leastRecentlyUsedPathIsEvicted(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 10, 0.5, true, new Random(72));
+        PathCache<Integer> cache = new PathCache<>(network, 2);
+
+        cache.findPath(0, 1);
+        cache.findPath(0, 2);
+        cache.findPath(0, 1);
+        cache.findPath(0, 3);   // evicts 0 -> 2
+        assertEquals(1, cache.getHits());
+
+        cache.findPath(0, 1);
+        assertEquals(2, cache.getHits());
+        cache.findPath(0, 2);
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void returnedPathsAreCopies() {
+        Network<Integer> network = randomNetwork(StorageKind.CSR, 20, 0.3, true, new Random(73));
+        PathCache<Integer> cache = new PathCache<>(network, 4);
+
+        int[] path = cache.findPath(0, 5);
+        int[] copy = path.clone();
+        path[0] = -7;
+        assertArrayEquals(copy, cache.findPath(0, 5));
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        Network<Integer> network = randomNetwork(StorageKind.MATRIX, 5, 0.5, true, new Random(74));
+        PathCache<Integer> cache = new PathCache<>(network, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> new PathCache<>(network, 0));
+        assertEquals(0, cache.findPath(-1, 2).length);
+        assertEquals(Double.POSITIVE_INFINITY, cache.pathWeight(0, 5));
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void concurrentQueriesMatchDijkstra(StorageKind kind) throws Exception {
+        Network<Integer> network = randomNetwork(kind, 120, 0.04, false, new Random(75));
+        double[][] expected = new double[network.size()][];
+        for (int start = 0; start < 10; start++)
+            expected[start] = dijkstra(network, start, false);
+        PathCache<Integer> cache = new PathCache<>(network, 32);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < futures.length; t++) {
+                Random random = new Random(t);
+                futures[t] = executor.submit(() -> {
+                    for (int q = 0; q < 500; q++) {
+                        int start = random.nextInt(10);
+                        int target = random.nextInt(network.size());
+                        assertEquals(expected[start][target], cache.pathWeight(start, target), 1e-9);
+                    }
+                });
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.assertMatchesDijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.dijkstra;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the trees computed by Network.computeFrom against a plain Dijkstra
+ */
+class ShortestPathTreeTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void distancesAndPathsMatchDijkstra(StorageKind kind) {
+        Random random = new Random(161);
+        for (int round = 0; round < 10; round++) {
+            Network<Integer> network = randomNetwork(kind, 1 + random.nextInt(70), random.nextDouble() * 0.1,
+                    round % 2 == 0, random);
+            int source = random.nextInt(network.size());
+            ShortestPathTree<Integer> tree = network.computeFrom(source);
+            assertEquals(source, tree.getSource());
+
+            int[] indices = new int[network.size()];
+            for (int i = 0; i < indices.length; i++)
+                indices[i] = i;
+            assertMatchesDijkstra(network, new int[]{source}, indices,
+                    (start, target) -> tree.distanceTo(target), (start, target) -> tree.pathTo(target));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void nearestIsTheFirstCandidateWithTheLeastWeight(StorageKind kind) {
+        Random random = new Random(162);
+        Network<Integer> network = randomNetwork(kind, 60, 0.04, false, random);
+        ShortestPathTree<Integer> tree = network.computeFrom(0);
+        double[] expected = dijkstra(network, 0, false);
+
+        for (int round = 0; round < 200; round++) {
+            int[] candidates = new int[1 + random.nextInt(6)];
+            for (int c = 0; c < candidates.length; c++)
+                candidates[c] = random.nextInt(network.size());
+
+            int nearest = -1;
+            for (int candidate : candidates)
+                if (expected[candidate] < Double.POSITIVE_INFINITY
+                        && (nearest == -1 || expected[candidate] < expected[nearest]))
+                    nearest = candidate;
+            assertEquals(nearest, tree.nearest(candidates));
+        }
+        assertEquals(-1, tree.nearest(new int[0]));
+
+        ShortestPathTree<Integer> invalid = network.computeFrom(-1);
+        assertEquals(-1, invalid.getSource());
+        assertEquals(-1, invalid.nearest(new int[]{0, 1, 2}));
+        assertEquals(0, invalid.pathTo(1).length);
+    }
+}
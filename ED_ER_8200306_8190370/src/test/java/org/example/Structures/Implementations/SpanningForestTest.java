@@ -0,0 +1,96 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.primForestWeight;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.example.Structures.Implementations.NetworkTestSupport.upperEdgeWeight;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the Kruskal forest, and the Graph methods Network routes to it, against a plain Prim
+ */
+class SpanningForestTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void kruskalMatchesPrim(StorageKind kind) {
+        Random random = new Random(21);
+        for (int round = 0; round < 60; round++) {
+            Network<Integer> network = randomNetwork(kind, 1 + random.nextInt(50), random.nextDouble() * 0.2, true,
+                    random);
+            Network<Integer> forest = network.minimumSpanningForestNetwork();
+
+            assertEquals(network.size(), forest.size());
+            assertEquals(primForestWeight(network), upperEdgeWeight(forest), 1e-9);
+            assertEquals(2 * (network.size() - network.componentCount()), forest.getStorage().edgeCount());
+            assertEquals(network.componentCount(), forest.componentCount());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void primTreeWeighsTheSameAsKruskal(StorageKind kind) {
+        Random random = new Random(24);
+        int checked = 0;
+        for (int round = 0; round < 40; round++) {
+            Network<Integer> network = randomNetwork(kind, 2 + random.nextInt(50), 0.1 + random.nextDouble() * 0.3,
+                    true, random);
+            /** Weights from {1, 2, 3} so that most edges tie */
+            for (int i = 0; i < network.size(); i++)
+                for (int j = i + 1; j < network.size(); j++)
+                    if (network.getEdgeWeight(i, j) < Double.POSITIVE_INFINITY) {
+                        double weight = 1 + random.nextInt(3);
+                        network.addEdge(i, j, weight);
+                        network.addEdge(j, i, weight);
+                    }
+            if (!network.isConnected()) {
+                assertEquals(0, network.minimumSpanningTreeNetwork().size());
+                continue;
+            }
+
+            Network<?> tree = network.minimumSpanningTreeNetwork();
+            Network<Integer> forest = network.minimumSpanningForestNetwork();
+            assertEquals(upperEdgeWeight(forest), upperEdgeWeight(tree), 1e-9);
+            assertEquals(2 * (network.size() - 1), tree.getStorage().edgeCount());
+            assertTrue(tree.isConnected());
+            checked++;
+        }
+        assertTrue(checked > 20);
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void tiesAreBrokenTheSameWayEveryTime(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 40, 0.3, true, new Random(22));
+        Network<Integer> first = network.minimumSpanningForestNetwork();
+        Network<Integer> second = network.minimumSpanningForestNetwork();
+
+        for (int i = 0; i < network.size(); i++)
+            for (int j = 0; j < network.size(); j++)
+                assertEquals(first.getEdgeWeight(i, j), second.getEdgeWeight(i, j));
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void inheritedGraphMethodsUseTheStorage(StorageKind kind) {
+        Random random = new Random(23);
+        Network<Integer> network = randomNetwork(kind, 20, 0.15, true, random);
+
+        Network<Integer> forest = (Network<Integer>) network.getSpanningForest();
+        assertEquals(primForestWeight(network), upperEdgeWeight(forest), 1e-9);
+
+        Network<Integer> connected = randomNetwork(kind, 20, 0.5, true, random);
+        assertTrue(connected.isConnected());
+        Network<?> tree = (Network<?>) connected.getMinimumSpanningTree();
+        assertEquals(primForestWeight(connected), upperEdgeWeight(tree), 1e-9);
+
+        connected.addEdge(0, 1);
+        assertEquals(0, connected.getEdgeWeight(0, 1));
+    }
+}
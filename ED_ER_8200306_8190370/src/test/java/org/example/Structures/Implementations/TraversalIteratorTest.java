@@ -0,0 +1,98 @@
+package org.example.Structures.Implementations;
+
+import org.example.Structures.Implementations.NetworkTestSupport.StorageKind;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.example.Structures.Implementations.NetworkTestSupport.breadthFirstHops;
+import static org.example.Structures.Implementations.NetworkTestSupport.indices;
+import static org.example.Structures.Implementations.NetworkTestSupport.randomNetwork;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the lazy breadth and depth first iterators of a network against a plain breadth first search
+ */
+class TraversalIteratorTest {
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void iteratorsReturnEachReachableVertexOnce(StorageKind kind) {
+        Random random = new Random(141);
+        for (int round = 0; round < 10; round++) {
+            Network<Integer> network = randomNetwork(kind, 1 + random.nextInt(80), random.nextDouble() * 0.08,
+                    false, random);
+            int start = random.nextInt(network.size());
+            int[] hops = breadthFirstHops(network, start);
+
+            int[] breadthFirst = indices(network.iteratorBFS(start));
+            int[] depthFirst = indices(network.iteratorDFS(start));
+            assertEquals(start, breadthFirst[0]);
+            assertEquals(start, depthFirst[0]);
+            for (int k = 1; k < breadthFirst.length; k++)
+                assertTrue(hops[breadthFirst[k - 1]] <= hops[breadthFirst[k]]);
+
+            int[] reachable = reachable(hops);
+            assertArrayEquals(reachable, sorted(breadthFirst));
+            assertArrayEquals(reachable, sorted(depthFirst));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void stoppingEarlyGivesAPrefix(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 60, 0.1, true, new Random(142));
+        int[] fullBreadthFirst = indices(network.iteratorBFS(0));
+        int[] fullDepthFirst = indices(network.iteratorDFS(0));
+
+        Iterator<Integer> breadthFirst = network.iteratorBFS(0);
+        Iterator<Integer> depthFirst = network.iteratorDFS(0);
+        for (int k = 0; k < 5; k++) {
+            assertEquals(fullBreadthFirst[k], breadthFirst.next());
+            assertEquals(fullDepthFirst[k], depthFirst.next());
+        }
+        assertTrue(breadthFirst.hasNext());
+        assertTrue(depthFirst.hasNext());
+
+        assertFalse(network.iteratorBFS(-1).hasNext());
+        assertThrows(NoSuchElementException.class, () -> network.iteratorDFS(60).next());
+    }
+
+    @ParameterizedTest
+    @EnumSource(StorageKind.class)
+    void changingTheNetworkInvalidatesIterators(StorageKind kind) {
+        Network<Integer> network = randomNetwork(kind, 30, 0.2, true, new Random(143));
+        Iterator<Integer> breadthFirst = network.iteratorBFS(0);
+        Iterator<Integer> depthFirst = network.iteratorDFS(0);
+        breadthFirst.next();
+        depthFirst.next();
+
+        network.addEdge(0, 1, 0.25);
+        assertThrows(ConcurrentModificationException.class, breadthFirst::next);
+        assertThrows(ConcurrentModificationException.class, depthFirst::next);
+    }
+
+    private static int[] reachable(int[] hops) {
+        int count = 0;
+        int[] reachable = new int[hops.length];
+        for (int i = 0; i < hops.length; i++)
+            if (hops[i] != -1)
+                reachable[count++] = i;
+        return Arrays.copyOf(reachable, count);
+    }
+
+    private static int[] sorted(int[] indices) {
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.Structures.Implementations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the hash index behind Graph.getIndex against a linear scan of the vertices
+ */
+class VertexIndexTest {
+    private static final int VALUES = 40;
+
+    @Test
+    void graphIndexMatchesLinearScan() {
+        checkRandomOperations(new Graph<>(), new Random(4));
+    }
+
+    @Test
+    void networkIndexMatchesLinearScan() {
+        checkRandomOperations(new Network<>(), new Random(5));
+        checkRandomOperations(new Network<>(new CompressedSparseRowStorage()), new Random(6));
+    }
+
+    @Test
+    void equalVerticesReturnTheFirstIndex() {
+        Graph<String> graph = new Graph<>();
+        graph.addVertex("a");
+        graph.addVertex("b");
+        graph.addVertex("a");
+
+        assertEquals(0, graph.getIndex("a"));
+        graph.removeVertex(0);
+        assertEquals(1, graph.getIndex("a"));
+        assertEquals(0, graph.getIndex("b"));
+        assertEquals(-1, graph.getIndex("c"));
+    }
+
+    /**
+     * Adds and removes random vertices, with repeated values, and compares getIndex for every value after each step
+     */
+    private static void checkRandomOperations(Graph<Integer> graph, Random random) {
+        for (int step = 0; step < 2000; step++) {
+            if (graph.size() > 0 && random.nextInt(3) == 0)
+                graph.removeVertex(random.nextInt(graph.size()));
+            else
+                graph.addVertex(random.nextInt(VALUES));
+
+            for (int value = 0; value < VALUES; value++)
+                assertEquals(linearIndex(graph, value), graph.getIndex(value), "value " + value + " at step " + step);
+        }
+    }
+
+    private static int linearIndex(Graph<Integer> graph, int value) {
+        Object[] vertices = graph.getVertices();
+        for (int i = 0; i < vertices.length; i++)
+            if (vertices[i].equals(value))
+                return i;
+        return -1;
+    }
+}